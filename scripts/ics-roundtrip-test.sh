@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+#
+# Generates a large iCalendar file, imports it for a new user, then fetches
+# the user's feed twice to check that the second poll is a 304.
+#
+# Usage:
+#   scripts/ics-roundtrip-test.sh [events]
+#
+# Defaults to 20000 events (a few MB). Watch the heap with
+# /actuator/metrics/jvm.memory.used while it runs.
+
+set -euo pipefail
+
+EVENTS="${1:-20000}"
+BASE_URL="http://localhost:${PORT:-8080}"
+ICS="$(mktemp)"
+HEADERS="$(mktemp)"
+trap 'rm -f "$ICS" "$HEADERS"' EXIT
+
+user_id=$(curl -sf -X POST "${BASE_URL}/api/v1/users" -H 'Content-Type: application/json' \
+    -d "{\"name\": \"ICS import $(date +%s)\", \"color\": \"#3366FF\"}" | sed -E 's/.*"id":([0-9]+).*/\1/')
+
+awk -v n="$EVENTS" 'BEGIN {
+    printf "BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//ics-roundtrip-test//EN\r\n"
+    for (i = 0; i < n; i++) {
+        # One event per hour, starting 2030-01-01 00:00 UTC
+        start = strftime("%Y%m%dT%H%M%SZ", 1893456000 + i * 3600, 1)
+        printf "BEGIN:VEVENT\r\nUID:test-%d@example.com\r\nDTSTART:%s\r\nDURATION:PT30M\r\n", i, start
+        printf "SUMMARY:Imported chore number %d with a summary long enough to need folding at seventy-five octets\r\n", i
+        printf "BEGIN:VALARM\r\nACTION:DISPLAY\r\nTRIGGER:-PT15M\r\nEND:VALARM\r\nEND:VEVENT\r\n"
+    }
+    printf "END:VCALENDAR\r\n"
+}' > "$ICS"
+echo "generated $EVENTS events ($(du -h "$ICS" | cut -f1)) for user $user_id"
+
+start=$(date +%s%3N)
+curl -sf -X POST "${BASE_URL}/api/v1/users/${user_id}/calendar.ics" -H 'Content-Type: text/calendar' \
+    --data-binary @"$ICS"
+echo
+echo "import: $(( $(date +%s%3N) - start )) ms"
+
+start=$(date +%s%3N)
+bytes=$(curl -sf -D "$HEADERS" -o /dev/null -w '%{size_download}' "${BASE_URL}/api/v1/users/${user_id}/calendar.ics")
+echo "feed: $bytes bytes in $(( $(date +%s%3N) - start )) ms"
+etag=$(grep -i '^etag:' "$HEADERS" | cut -d' ' -f2- | tr -d '\r')
+
+status=$(curl -s -o /dev/null -w '%{http_code}' -H "If-None-Match: $etag" \
+    "${BASE_URL}/api/v1/users/${user_id}/calendar.ics")
+echo "re-poll with ETag $etag: $status (expected 304)"
@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+#
+# Compares request latency and log volume of the current logging setup with
+# the structured-logging profile (async JSON appenders, sampled DEBUG/SQL).
+#
+# Usage:
+#   scripts/logging-benchmark.sh [requests] [concurrency]
+#
+# Build the jar first with "mvn clean package". Each configuration runs in a
+# fresh JVM on a scratch working directory. A warm-up pass comes first, then a
+# measured mix of user/chore writes and reads.
+
+set -euo pipefail
+
+REQUESTS="${1:-5000}"
+CONCURRENCY="${2:-16}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+JAR="$(realpath "$(ls target/chore-service-poc-*.jar | grep -v original | head -n 1)")"
+
+drive() {
+    local count="$1" out="$2"
+    seq "$count" | xargs -P "$CONCURRENCY" -I{} sh -c '
+        case $(( $2 % 4 )) in
+            0) curl -s -o /dev/null -w "%{time_total}\n" -X POST -H "Content-Type: application/json" \
+                   -d "{\"userId\":1,\"description\":\"Benchmark chore $2\",\"date\":\"2030-01-01\"}" "$1/api/v1/chores" ;;
+            1) curl -s -o /dev/null -w "%{time_total}\n" "$1/api/v1/chores/date/2030-01-01" ;;
+            2) curl -s -o /dev/null -w "%{time_total}\n" "$1/api/v1/users" ;;
+            *) curl -s -o /dev/null -w "%{time_total}\n" "$1/api/v1/chores/user/1" ;;
+        esac
+    ' _ "$BASE_URL" {} >> "$out"
+}
+
+run() {
+    local name="$1" profile="$2"
+    local dir
+    dir="$(mktemp -d)"
+    (cd "$dir" && java ${profile:+-Dspring.profiles.active=$profile} -jar "$JAR" --server.port="$PORT" \
+        > stdout.log 2>&1) &
+    local pid=$!
+    until curl -s -o /dev/null -f "${BASE_URL}/api/v1/users"; do sleep 0.1; done
+
+    curl -s -o /dev/null -X POST -H 'Content-Type: application/json' \
+        -d '{"name":"Benchmark","color":"#10B981"}' "${BASE_URL}/api/v1/users"
+    drive 500 /dev/null
+
+    local results start elapsed
+    results="$(mktemp)"
+    start=$(date +%s%3N)
+    drive "$REQUESTS" "$results"
+    elapsed=$(( $(date +%s%3N) - start ))
+    sleep 1
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    local log_bytes
+    log_bytes=$(cat "$dir"/stdout.log "$dir"/logs/* 2>/dev/null | wc -c)
+    sort -n "$results" | awk -v name="$name" -v elapsed="$elapsed" -v bytes="$log_bytes" '
+        { t[++n] = $1 }
+        END {
+            printf "[%s] %d requests in %d ms (%.0f req/s), p50 %.2f ms, p99 %.2f ms, %.1f MB of logs\n",
+                name, n, elapsed, n * 1000 / elapsed, t[int(n * 0.5) + 1] * 1000,
+                t[int(n * 0.99) > 0 ? int(n * 0.99) : 1] * 1000, bytes / 1048576
+        }'
+    rm -rf "$dir" "$results"
+}
+
+run current ""
+run structured structured-logging
@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+#
+# Drives more concurrent requests than the service can handle and reports
+# goodput (200s), shed requests (503s) and latency of the successful ones.
+#
+# Usage:
+#   scripts/overload-test.sh [concurrency] [requests] [path]
+#
+# Defaults to 200 concurrent clients sending 5000 GET /api/v1/users requests.
+# Run it once with chore.concurrency-limit.enabled=false to compare against
+# unbounded queueing.
+
+set -euo pipefail
+
+CONCURRENCY="${1:-200}"
+REQUESTS="${2:-5000}"
+URL_PATH="${3:-/api/v1/users}"
+BASE_URL="http://localhost:${PORT:-8080}"
+RESULTS="$(mktemp)"
+trap 'rm -f "$RESULTS"' EXIT
+
+start=$(date +%s%3N)
+seq "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} \
+    curl -s -o /dev/null -w '%{http_code} %{time_total}\n' "${BASE_URL}${URL_PATH}" >> "$RESULTS"
+elapsed_ms=$(( $(date +%s%3N) - start ))
+
+awk -v elapsed="$elapsed_ms" '
+    { count[$1]++ }
+    $1 == 200 { ok[++n] = $2 }
+    END {
+        asort(ok)
+        printf "elapsed: %d ms\n", elapsed
+        for (code in count) printf "status %s: %d\n", code, count[code]
+        printf "goodput: %.1f req/s\n", n * 1000 / elapsed
+        if (n > 0) printf "200 latency p50: %.3fs p99: %.3fs\n", ok[int(n * 0.5) + 1], ok[int(n * 0.99) > 0 ? int(n * 0.99) : 1]
+    }' "$RESULTS"
@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request for the CRUD and chat endpoints.
+#
+# Usage:
+#   scripts/startup-benchmark.sh default     # plain jar
+#   scripts/startup-benchmark.sh fast        # AOT + AppCDS (run "train" first)
+#   scripts/startup-benchmark.sh train       # extracts the jar and builds the AppCDS archive
+#
+# The jar must be built first: "mvn clean package" for default,
+# "mvn -Pfast-startup clean package" for train/fast.
+# Chat timing needs AZURE_OPENAI_KEY and AZURE_OPENAI_ENDPOINT; it is skipped otherwise.
+# Each endpoint must answer successfully within TIMEOUT seconds (default 120).
+
+set -euo pipefail
+
+MODE="${1:-default}"
+PORT="${PORT:-8080}"
+JAR="$(ls target/chore-service-poc-*.jar | grep -v original | head -n 1)"
+EXTRACTED="target/extracted"
+CDS_ARCHIVE="target/application.jsa"
+BASE_URL="http://localhost:${PORT}"
+TIMEOUT="${TIMEOUT:-120}"
+
+now_ms() {
+    date +%s%3N
+}
+
+# Polls until the endpoint answers with a 2xx; fails if the application exits or TIMEOUT passes
+wait_for() {
+    local method="$1" url="$2" body="${3:-}"
+    local deadline=$(( $(now_ms) + TIMEOUT * 1000 ))
+    until curl -s -o /dev/null -f -X "$method" -H 'Content-Type: application/json' \
+            ${body:+-d "$body"} "$url"; do
+        if ! kill -0 "$PID" 2>/dev/null; then
+            echo "[$MODE] application exited before $method $url succeeded; see target/startup-benchmark.log" >&2
+            exit 1
+        fi
+        if (( $(now_ms) > deadline )); then
+            echo "[$MODE] $method $url did not succeed within ${TIMEOUT}s; see target/startup-benchmark.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+}
+
+case "$MODE" in
+    train)
+        rm -rf "$EXTRACTED"
+        java -Djarmode=tools -jar "$JAR" extract --destination "$EXTRACTED"
+        # Training run: refresh the context and exit, dumping the loaded classes into the archive
+        java -XX:ArchiveClassesAtExit="$CDS_ARCHIVE" -Dspring.aot.enabled=true \
+            -Dspring.context.exit=onRefresh -Dspring.profiles.active=fast-startup \
+            -jar "$EXTRACTED/$(basename "$JAR")"
+        echo "AppCDS archive written to $CDS_ARCHIVE"
+        exit 0
+        ;;
+    default)
+        CMD=(java -jar "$JAR")
+        ;;
+    fast)
+        CMD=(java -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true
+             -Dspring.profiles.active=fast-startup -jar "$EXTRACTED/$(basename "$JAR")")
+        ;;
+    *)
+        echo "Unknown mode: $MODE (expected default, fast or train)" >&2
+        exit 1
+        ;;
+esac
+
+START=$(now_ms)
+"${CMD[@]}" --server.port="$PORT" > target/startup-benchmark.log 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+
+wait_for GET "${BASE_URL}/api/v1/users"
+CRUD=$(now_ms)
+echo "[$MODE] time to first CRUD request: $((CRUD - START)) ms"
+
+if [[ -n "${AZURE_OPENAI_KEY:-}" && -n "${AZURE_OPENAI_ENDPOINT:-}" ]]; then
+    CHAT_START=$(now_ms)
+    wait_for POST "${BASE_URL}/api/v1/assistant/chat" '{"sessionId":"startup-benchmark","message":"hi"}'
+    CHAT=$(now_ms)
+    echo "[$MODE] time to first chat request: $((CHAT - START)) ms (first chat call took $((CHAT - CHAT_START)) ms)"
+else
+    echo "[$MODE] chat timing skipped: AZURE_OPENAI_KEY / AZURE_OPENAI_ENDPOINT not set"
+fi
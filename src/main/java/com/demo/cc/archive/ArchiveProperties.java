@@ -0,0 +1,31 @@
+package com.demo.cc.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Period;
+
+/**
+ * Archival of past chores into the cold table (chore.archive.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.archive")
+@Data
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+
+    /** Chores dated more than this before today are archived */
+    private Period horizon = Period.ofDays(90);
+
+    /** Delay after startup before the first run */
+    private Duration initialDelay = Duration.ofMinutes(1);
+
+    /** Time between archiver runs */
+    private Duration interval = Duration.ofHours(6);
+
+    /** Chores moved per transaction */
+    private int batchSize = 500;
+}
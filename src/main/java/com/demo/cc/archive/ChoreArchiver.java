@@ -0,0 +1,195 @@
+package com.demo.cc.archive;
+
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ArchivedChoreRepository;
+import com.demo.cc.repository.ChoreListRow;
+import com.demo.cc.repository.ChoreRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves chores dated before the configured horizon from {@code chores} into
+ * the {@code chores_archive} cold table, in batches of one transaction each.
+ *
+ * Everything that reads the whole chore set (listing all chores, a user's
+ * chores, counts, the date-keyed in-memory indexes) then only sees the hot
+ * weeks around today. Archived chores leave those views through archive
+ * events; the search index and the stats rollups keep them. Reads of explicit
+ * dates and date ranges add the cold rows from {@link #archivedOn} and
+ * {@link #archivedBetween}, which only query the archive when the range
+ * reaches back to archived days.
+ */
+@Component
+@Slf4j
+public class ChoreArchiver {
+
+    private final ChoreRepository choreRepository;
+    private final ArchivedChoreRepository archivedChoreRepository;
+    private final ArchiveProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final Timer runTimer;
+    private final Counter archivedCounter;
+    private final AtomicLong hotChores = new AtomicLong();
+    private final AtomicLong coldChores = new AtomicLong();
+
+    // Latest date that may have archived chores; null while nothing is archived
+    private volatile LocalDate archivedThrough;
+
+    private ScheduledExecutorService runner;
+
+    public ChoreArchiver(ChoreRepository choreRepository, ArchivedChoreRepository archivedChoreRepository,
+                         ArchiveProperties properties, ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.choreRepository = choreRepository;
+        this.archivedChoreRepository = archivedChoreRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.runTimer = Timer.builder("chore.archive.run")
+                .description("Time to move the chores past the horizon into the archive")
+                .register(meterRegistry);
+        this.archivedCounter = Counter.builder("chore.archive.archived")
+                .description("Chores moved into the archive")
+                .register(meterRegistry);
+        Gauge.builder("chore.archive.hot_chores", hotChores, AtomicLong::get)
+                .description("Chores in the hot table after the last archiver run")
+                .register(meterRegistry);
+        Gauge.builder("chore.archive.cold_chores", coldChores, AtomicLong::get)
+                .description("Chores in the archive after the last archiver run")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        archivedThrough = HouseholdContext.callAs(HouseholdContext.ALL_HOUSEHOLDS,
+                () -> archivedChoreRepository.findLatestDate().orElse(null));
+        if (!properties.isEnabled()) {
+            log.info("Chore archiving is disabled");
+            return;
+        }
+        runner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "chore-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        runner.scheduleWithFixedDelay(this::runSafely, properties.getInitialDelay().toMillis(),
+                properties.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (runner != null) {
+            runner.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether chores of any day in the range may be in the archive
+     */
+    public boolean holds(LocalDate from, LocalDate to) {
+        LocalDate through = archivedThrough;
+        return through != null && !from.isAfter(through) && !to.isBefore(from);
+    }
+
+    public boolean holds(LocalDate date) {
+        return holds(date, date);
+    }
+
+    /**
+     * Archived chores of a date
+     * @param userId Only this user's chores, or null for everyone's
+     * @return Rows in time order; empty without a query if the archive does not reach back to the date
+     */
+    public List<ChoreListRow> archivedOn(LocalDate date, Long userId) {
+        if (!holds(date)) {
+            return List.of();
+        }
+        return userId != null
+                ? archivedChoreRepository.findRowsByUserIdAndDate(userId, date)
+                : archivedChoreRepository.findRowsBetween(date, date);
+    }
+
+    /**
+     * Archived chores of a date range
+     * @param userIds Only these users' chores, or null or empty for everyone's
+     * @return Rows in date and time order; empty without a query if the archive does not reach the range
+     */
+    public List<ChoreListRow> archivedBetween(LocalDate from, LocalDate to, Collection<Long> userIds) {
+        if (!holds(from, to)) {
+            return List.of();
+        }
+        return userIds == null || userIds.isEmpty()
+                ? archivedChoreRepository.findRowsBetween(from, to)
+                : archivedChoreRepository.findRowsBetweenForUsers(from, to, userIds);
+    }
+
+    /**
+     * Archives every chore dated before the horizon
+     * @return Number of chores archived
+     */
+    public int archive() {
+        LocalDate cutoff = LocalDate.now().minus(properties.getHorizon());
+        long start = System.nanoTime();
+        // Widen reads to the cold table before the first row moves, so no read misses a chore in flight
+        LocalDate through = archivedThrough;
+        if (through == null || through.isBefore(cutoff.minusDays(1))) {
+            archivedThrough = cutoff.minusDays(1);
+        }
+        int total = 0;
+        int moved;
+        do {
+            moved = HouseholdContext.callAs(HouseholdContext.ALL_HOUSEHOLDS, () -> transaction.execute(status -> {
+                Map<String, List<Long>> archived = choreRepository.archiveBefore(cutoff, properties.getBatchSize());
+                int count = 0;
+                for (Map.Entry<String, List<Long>> household : archived.entrySet()) {
+                    for (Long id : household.getValue()) {
+                        eventPublisher.publishEvent(ChoreChangedEvent.archived(household.getKey(), id));
+                    }
+                    count += household.getValue().size();
+                }
+                return count;
+            }));
+            total += moved;
+            archivedCounter.increment(moved);
+        } while (moved == properties.getBatchSize());
+        long elapsed = System.nanoTime() - start;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        HouseholdContext.runAs(HouseholdContext.ALL_HOUSEHOLDS, () -> {
+            hotChores.set(choreRepository.count());
+            coldChores.set(archivedChoreRepository.count());
+        });
+        log.info("Archived {} chores dated before {} in {} ms; hot set {} chores, archive {} chores", total, cutoff,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), hotChores.get(), coldChores.get());
+        return total;
+    }
+
+    private void runSafely() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.error("Chore archiving failed", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.demo.cc.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Response formats for list endpoints that are more compact than a JSON
+ * array of objects. CBOR and Smile keep the row layout of the JSON API;
+ * the columnar JSON variant writes each field once, followed by an array of
+ * its values.
+ */
+public enum CompactFormat {
+
+    CBOR(CompactWriter.CBOR_VALUE, CBORFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build(), false),
+
+    // Dates and user names repeat from row to row; Smile back-references short repeated strings
+    SMILE(CompactWriter.SMILE_VALUE, SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build(), false),
+
+    COLUMNAR_JSON(CompactWriter.COLUMNAR_JSON_VALUE, JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build(), true);
+
+    private final MediaType mediaType;
+    private final JsonFactory factory;
+    private final boolean columnar;
+
+    CompactFormat(String mediaType, JsonFactory factory, boolean columnar) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.factory = factory;
+        this.columnar = columnar;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public JsonFactory getFactory() {
+        return factory;
+    }
+
+    public boolean isColumnar() {
+        return columnar;
+    }
+
+    /**
+     * Picks the format a client asked for
+     * @param accept Accept header; types are tried by quality, then in the order given
+     * @return The preferred compact format, or CBOR if the header only matches through wildcards
+     */
+    public static CompactFormat negotiate(String accept) {
+        List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0 || type.isWildcardType() || type.isWildcardSubtype()) {
+                continue;
+            }
+            for (CompactFormat format : values()) {
+                if (type.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return CBOR;
+    }
+}
@@ -0,0 +1,177 @@
+package com.demo.cc.codec;
+
+import com.demo.cc.repository.ChoreField;
+import com.demo.cc.repository.ChoreListRow;
+import com.demo.cc.repository.ChoreSelection;
+import com.demo.cc.repository.UserRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes streamed projection rows straight to the response in a
+ * {@link CompactFormat}, without building DTOs or a list first.
+ *
+ * Field names and value formats match the JSON API (ISO dates and times).
+ * Row formats leave out null fields. The columnar format writes
+ * {@code {"count":n,"id":[...],"description":[...],...}} with nulls kept,
+ * so the arrays line up; each column is encoded into its own buffer while
+ * the rows stream, and the buffers are appended at the end. An embedded
+ * user is written as a nested object.
+ */
+public final class CompactWriter {
+
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final String COLUMNAR_JSON_VALUE = "application/vnd.chore.columnar+json";
+
+    public static final List<Column<ChoreListRow>> CHORE_COLUMNS = List.of(
+            new Column<>("id", ChoreListRow::id),
+            new Column<>("description", ChoreListRow::description),
+            new Column<>("time", ChoreListRow::time),
+            new Column<>("date", ChoreListRow::date),
+            new Column<>("userId", ChoreListRow::userId),
+            new Column<>("durationMinutes", ChoreListRow::durationMinutes),
+            new Column<>("version", ChoreListRow::version),
+            new Column<>("completedAt", ChoreListRow::completedAt));
+
+    public static final List<Column<UserRow>> USER_COLUMNS = List.of(
+            new Column<>("id", UserRow::id),
+            new Column<>("name", UserRow::name),
+            new Column<>("color", UserRow::color));
+
+    private CompactWriter() {
+    }
+
+    /**
+     * Columns of rows selected with a {@link ChoreSelection}; an included user
+     * is one {@code user} column holding a {@link UserRow}
+     */
+    public static List<Column<Object[]>> choreColumns(ChoreSelection selection) {
+        List<Column<Object[]>> columns = new ArrayList<>();
+        List<ChoreField> fields = selection.fieldList();
+        for (int i = 0; i < fields.size(); i++) {
+            int index = i;
+            columns.add(new Column<>(fields.get(i).getName(), row -> row[index]));
+        }
+        if (selection.user()) {
+            int index = fields.size();
+            columns.add(new Column<>("user", row -> row[index] != null
+                    ? new UserRow((Long) row[index], (String) row[index + 1], (String) row[index + 2])
+                    : null));
+        }
+        return columns;
+    }
+
+    /**
+     * Writes all rows of the stream
+     * @return Number of rows written
+     */
+    public static <T> int write(Stream<T> rows, List<Column<T>> columns, CompactFormat format, OutputStream out)
+            throws IOException {
+        return format.isColumnar()
+                ? writeColumns(rows.iterator(), columns, format, out)
+                : writeRows(rows.iterator(), columns, format, out);
+    }
+
+    private static <T> int writeRows(Iterator<T> rows, List<Column<T>> columns, CompactFormat format,
+                                     OutputStream out) throws IOException {
+        int count = 0;
+        try (JsonGenerator generator = format.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            while (rows.hasNext()) {
+                T row = rows.next();
+                generator.writeStartObject();
+                for (Column<T> column : columns) {
+                    Object value = column.value().apply(row);
+                    if (value != null) {
+                        generator.writeFieldName(column.name());
+                        writeValue(generator, value);
+                    }
+                }
+                generator.writeEndObject();
+                count++;
+            }
+            generator.writeEndArray();
+        }
+        return count;
+    }
+
+    private static <T> int writeColumns(Iterator<T> rows, List<Column<T>> columns, CompactFormat format,
+                                        OutputStream out) throws IOException {
+        ByteArrayOutputStream[] buffers = new ByteArrayOutputStream[columns.size()];
+        JsonGenerator[] generators = new JsonGenerator[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            buffers[i] = new ByteArrayOutputStream();
+            generators[i] = format.getFactory().createGenerator(buffers[i]);
+            generators[i].writeStartArray();
+        }
+        int count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                writeValue(generators[i], columns.get(i).value().apply(row));
+            }
+            count++;
+        }
+
+        out.write(("{\"count\":" + count).getBytes(StandardCharsets.US_ASCII));
+        for (int i = 0; i < columns.size(); i++) {
+            generators[i].writeEndArray();
+            generators[i].close();
+            out.write((",\"" + columns.get(i).name() + "\":").getBytes(StandardCharsets.US_ASCII));
+            buffers[i].writeTo(out);
+        }
+        out.write('}');
+        out.flush();
+        return count;
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Integer number) {
+            generator.writeNumber(number);
+        } else if (value instanceof String text) {
+            generator.writeString(text);
+        } else if (value instanceof LocalDate date) {
+            generator.writeString(date.toString());
+        } else if (value instanceof LocalTime time) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_TIME.format(time));
+        } else if (value instanceof Instant instant) {
+            generator.writeString(instant.toString());
+        } else if (value instanceof UserRow user) {
+            generator.writeStartObject();
+            for (Column<UserRow> column : USER_COLUMNS) {
+                Object field = column.value().apply(user);
+                if (field != null) {
+                    generator.writeFieldName(column.name());
+                    writeValue(generator, field);
+                }
+            }
+            generator.writeEndObject();
+        } else {
+            throw new IllegalArgumentException("Unsupported column type: " + value.getClass());
+        }
+    }
+
+    /**
+     * A named field of a row type.
+     */
+    public record Column<T>(String name, Function<T, Object> value) {}
+}
@@ -0,0 +1,20 @@
+package com.demo.cc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Household snapshot added to every assistant prompt (chore.assistant.prefetch.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.assistant.prefetch")
+@Data
+public class AssistantPrefetchProperties {
+
+    /** Add the family members and today's and tomorrow's chores to the system prompt */
+    private boolean enabled = true;
+
+    /** Chores listed per snapshot; beyond this the model is told to use the tools */
+    private int maxChores = 40;
+}
@@ -0,0 +1,50 @@
+package com.demo.cc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Deadline, hedging and circuit breaker settings for model calls
+ * (chore.assistant.resilience.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.assistant.resilience")
+@Data
+public class AssistantResilienceProperties {
+
+    /** End-to-end budget of a chat request, including every model round trip and tool call */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    private Hedge hedge = new Hedge();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Data
+    public static class Hedge {
+
+        /** Sends a second model call when the first is slower than the p95 latency */
+        private boolean enabled = false;
+
+        /** Lower bound for the hedge delay, also used until enough latencies are recorded */
+        private Duration minDelay = Duration.ofSeconds(3);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        /** Number of recent calls the failure rate is computed over */
+        private int windowSize = 20;
+
+        /** Calls needed in the window before the breaker can open */
+        private int minimumCalls = 5;
+
+        /** Failure rate in percent that opens the breaker */
+        private int failureRateThreshold = 50;
+
+        /** How long the breaker stays open before letting a trial call through */
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
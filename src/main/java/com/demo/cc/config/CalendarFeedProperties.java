@@ -0,0 +1,20 @@
+package com.demo.cc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * iCalendar feed export and import (chore.ics.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.ics")
+@Data
+public class CalendarFeedProperties {
+
+    /** Chores inserted per JDBC batch and transaction during an import */
+    private int importBatchSize = 500;
+
+    /** Events read from one import before the rest of the file is rejected */
+    private int maxImportEvents = 100_000;
+}
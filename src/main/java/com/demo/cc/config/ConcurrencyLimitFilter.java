@@ -0,0 +1,129 @@
+package com.demo.cc.config;
+
+import com.demo.cc.service.GradientConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sheds load with 503 once the adaptive concurrency limit of an endpoint
+ * group is reached, instead of letting requests queue in Tomcat.
+ *
+ * The assistant and the CRUD endpoints have separate limiters, so a slow model
+ * provider cannot use up the concurrency budget of plain calendar reads.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String ASSISTANT_PREFIX = "/api/v1/assistant/";
+    private static final long SHED_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final String[] CRUD_PREFIXES = {"/api/v1/chores", "/api/v1/users", "/api/v1/calendar", "/api/v1/stats"};
+
+    private final ConcurrencyLimitProperties properties;
+    private final GradientConcurrencyLimiter assistantLimiter;
+    private final GradientConcurrencyLimiter crudLimiter;
+    private final Counter assistantShed;
+    private final Counter crudShed;
+    private final AtomicLong nextShedWarning = new AtomicLong(System.nanoTime());
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.assistantLimiter = newLimiter(properties.getAssistant());
+        this.crudLimiter = newLimiter(properties.getCrud());
+        this.assistantShed = registerMetrics(meterRegistry, "assistant", assistantLimiter);
+        this.crudShed = registerMetrics(meterRegistry, "crud", crudLimiter);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || limiterFor(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        GradientConcurrencyLimiter limiter = limiterFor(uri);
+        if (!limiter.tryAcquire()) {
+            (limiter == assistantLimiter ? assistantShed : crudShed).increment();
+            logShed(request.getMethod(), uri, limiter.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, please retry");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // Only successful responses say something about how long the work really takes
+            limiter.release(System.nanoTime() - start, completed && response.getStatus() < 500);
+        }
+    }
+
+    /**
+     * Warns at most once per interval; while overloaded every request is shed, and the
+     * chore.concurrency.shed counter has the totals
+     */
+    private void logShed(String method, String uri, int limit) {
+        long now = System.nanoTime();
+        long next = nextShedWarning.get();
+        if (now - next >= 0 && nextShedWarning.compareAndSet(next, now + SHED_WARNING_INTERVAL_NANOS)) {
+            log.warn("Shedding {} {}: concurrency limit {} reached (further sheds logged at DEBUG for {} s)",
+                    method, uri, limit, TimeUnit.NANOSECONDS.toSeconds(SHED_WARNING_INTERVAL_NANOS));
+        } else {
+            log.debug("Shedding {} {}: concurrency limit {} reached", method, uri, limit);
+        }
+    }
+
+    private GradientConcurrencyLimiter limiterFor(String uri) {
+        if (uri.startsWith(ASSISTANT_PREFIX)) {
+            return assistantLimiter;
+        }
+        for (String prefix : CRUD_PREFIXES) {
+            if (uri.startsWith(prefix)) {
+                return crudLimiter;
+            }
+        }
+        return null;
+    }
+
+    private static GradientConcurrencyLimiter newLimiter(ConcurrencyLimitProperties.Limit limit) {
+        return new GradientConcurrencyLimiter(limit.getInitial(), limit.getMin(), limit.getMax());
+    }
+
+    private static Counter registerMetrics(MeterRegistry meterRegistry, String group,
+                                           GradientConcurrencyLimiter limiter) {
+        Gauge.builder("chore.concurrency.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("chore.concurrency.in_flight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a concurrency slot")
+                .tag("group", group)
+                .register(meterRegistry);
+        return Counter.builder("chore.concurrency.shed")
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+}
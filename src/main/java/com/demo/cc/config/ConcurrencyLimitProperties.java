@@ -0,0 +1,37 @@
+package com.demo.cc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive concurrency limits (chore.concurrency-limit.*), one set for the
+ * assistant endpoints and one for the CRUD endpoints.
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.concurrency-limit")
+@Data
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private Limit assistant = new Limit(4, 2, 32);
+
+    private Limit crud = new Limit(50, 10, 200);
+
+    @Data
+    public static class Limit {
+        private int initial;
+        private int min;
+        private int max;
+
+        public Limit() {
+        }
+
+        public Limit(int initial, int min, int max) {
+            this.initial = initial;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
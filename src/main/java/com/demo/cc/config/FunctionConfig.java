@@ -1,94 +1,155 @@
 package com.demo.cc.config;
 
 import com.demo.cc.config.ToolConfig.*;
+import com.demo.cc.service.AssistantToolGuard;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
+import org.springframework.context.annotation.Lazy;
 
 import java.util.function.Function;
 
 /**
  * Configuration for Spring AI function calling.
  * Registers tool methods as Function beans that Spring AI can discover.
+ * The beans are lazy: Spring AI resolves them by name on the first chat request.
+ * Every call goes through {@link AssistantToolGuard} for the request deadline.
  */
 @Configuration
+@Lazy
 public class FunctionConfig {
 
     private final ToolConfig toolConfig;
+    private final AssistantToolGuard toolGuard;
 
-    public FunctionConfig(ToolConfig toolConfig) {
+    public FunctionConfig(ToolConfig toolConfig, AssistantToolGuard toolGuard) {
         this.toolConfig = toolConfig;
+        this.toolGuard = toolGuard;
     }
 
     @Bean
     @Description("Create a new user in the chore system")
     public Function<CreateUserRequest, CreateUserResponse> createUser() {
-        return toolConfig::createUser;
+        return req -> toolGuard.write("createUser", () -> toolConfig.createUser(req));
     }
 
     @Bean
     @Description("Get detailed information about a specific user by their userId")
     public Function<GetUserRequest, UserInfo> getUser() {
-        return toolConfig::getUser;
+        return req -> toolGuard.read("getUser", () -> toolConfig.getUser(req));
     }
 
     @Bean
     @Description("List all users in the chore system with their basic information")
     public Function<Void, UserListResponse> listUsers() {
-        return (v) -> toolConfig.listUsers();
+        return (v) -> toolGuard.read("listUsers", () -> toolConfig.listUsers());
     }
 
     @Bean
     @Description("Update an existing user's information")
     public Function<UpdateUserRequest, UpdateUserResponse> updateUser() {
-        return toolConfig::updateUser;
+        return req -> toolGuard.write("updateUser", () -> toolConfig.updateUser(req));
     }
 
     @Bean
     @Description("Delete a user from the system")
     public Function<DeleteUserRequest, DeleteUserResponse> deleteUser() {
-        return toolConfig::deleteUser;
+        return req -> toolGuard.write("deleteUser", () -> toolConfig.deleteUser(req));
     }
 
     @Bean
     @Description("Create a new chore for a user")
     public Function<CreateChoreRequest, CreateChoreResponse> createChore() {
-        return toolConfig::createChore;
+        return req -> toolGuard.write("createChore", () -> toolConfig.createChore(req));
     }
 
     @Bean
     @Description("Get detailed information about a specific chore by its choreId")
     public Function<GetChoreRequest, ChoreInfo> getChore() {
-        return toolConfig::getChore;
+        return req -> toolGuard.read("getChore", () -> toolConfig.getChore(req));
     }
 
     @Bean
     @Description("List all chores in the system across all users and dates")
     public Function<Void, ChoreListResponse> listAllChores() {
-        return (v) -> toolConfig.listAllChores();
+        return (v) -> toolGuard.read("listAllChores", () -> toolConfig.listAllChores());
     }
 
     @Bean
     @Description("List all chores scheduled for a specific date across all users")
     public Function<ChoresByDateRequest, ChoreListResponse> listChoresByDate() {
-        return toolConfig::listChoresByDate;
+        return req -> toolGuard.read("listChoresByDate", () -> toolConfig.listChoresByDate(req));
+    }
+
+    @Bean
+    @Description("Search chores by words in their description, optionally by user and date range")
+    public Function<SearchChoresRequest, ChoreListResponse> searchChores() {
+        return req -> toolGuard.read("searchChores", () -> toolConfig.searchChores(req));
     }
 
     @Bean
     @Description("List chores for a specific user, optionally filtered by date")
     public Function<ChoresByUserRequest, ChoreListResponse> listChoresForUser() {
-        return toolConfig::listChoresForUser;
+        return req -> toolGuard.read("listChoresForUser", () -> toolConfig.listChoresForUser(req));
     }
 
     @Bean
     @Description("Update an existing chore")
     public Function<UpdateChoreRequest, UpdateChoreResponse> updateChore() {
-        return toolConfig::updateChore;
+        return req -> toolGuard.write("updateChore", () -> toolConfig.updateChore(req));
     }
 
     @Bean
     @Description("Delete a chore from the system")
     public Function<DeleteChoreRequest, DeleteChoreResponse> deleteChore() {
-        return toolConfig::deleteChore;
+        return req -> toolGuard.write("deleteChore", () -> toolConfig.deleteChore(req));
+    }
+
+    @Bean
+    @Description("List chores between two dates, optionally only for some users")
+    public Function<ChoresInRangeRequest, ChoreListResponse> listChoresInRange() {
+        return req -> toolGuard.read("listChoresInRange", () -> toolConfig.listChoresInRange(req));
+    }
+
+    @Bean
+    @Description("Create several chores at once; all are created or none")
+    public Function<CreateChoresRequest, ChoreListResponse> createChores() {
+        return req -> toolGuard.write("createChores", () -> toolConfig.createChores(req));
+    }
+
+    @Bean
+    @Description("Update several chores at once; all are updated or none")
+    public Function<UpdateChoresRequest, ChoreListResponse> updateChores() {
+        return req -> toolGuard.write("updateChores", () -> toolConfig.updateChores(req));
+    }
+
+    @Bean
+    @Description("Delete several chores at once")
+    public Function<DeleteChoresRequest, DeleteChoresResponse> deleteChores() {
+        return req -> toolGuard.write("deleteChores", () -> toolConfig.deleteChores(req));
+    }
+
+    @Bean
+    @Description("Assign unassigned chores fairly across users, avoiding overlapping time slots")
+    public Function<ScheduleChoresRequest, ChoreListResponse> scheduleChores() {
+        return req -> toolGuard.write("scheduleChores", () -> toolConfig.scheduleChores(req));
+    }
+
+    @Bean
+    @Description("Mark a chore as done")
+    public Function<CompleteChoreRequest, CompleteChoreResponse> completeChore() {
+        return req -> toolGuard.write("completeChore", () -> toolConfig.completeChore(req));
+    }
+
+    @Bean
+    @Description("Get per-user assigned, completed and overdue chore counts and streaks for a week or month")
+    public Function<ChoreStatsRequest, ChoreStatsResponse> getChoreStats() {
+        return req -> toolGuard.read("getChoreStats", () -> toolConfig.getChoreStats(req));
+    }
+
+    @Bean
+    @Description("Ask for the full set of tools when none of the available ones fits the request")
+    public Function<MoreToolsRequest, MoreToolsResponse> requestAllTools() {
+        return toolConfig::requestAllTools;
     }
 }
@@ -0,0 +1,40 @@
+package com.demo.cc.config;
+
+import com.demo.cc.household.HouseholdConnectionProvider;
+import com.demo.cc.household.HouseholdRouter;
+import com.demo.cc.household.HouseholdTenantResolver;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires household partitioning into Hibernate: the current household becomes
+ * the tenant id, and connections are routed through the {@link HouseholdRouter}.
+ */
+@Configuration
+public class HouseholdConfig {
+
+    /**
+     * Default router: every household shares one schema, partitioned by household_id.
+     * Replace with a {@link HouseholdRouter} bean to move households to their own schema.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    HouseholdRouter householdRouter() {
+        return householdId -> null;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer householdHibernateCustomizer(DataSource dataSource, HouseholdRouter router,
+                                                               HouseholdTenantResolver tenantResolver) {
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, tenantResolver);
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER,
+                    new HouseholdConnectionProvider(dataSource, router));
+        };
+    }
+}
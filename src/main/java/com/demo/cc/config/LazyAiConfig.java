@@ -0,0 +1,45 @@
+package com.demo.cc.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Defers the Spring AI auto-configured beans (Azure OpenAI client, chat model,
+ * ChatClient builder) until the first chat request needs them.
+ * CRUD traffic never touches them, so they should not be on the startup path.
+ */
+@Configuration
+@Slf4j
+public class LazyAiConfig {
+
+    private static final String SPRING_AI_PACKAGE = "org.springframework.ai.";
+
+    @Bean
+    static BeanFactoryPostProcessor lazyAiBeans() {
+        return beanFactory -> {
+            int deferred = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isSpringAiBean(beanFactory, definition)) {
+                    definition.setLazyInit(true);
+                    deferred++;
+                }
+            }
+            log.debug("Deferred initialization of {} Spring AI beans", deferred);
+        };
+    }
+
+    private static boolean isSpringAiBean(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (className == null && factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            // @Bean methods of auto-configuration classes are identified by their declaring class
+            className = beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        return className != null && className.startsWith(SPRING_AI_PACKAGE);
+    }
+}
@@ -0,0 +1,20 @@
+package com.demo.cc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Request log sampling and redaction (chore.logging.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.logging")
+@Data
+public class LoggingProperties {
+
+    /** Share of requests whose DEBUG and SQL logs are kept, decided per trace id */
+    private double debugSampleRate = 1.0;
+
+    /** Replace names, descriptions and chat messages in log output with their length */
+    private boolean redactUserContent = false;
+}
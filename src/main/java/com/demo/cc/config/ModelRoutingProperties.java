@@ -0,0 +1,55 @@
+package com.demo.cc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routing of assistant turns across chat model deployments
+ * (chore.assistant.routing.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.assistant.routing")
+@Data
+public class ModelRoutingProperties {
+
+    /** Without routing every turn uses the deployment of spring.ai.azure.openai.chat.options */
+    private boolean enabled = false;
+
+    /** Deployments from the smallest and cheapest to the largest */
+    private List<Tier> tiers = new ArrayList<>();
+
+    /** Complexity points per tier a turn starts above the smallest */
+    private int pointsPerTier = 2;
+
+    /** Messages longer than this score a point, and twice as long two */
+    private int longMessageChars = 160;
+
+    /** Replies containing one of these (ignoring case) are retried one tier up */
+    private List<String> lowConfidencePhrases = List.of("i'm not sure", "i am not sure", "i don't know",
+            "i do not know", "i couldn't", "i could not", "i was unable", "i'm unable");
+
+    /** Turns of a session that start at the tier an earlier turn escalated to */
+    private int stickyTurns = 2;
+
+    /** Sessions whose routing state is remembered; the least recently used are dropped */
+    private int maxSessions = 10_000;
+
+    @Data
+    public static class Tier {
+
+        private String name;
+
+        /** Azure OpenAI deployment name */
+        private String deployment;
+
+        /** Price per million prompt tokens, in the currency of the bill */
+        private double promptTokenCost;
+
+        /** Price per million completion tokens */
+        private double completionTokenCost;
+    }
+}
@@ -0,0 +1,138 @@
+package com.demo.cc.config;
+
+import com.demo.cc.service.AssistantCallContext;
+import com.demo.cc.service.ToolCallExecutor;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chat model wrapper that runs the tool-call loop itself instead of leaving
+ * it to the provider model, so the tool calls of one response can go through
+ * {@link ToolCallExecutor} concurrently.
+ *
+ * The wrapped model is asked to return tool calls (proxyToolCalls) rather
+ * than execute them one by one. Streaming still uses the provider's own loop.
+ * Every provider round trip is observed as a chore.assistant.llm span, and
+ * the returned response reports the token usage of all round trips.
+ */
+public class ParallelToolCallingChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final ObjectProvider<ToolCallExecutor> executorProvider;
+    private final ObjectProvider<ToolExecutionProperties> propertiesProvider;
+    private final ObjectProvider<ObservationRegistry> observationRegistryProvider;
+
+    public ParallelToolCallingChatModel(ChatModel delegate, ObjectProvider<ToolCallExecutor> executorProvider,
+                                        ObjectProvider<ToolExecutionProperties> propertiesProvider,
+                                        ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+        this.delegate = delegate;
+        this.executorProvider = executorProvider;
+        this.propertiesProvider = propertiesProvider;
+        this.observationRegistryProvider = observationRegistryProvider;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        if (!(prompt.getOptions() instanceof FunctionCallingOptions requested)
+                || requested.getFunctions() == null || requested.getFunctions().isEmpty()
+                || Boolean.TRUE.equals(requested.getProxyToolCalls())) {
+            return callModel(prompt, 0);
+        }
+        FunctionCallingOptions options = requested.copy();
+        options.setProxyToolCalls(true);
+        int maxRounds = propertiesProvider.getObject().getMaxRounds();
+
+        List<Message> messages = new ArrayList<>(prompt.getInstructions());
+        ChatResponse response = callModel(new Prompt(messages, options), 0);
+        long promptTokens = 0;
+        long generationTokens = 0;
+        int round = 1;
+        for (; response.hasToolCalls(); round++) {
+            if (round > maxRounds) {
+                throw new IllegalStateException("Model still calling tools after " + maxRounds + " rounds");
+            }
+            AssistantMessage toolRequest = toolCallsOf(response);
+            for (AssistantMessage.ToolCall toolCall : toolRequest.getToolCalls()) {
+                if (!options.getFunctions().contains(toolCall.name())) {
+                    IllegalStateException error =
+                            new IllegalStateException("Model called tool '" + toolCall.name() + "' it was not given");
+                    AssistantCallContext context = AssistantCallContext.current();
+                    if (context != null) {
+                        context.toolFailed(error);
+                    }
+                    throw error;
+                }
+            }
+            Usage usage = response.getMetadata().getUsage();
+            promptTokens += tokens(usage.getPromptTokens());
+            generationTokens += tokens(usage.getGenerationTokens());
+            messages.add(toolRequest);
+            messages.add(executorProvider.getObject().execute(toolRequest.getToolCalls()));
+            response = callModel(new Prompt(messages, options), round);
+        }
+        return round == 1 ? response : withTotalUsage(response, promptTokens, generationTokens);
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return delegate.stream(prompt);
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    private ChatResponse callModel(Prompt prompt, int round) {
+        ObservationRegistry registry = observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
+        return Observation.createNotStarted("chore.assistant.llm", registry)
+                .contextualName("llm round " + round)
+                .lowCardinalityKeyValue("round", String.valueOf(Math.min(round, 9)))
+                .highCardinalityKeyValue("messages", String.valueOf(prompt.getInstructions().size()))
+                .observe(() -> delegate.call(prompt));
+    }
+
+    /**
+     * The last response, with the usage of every round so token metrics and costs cover the whole turn
+     */
+    private static ChatResponse withTotalUsage(ChatResponse response, long promptTokens, long generationTokens) {
+        ChatResponseMetadata metadata = response.getMetadata();
+        Usage last = metadata.getUsage();
+        return new ChatResponse(response.getResults(), ChatResponseMetadata.builder()
+                .withId(metadata.getId())
+                .withModel(metadata.getModel())
+                .withRateLimit(metadata.getRateLimit())
+                .withUsage(new DefaultUsage(promptTokens + tokens(last.getPromptTokens()),
+                        generationTokens + tokens(last.getGenerationTokens())))
+                .build());
+    }
+
+    private static long tokens(Long count) {
+        return count != null ? count : 0;
+    }
+
+    private static AssistantMessage toolCallsOf(ChatResponse response) {
+        for (Generation generation : response.getResults()) {
+            if (generation.getOutput().hasToolCalls()) {
+                return generation.getOutput();
+            }
+        }
+        throw new IllegalStateException("Response has no generation with tool calls");
+    }
+}
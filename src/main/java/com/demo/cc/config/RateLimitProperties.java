@@ -0,0 +1,31 @@
+package com.demo.cc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Budgets for the assistant rate limiter (chore.assistant.rate-limit.*).
+ * Each chat session and each client IP gets its own pair of token buckets.
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.assistant.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Chat requests per minute, with bursts up to the same amount */
+    private int requestsPerMinute = 20;
+
+    /** Estimated model tokens per minute, with bursts up to the same amount */
+    private int tokensPerMinute = 40_000;
+
+    /** Fixed prompt cost added to every request: system prompt, tool schemas and history */
+    private int promptOverheadTokens = 2_500;
+
+    /** Buckets untouched for this long are dropped */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+}
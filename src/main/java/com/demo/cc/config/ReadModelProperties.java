@@ -0,0 +1,33 @@
+package com.demo.cc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for the calendar read model (chore.read-model.*).
+ * Each endpoint opts in separately, e.g. chore.read-model.endpoints.calendar=true
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.read-model")
+@Data
+public class ReadModelProperties {
+
+    public static final String CALENDAR = "calendar";
+    public static final String CHORES_BY_DATE = "chores-by-date";
+    public static final String CHORES_BY_USER_AND_DATE = "chores-by-user-and-date";
+
+    /** Reads fall back to the primary tables while the projection lags by more than this */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /** Endpoint name to whether it reads from the projection */
+    private Map<String, Boolean> endpoints = new HashMap<>();
+
+    public boolean isEnabledFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, false);
+    }
+}
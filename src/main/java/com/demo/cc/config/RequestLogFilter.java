@@ -0,0 +1,82 @@
+package com.demo.cc.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Puts the trace id and the DEBUG sampling decision of the request into the
+ * MDC, where the JSON encoder and {@link SampledDebugTurboFilter} pick them up.
+ *
+ * The trace id comes from a W3C traceparent header when present, otherwise a
+ * new one is generated. Sampling hashes the trace id, so every service on the
+ * path keeps or drops the same requests; a sampled traceparent flag forces it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    public static final String MDC_TRACE_ID = "traceId";
+    public static final String MDC_SAMPLED = "sampled";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private static final Pattern TRACEPARENT =
+            Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-([0-9a-f]{2})");
+
+    private final LoggingProperties properties;
+
+    public RequestLogFilter(LoggingProperties properties) {
+        this.properties = properties;
+        UserContent.setRedacted(properties.isRedactUserContent());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String traceId = null;
+        boolean forceSampled = false;
+        String traceparent = request.getHeader("traceparent");
+        if (traceparent != null) {
+            Matcher matcher = TRACEPARENT.matcher(traceparent.trim());
+            if (matcher.matches()) {
+                traceId = matcher.group(1);
+                forceSampled = (Integer.parseInt(matcher.group(2), 16) & 1) == 1;
+            }
+        }
+        if (traceId == null) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            traceId = String.format("%016x%016x", random.nextLong(), random.nextLong());
+        }
+
+        MDC.put(MDC_TRACE_ID, traceId);
+        MDC.put(MDC_SAMPLED, String.valueOf(forceSampled || isSampled(traceId)));
+        response.setHeader(TRACE_ID_HEADER, traceId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_TRACE_ID);
+            MDC.remove(MDC_SAMPLED);
+        }
+    }
+
+    private boolean isSampled(String traceId) {
+        double rate = properties.getDebugSampleRate();
+        if (rate >= 1.0) {
+            return true;
+        }
+        // Low 32 bits of the trace id, spread evenly over [0, 1)
+        long low = Long.parseLong(traceId.substring(traceId.length() - 8), 16);
+        return low < rate * 0x1_0000_0000L;
+    }
+}
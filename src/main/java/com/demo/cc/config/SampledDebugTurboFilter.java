@@ -0,0 +1,25 @@
+package com.demo.cc.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Drops DEBUG and TRACE events unless the current request was sampled by
+ * {@link RequestLogFilter}. Runs before the level check, so unsampled
+ * requests pay one MDC lookup per debug statement and nothing else.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.INFO)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "true".equals(MDC.get(RequestLogFilter.MDC_SAMPLED)) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
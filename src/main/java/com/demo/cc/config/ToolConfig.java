@@ -1,16 +1,47 @@
 package com.demo.cc.config;
 
+import com.demo.cc.archive.ChoreArchiver;
 import com.demo.cc.domain.Chore;
+import com.demo.cc.domain.StatsPeriod;
 import com.demo.cc.domain.User;
+import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.dto.ChoreSearchHit;
+import com.demo.cc.dto.UserStatsDto;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ArchivedChoreRepository;
+import com.demo.cc.repository.ChoreListRow;
+import com.demo.cc.repository.ChorePatch;
 import com.demo.cc.repository.ChoreRepository;
+import com.demo.cc.repository.UserChoreCount;
 import com.demo.cc.repository.UserRepository;
+import com.demo.cc.service.AssistantCallContext;
+import com.demo.cc.service.ChoreIntervalIndex;
+import com.demo.cc.service.ChoreSchedulingService;
+import com.demo.cc.service.ChoreSearchIndex;
+import com.demo.cc.service.ChoreService;
+import com.demo.cc.service.ChoreStatsService;
+import com.demo.cc.service.UserDirectory;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Description;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * Tool configuration for Spring AI to interact with the chore service.
@@ -20,12 +51,37 @@ import java.util.List;
 @Slf4j
 public class ToolConfig {
 
+    private static final int MAX_BULK_CHORES = 100;
+    private static final int MAX_RANGE_DAYS = 62;
+
     private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
     private final ChoreRepository choreRepository;
-
-    public ToolConfig(UserRepository userRepository, ChoreRepository choreRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChoreIntervalIndex intervalIndex;
+    private final ChoreSchedulingService schedulingService;
+    private final ChoreSearchIndex searchIndex;
+    private final ChoreService choreService;
+    private final ChoreStatsService statsService;
+    private final ArchivedChoreRepository archivedChoreRepository;
+    private final ChoreArchiver archiver;
+
+    public ToolConfig(UserRepository userRepository, UserDirectory userDirectory, ChoreRepository choreRepository,
+                      ApplicationEventPublisher eventPublisher, ChoreIntervalIndex intervalIndex,
+                      ChoreSchedulingService schedulingService, ChoreSearchIndex searchIndex,
+                      ChoreService choreService, ChoreStatsService statsService,
+                      ArchivedChoreRepository archivedChoreRepository, ChoreArchiver archiver) {
         this.userRepository = userRepository;
+        this.userDirectory = userDirectory;
         this.choreRepository = choreRepository;
+        this.eventPublisher = eventPublisher;
+        this.intervalIndex = intervalIndex;
+        this.schedulingService = schedulingService;
+        this.searchIndex = searchIndex;
+        this.choreService = choreService;
+        this.archivedChoreRepository = archivedChoreRepository;
+        this.archiver = archiver;
+        this.statsService = statsService;
     }
 
     // ===== User DTOs =====
@@ -46,13 +102,13 @@ public class ToolConfig {
 
     // ===== Chore DTOs =====
 
-    public record CreateChoreRequest(String description, String time, String date, Long userId) {}
+    public record CreateChoreRequest(String description, String time, String date, Long userId, Integer durationMinutes) {}
     public record CreateChoreResponse(Long choreId, String description, String time, String date, Long userId, String userName, boolean created) {}
 
     public record GetChoreRequest(Long choreId) {}
     public record ChoreInfo(Long choreId, String description, String time, String date, Long userId, String userName) {}
 
-    public record UpdateChoreRequest(Long choreId, String description, String time, String date, Long userId) {}
+    public record UpdateChoreRequest(Long choreId, String description, String time, String date, Long userId, Integer durationMinutes) {}
     public record UpdateChoreResponse(Long choreId, String description, String time, String date, Long userId, boolean updated) {}
 
     public record DeleteChoreRequest(Long choreId, boolean confirm) {}
@@ -61,6 +117,28 @@ public class ToolConfig {
     public record ChoresByDateRequest(String date) {}
     public record ChoresByUserRequest(Long userId, String date) {}
     public record ChoreListResponse(int count, List<ChoreInfo> chores) {}
+    public record SearchChoresRequest(String query, Long userId, String fromDate, String toDate, Integer limit) {}
+
+    public record CreateChoresRequest(List<CreateChoreRequest> chores) {}
+    public record UpdateChoresRequest(List<UpdateChoreRequest> chores) {}
+    public record DeleteChoresRequest(List<Long> choreIds, boolean confirm) {}
+    public record DeleteChoresResponse(List<Long> choreIds, int deleted, String message) {}
+    public record ChoresInRangeRequest(String from, String to, List<Long> userIds) {}
+
+    public record CompleteChoreRequest(Long choreId) {}
+    public record CompleteChoreResponse(Long choreId, String description, String date, String completedAt, boolean completed) {}
+
+    // ===== Stats DTOs =====
+
+    public record ChoreStatsRequest(String period, String date, Long userId) {}
+    public record UserStatsInfo(Long userId, String userName, int assigned, int completed, int overdue, int currentStreak, int bestStreak) {}
+    public record ChoreStatsResponse(String period, String from, String to, List<UserStatsInfo> users) {}
+
+    public record UnassignedChore(String description, String date, String time, Integer durationMinutes) {}
+    public record ScheduleChoresRequest(List<UnassignedChore> chores, List<Long> userIds) {}
+
+    public record MoreToolsRequest(String reason) {}
+    public record MoreToolsResponse(boolean granted, String message) {}
 
     // ===== Helper Methods =====
 
@@ -86,12 +164,12 @@ public class ToolConfig {
         }
     }
 
-    private UserInfo toUserInfo(User user) {
+    private UserInfo toUserInfo(UserDirectory.Entry user, Map<Long, Long> choreCounts) {
         return new UserInfo(
-            user.getId(),
-            user.getName(),
-            user.getColor(),
-            user.getChores() != null ? user.getChores().size() : 0
+            user.id(),
+            user.name(),
+            user.color(),
+            choreCounts.getOrDefault(user.id(), 0L).intValue()
         );
     }
 
@@ -102,10 +180,68 @@ public class ToolConfig {
             chore.getTime() != null ? chore.getTime().toString() : null,
             chore.getDate().toString(),
             chore.getUser().getId(),
-            chore.getUser().getName()
+            userDirectory.findById(chore.getUser().getId()).map(UserDirectory.Entry::name).orElse(null)
         );
     }
 
+    private ChoreInfo toChoreInfo(ChoreListRow row, Map<Long, String> userNames) {
+        return new ChoreInfo(
+            row.id(),
+            row.description(),
+            row.time() != null ? row.time().toString() : null,
+            row.date().toString(),
+            row.userId(),
+            userNames.get(row.userId())
+        );
+    }
+
+    /**
+     * Appends archived chores to hot ones
+     * @param archived Rows from {@link ChoreArchiver#archivedOn}
+     */
+    private List<ChoreInfo> withArchived(List<ChoreInfo> chores, List<ChoreListRow> archived) {
+        if (archived.isEmpty()) {
+            return chores;
+        }
+        Map<Long, String> userNames = userDirectory.namesOf(
+                archived.stream().map(ChoreListRow::userId).collect(Collectors.toSet()));
+        List<ChoreInfo> all = new ArrayList<>(chores);
+        archived.forEach(row -> all.add(toChoreInfo(row, userNames)));
+        return all;
+    }
+
+    private static <T> List<T> requireBulk(List<T> items, String field) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException(field + " must have at least one entry");
+        }
+        if (items.size() > MAX_BULK_CHORES) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_CHORES + " " + field + " per call");
+        }
+        if (items.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException(field + " must not contain empty entries");
+        }
+        return items;
+    }
+
+    /**
+     * Loads the chores of a bulk call with one query
+     * @throws IllegalArgumentException if a choreId is repeated
+     * @throws RuntimeException if a chore does not exist
+     */
+    private Map<Long, Chore> loadChores(List<Long> ids) {
+        if (new HashSet<>(ids).size() != ids.size()) {
+            throw new IllegalArgumentException("Each choreId may only appear once");
+        }
+        Map<Long, Chore> chores = choreRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Chore::getId, chore -> chore));
+        for (Long id : ids) {
+            if (!chores.containsKey(id)) {
+                throw new RuntimeException("Chore not found with id: " + id);
+            }
+        }
+        return chores;
+    }
+
     // ===== User Tools =====
 
     @Description("""
@@ -115,26 +251,24 @@ public class ToolConfig {
         Returns the created user's information.
         """)
     public CreateUserResponse createUser(CreateUserRequest req) {
-        log.info("createUser called with name='{}', color='{}'", req.name(), req.color());
+        log.debug("createUser called with name='{}', color='{}'", UserContent.of(req.name()), req.color());
 
         if (req.name() == null || req.name().isBlank()) {
             log.error("createUser failed: User name is required");
             throw new IllegalArgumentException("User name is required");
         }
 
-        // Check if user with same name already exists (case-insensitive)
-        if (userRepository.existsByNameIgnoreCase(req.name().trim())) {
-            log.error("createUser failed: User with name '{}' already exists", req.name());
-            throw new IllegalArgumentException("User with name '" + req.name().trim() + "' already exists");
-        }
+        // Fast path; the unique name key catches concurrent creates in save()
+        userDirectory.checkNameAvailable(req.name(), null);
 
         User user = new User();
         user.setName(req.name().trim());
         user.setColor(req.color() != null ? req.color().trim() : "#3B82F6");
 
-        User savedUser = userRepository.save(user);
+        User savedUser = userDirectory.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.upserted(savedUser));
         log.info("User created successfully with id={}, name='{}', color='{}'",
-                savedUser.getId(), savedUser.getName(), savedUser.getColor());
+                savedUser.getId(), UserContent.of(savedUser.getName()), savedUser.getColor());
 
         return new CreateUserResponse(
             savedUser.getId(),
@@ -153,15 +287,15 @@ public class ToolConfig {
             throw new IllegalArgumentException("userId is required");
         }
 
-        UserInfo userInfo = userRepository.findById(req.userId())
-            .map(this::toUserInfo)
+        UserInfo userInfo = userDirectory.findById(req.userId())
+            .map(user -> toUserInfo(user, Map.of(user.id(), choreRepository.countByUserId(user.id()))))
             .orElseThrow(() -> {
                 log.error("User not found with id={}", req.userId());
                 return new RuntimeException("User not found with id: " + req.userId());
             });
 
         log.info("User retrieved: id={}, name='{}', choreCount={}",
-                userInfo.userId(), userInfo.name(), userInfo.choreCount());
+                userInfo.userId(), UserContent.of(userInfo.name()), userInfo.choreCount());
         return userInfo;
     }
 
@@ -169,8 +303,10 @@ public class ToolConfig {
     public UserListResponse listUsers() {
         log.info("listUsers called");
 
-        List<UserInfo> users = userRepository.findAll().stream()
-            .map(this::toUserInfo)
+        Map<Long, Long> choreCounts = choreRepository.countChoresByUser().stream()
+            .collect(Collectors.toMap(UserChoreCount::userId, UserChoreCount::count));
+        List<UserInfo> users = userDirectory.findAll().stream()
+            .map(user -> toUserInfo(user, choreCounts))
             .toList();
 
         log.info("Retrieved {} users", users.size());
@@ -184,8 +320,8 @@ public class ToolConfig {
         At least one of name or color must be provided.
         """)
     public UpdateUserResponse updateUser(UpdateUserRequest req) {
-        log.info("updateUser called with userId={}, name='{}', color='{}'",
-                req.userId(), req.name(), req.color());
+        log.debug("updateUser called with userId={}, name='{}', color='{}'",
+                req.userId(), UserContent.of(req.name()), req.color());
 
         if (req.userId() == null) {
             log.error("updateUser failed: userId is required");
@@ -201,11 +337,7 @@ public class ToolConfig {
         boolean updated = false;
         if (req.name() != null && !req.name().isBlank()) {
             String newName = req.name().trim();
-            // Check if the new name is already taken by another user (case-insensitive)
-            if (!user.getName().equalsIgnoreCase(newName) && userRepository.existsByNameIgnoreCase(newName)) {
-                log.error("updateUser failed: User with name '{}' already exists", newName);
-                throw new IllegalArgumentException("User with name '" + newName + "' already exists");
-            }
+            userDirectory.checkNameAvailable(newName, user.getId());
             user.setName(newName);
             updated = true;
         }
@@ -219,9 +351,10 @@ public class ToolConfig {
             throw new IllegalArgumentException("At least one of name or color must be provided");
         }
 
-        User savedUser = userRepository.save(user);
+        User savedUser = userDirectory.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.upserted(savedUser));
         log.info("User updated successfully: id={}, name='{}', color='{}'",
-                savedUser.getId(), savedUser.getName(), savedUser.getColor());
+                savedUser.getId(), UserContent.of(savedUser.getName()), savedUser.getColor());
 
         return new UpdateUserResponse(
             savedUser.getId(),
@@ -236,6 +369,7 @@ public class ToolConfig {
         Required: userId, confirm (must be true to proceed)
         WARNING: This operation cannot be undone.
         """)
+    @Transactional
     public DeleteUserResponse deleteUser(DeleteUserRequest req) {
         log.info("deleteUser called with userId={}, confirm={}", req.userId(), req.confirm());
 
@@ -253,14 +387,16 @@ public class ToolConfig {
             );
         }
 
-        User user = userRepository.findById(req.userId())
-            .orElseThrow(() -> {
-                log.error("User not found with id={}", req.userId());
-                return new RuntimeException("User not found with id: " + req.userId());
-            });
-
-        int choreCount = user.getChores() != null ? user.getChores().size() : 0;
-        userRepository.deleteById(req.userId());
+        // Chores go in one bulk statement instead of loading them for orphan removal
+        String householdId = HouseholdContext.current();
+        int choreCount = choreRepository.deleteByUser(req.userId(), householdId);
+        archivedChoreRepository.deleteByUser(req.userId(), householdId);
+        if (userRepository.deleteUser(req.userId(), householdId) == 0) {
+            log.error("User not found with id={}", req.userId());
+            throw new RuntimeException("User not found with id: " + req.userId());
+        }
+        statsService.userDeleted(req.userId());
+        eventPublisher.publishEvent(UserChangedEvent.deleted(householdId, req.userId()));
 
         log.info("User deleted successfully: userId={}, choreCount={}", req.userId(), choreCount);
 
@@ -276,12 +412,13 @@ public class ToolConfig {
     @Description("""
         Create a new chore for a user.
         Required: description (what needs to be done), userId (who will do it)
-        Optional: date (YYYY-MM-DD format, defaults to today), time (HH:MM format)
+        Optional: date (YYYY-MM-DD format, defaults to today), time (HH:MM format), durationMinutes (default 30)
+        Fails if the chore would overlap another timed chore of the same user.
         Example: description='Take out trash', userId=1, date='2025-10-30', time='18:00'
         """)
     public CreateChoreResponse createChore(CreateChoreRequest req) {
-        log.info("createChore called with description='{}', userId={}, date='{}', time='{}'",
-                req.description(), req.userId(), req.date(), req.time());
+        log.debug("createChore called with description='{}', userId={}, date='{}', time='{}'",
+                UserContent.of(req.description()), req.userId(), req.date(), req.time());
 
         if (req.description() == null || req.description().isBlank()) {
             log.error("createChore failed: Chore description is required");
@@ -292,7 +429,7 @@ public class ToolConfig {
             throw new IllegalArgumentException("userId is required");
         }
 
-        User user = userRepository.findById(req.userId())
+        UserDirectory.Entry user = userDirectory.findById(req.userId())
             .orElseThrow(() -> {
                 log.error("User not found with id={}", req.userId());
                 return new RuntimeException("User not found with id: " + req.userId());
@@ -302,12 +439,16 @@ public class ToolConfig {
         chore.setDescription(req.description().trim());
         chore.setDate(parseDate(req.date()));
         chore.setTime(parseTime(req.time()));
-        chore.setUser(user);
+        chore.setDurationMinutes(req.durationMinutes());
+        chore.setUser(userDirectory.reference(user.id()));
+        intervalIndex.reserve(HouseholdContext.current(), chore);
 
         Chore savedChore = choreRepository.save(chore);
+        statsService.choreAdded(user.id(), savedChore.getDate(), false);
+        eventPublisher.publishEvent(ChoreChangedEvent.upserted(savedChore));
 
         log.info("Chore created successfully: choreId={}, description='{}', date={}, time={}, userId={}",
-                savedChore.getId(), savedChore.getDescription(), savedChore.getDate(),
+                savedChore.getId(), UserContent.of(savedChore.getDescription()), savedChore.getDate(),
                 savedChore.getTime(), savedChore.getUser().getId());
 
         return new CreateChoreResponse(
@@ -315,8 +456,8 @@ public class ToolConfig {
             savedChore.getDescription(),
             savedChore.getTime() != null ? savedChore.getTime().toString() : null,
             savedChore.getDate().toString(),
-            savedChore.getUser().getId(),
-            savedChore.getUser().getName(),
+            user.id(),
+            user.name(),
             true
         );
     }
@@ -338,11 +479,14 @@ public class ToolConfig {
             });
 
         log.info("Chore retrieved: choreId={}, description='{}', userId={}",
-                choreInfo.choreId(), choreInfo.description(), choreInfo.userId());
+                choreInfo.choreId(), UserContent.of(choreInfo.description()), choreInfo.userId());
         return choreInfo;
     }
 
-    @Description("List all chores in the system across all users and dates")
+    @Description("""
+        List all current chores across all users and dates. Chores dated before the archive horizon are left
+        out; use listChoresByDate, listChoresInRange or searchChores for older history.
+        """)
     public ChoreListResponse listAllChores() {
         List<ChoreInfo> chores = choreRepository.findAll().stream()
             .map(this::toChoreInfo)
@@ -359,13 +503,15 @@ public class ToolConfig {
         List<ChoreInfo> chores = choreRepository.findByDate(date).stream()
             .map(this::toChoreInfo)
             .toList();
+        chores = withArchived(chores, archiver.archivedOn(date, null));
         return new ChoreListResponse(chores.size(), chores);
     }
 
     @Description("""
         List chores for a specific user, optionally filtered by date.
         Required: userId
-        Optional: date (YYYY-MM-DD format). If not provided, returns all chores for the user.
+        Optional: date (YYYY-MM-DD format). If not provided, returns the user's current chores; chores dated
+        before the archive horizon are left out then, so pass a date or use listChoresInRange for older history.
         """)
     public ChoreListResponse listChoresForUser(ChoresByUserRequest req) {
         if (req.userId() == null) {
@@ -378,57 +524,140 @@ public class ToolConfig {
             chores = choreRepository.findByUserIdAndDate(req.userId(), date).stream()
                 .map(this::toChoreInfo)
                 .toList();
+            chores = withArchived(chores, archiver.archivedOn(date, req.userId()));
         } else {
-            User user = userRepository.findById(req.userId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + req.userId()));
-            chores = user.getChores().stream()
-                .map(this::toChoreInfo)
+            if (!userDirectory.exists(req.userId())) {
+                throw new RuntimeException("User not found with id: " + req.userId());
+            }
+            Map<Long, String> userNames = userDirectory.namesOf(Set.of(req.userId()));
+            chores = choreRepository.findRowsByUserId(req.userId()).stream()
+                .map(row -> toChoreInfo(row, userNames))
                 .toList();
         }
 
         return new ChoreListResponse(chores.size(), chores);
     }
 
+    @Description("""
+        List the chores of a date range across all users, for questions about a week or several days.
+        Required: from, to (YYYY-MM-DD format, inclusive, at most 62 days apart)
+        Optional: userIds (only chores of these users)
+        Prefer this over calling listChoresByDate for each day or listChoresForUser for each user.
+        """)
+    public ChoreListResponse listChoresInRange(ChoresInRangeRequest req) {
+        log.info("listChoresInRange called with from='{}', to='{}', userIds={}", req.from(), req.to(), req.userIds());
+
+        if (req.from() == null || req.from().isBlank() || req.to() == null || req.to().isBlank()) {
+            throw new IllegalArgumentException("from and to are required");
+        }
+        LocalDate from = parseDate(req.from());
+        LocalDate to = parseDate(req.to());
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("The range may span at most " + MAX_RANGE_DAYS + " days");
+        }
+
+        boolean allUsers = req.userIds() == null || req.userIds().isEmpty();
+        List<ChoreListRow> rows = allUsers
+            ? choreRepository.findRowsBetween(from, to)
+            : choreRepository.findRowsBetweenForUsers(from, to, req.userIds());
+        // Archived days come before the hot ones
+        List<ChoreListRow> archived = archiver.archivedBetween(from, to, req.userIds());
+        if (!archived.isEmpty()) {
+            List<ChoreListRow> all = new ArrayList<>(archived);
+            all.addAll(rows);
+            rows = all;
+        }
+        Map<Long, String> userNames = userDirectory.namesOf(
+                rows.stream().map(ChoreListRow::userId).collect(Collectors.toSet()));
+        List<ChoreInfo> chores = rows.stream()
+            .map(row -> toChoreInfo(row, userNames))
+            .toList();
+        return new ChoreListResponse(chores.size(), chores);
+    }
+
+    @Description("""
+        Search chores by words in their description, e.g. 'vacuum' or 'bins'.
+        Required: query (every word must appear in the description; partial words match too)
+        Optional: userId, fromDate and toDate (YYYY-MM-DD, inclusive), limit (default 20, max 100)
+        Results are ordered by best match, newest first. Prefer this over listAllChores when looking for specific chores.
+        """)
+    public ChoreListResponse searchChores(SearchChoresRequest req) {
+        log.debug("searchChores called with query='{}', userId={}", UserContent.of(req.query()), req.userId());
+
+        if (req.query() == null || req.query().isBlank()) {
+            throw new IllegalArgumentException("query is required");
+        }
+        LocalDate from = req.fromDate() != null && !req.fromDate().isBlank() ? parseDate(req.fromDate()) : null;
+        LocalDate to = req.toDate() != null && !req.toDate().isBlank() ? parseDate(req.toDate()) : null;
+        int limit = req.limit() != null ? Math.max(1, Math.min(req.limit(), 100)) : 20;
+
+        List<ChoreSearchHit> hits = searchIndex.search(HouseholdContext.current(), req.query(), req.userId(),
+                from, to, limit);
+        Map<Long, String> userNames = userDirectory.namesOf(
+                hits.stream().map(ChoreSearchHit::getUserId).collect(Collectors.toSet()));
+        List<ChoreInfo> chores = hits.stream()
+            .map(h -> new ChoreInfo(
+                h.getId(),
+                h.getDescription(),
+                h.getTime() != null ? h.getTime().toString() : null,
+                h.getDate().toString(),
+                h.getUserId(),
+                userNames.get(h.getUserId())))
+            .toList();
+        return new ChoreListResponse(chores.size(), chores);
+    }
+
     @Description("""
         Update an existing chore.
         Required: choreId
-        Optional: description, date (YYYY-MM-DD), time (HH:MM), userId (reassign to different user)
+        Optional: description, date (YYYY-MM-DD), time (HH:MM), durationMinutes, userId (reassign to different user)
         At least one field must be provided to update.
         """)
+    @Transactional
     public UpdateChoreResponse updateChore(UpdateChoreRequest req) {
         if (req.choreId() == null) {
             throw new IllegalArgumentException("choreId is required");
         }
 
-        Chore chore = choreRepository.findById(req.choreId())
-            .orElseThrow(() -> new RuntimeException("Chore not found with id: " + req.choreId()));
-
-        boolean updated = false;
+        String description = req.description() != null && !req.description().isBlank() ? req.description().trim() : null;
+        LocalDate date = req.date() != null && !req.date().isBlank() ? parseDate(req.date()) : null;
+        LocalTime time = req.time() != null && !req.time().isBlank() ? parseTime(req.time()) : null;
 
-        if (req.description() != null && !req.description().isBlank()) {
-            chore.setDescription(req.description().trim());
-            updated = true;
-        }
-        if (req.date() != null && !req.date().isBlank()) {
-            chore.setDate(parseDate(req.date()));
-            updated = true;
+        if (description == null && date == null && time == null && req.durationMinutes() == null && req.userId() == null) {
+            throw new IllegalArgumentException("At least one field (description, date, time, durationMinutes, or userId) must be provided");
         }
-        if (req.time() != null && !req.time().isBlank()) {
-            chore.setTime(parseTime(req.time()));
-            updated = true;
-        }
-        if (req.userId() != null) {
-            User user = userRepository.findById(req.userId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + req.userId()));
-            chore.setUser(user);
-            updated = true;
+        if (req.userId() != null && !userDirectory.exists(req.userId())) {
+            throw new RuntimeException("User not found with id: " + req.userId());
         }
 
-        if (!updated) {
-            throw new IllegalArgumentException("At least one field (description, date, time, or userId) must be provided");
+        // The rollups only need the old user and date when one of them changes
+        Chore before = req.userId() != null || date != null ? choreRepository.findById(req.choreId()).orElse(null) : null;
+        Long oldUserId = before != null ? before.getUser().getId() : null;
+        LocalDate oldDate = before != null ? before.getDate() : null;
+
+        // One UPDATE statement instead of load-mutate-save, versioned by the chore the rollups were read from
+        String householdId = HouseholdContext.current();
+        Long expectedVersion = before != null ? before.getVersion() : null;
+        int updated = choreRepository.patch(req.choreId(), householdId, expectedVersion, description, time, date,
+                req.durationMinutes(), req.userId());
+        if (updated == 0) {
+            if (!choreRepository.existsById(req.choreId())) {
+                throw new RuntimeException("Chore not found with id: " + req.choreId());
+            }
+            throw new RuntimeException("Chore was changed concurrently, not updated: " + req.choreId());
         }
 
-        Chore savedChore = choreRepository.save(chore);
+        Chore savedChore = choreRepository.findById(req.choreId())
+            .orElseThrow(() -> new RuntimeException("Chore not found with id: " + req.choreId()));
+        intervalIndex.reserve(householdId, savedChore);
+        if (before != null) {
+            statsService.choreMoved(oldUserId, oldDate, savedChore.getUser().getId(), savedChore.getDate(),
+                    savedChore.getCompletedAt() != null);
+        }
+        eventPublisher.publishEvent(ChoreChangedEvent.upserted(savedChore));
 
         return new UpdateChoreResponse(
             savedChore.getId(),
@@ -445,6 +674,7 @@ public class ToolConfig {
         Required: choreId, confirm (must be true to proceed)
         This operation cannot be undone.
         """)
+    @Transactional
     public DeleteChoreResponse deleteChore(DeleteChoreRequest req) {
         if (req.choreId() == null) {
             throw new IllegalArgumentException("choreId is required");
@@ -458,11 +688,14 @@ public class ToolConfig {
             );
         }
 
-        if (!choreRepository.existsById(req.choreId())) {
-            throw new RuntimeException("Chore not found with id: " + req.choreId());
+        Chore chore = choreRepository.findById(req.choreId())
+            .orElseThrow(() -> new RuntimeException("Chore not found with id: " + req.choreId()));
+        Long userId = chore.getUser().getId();
+        if (choreRepository.deleteChore(req.choreId(), HouseholdContext.current(), chore.getVersion()) == 0) {
+            throw new RuntimeException("Chore was changed concurrently, not deleted: " + req.choreId());
         }
-
-        choreRepository.deleteById(req.choreId());
+        statsService.choreRemoved(userId, chore.getDate(), chore.getCompletedAt() != null);
+        eventPublisher.publishEvent(ChoreChangedEvent.deleted(HouseholdContext.current(), req.choreId()));
 
         return new DeleteChoreResponse(
             req.choreId(),
@@ -470,4 +703,293 @@ public class ToolConfig {
             "Chore deleted successfully"
         );
     }
+
+    @Description("""
+        Create several chores in one call, e.g. the same chore on several days or for several users.
+        Required: chores (list of description, userId, and optionally date YYYY-MM-DD defaulting to today,
+        time HH:MM, durationMinutes)
+        All chores are created or none. Fails if a chore would overlap another timed chore of its user.
+        Prefer this over calling createChore repeatedly.
+        """)
+    @Transactional
+    public ChoreListResponse createChores(CreateChoresRequest req) {
+        List<CreateChoreRequest> requested = requireBulk(req.chores(), "chores");
+        log.info("createChores called with {} chores", requested.size());
+
+        String householdId = HouseholdContext.current();
+        PendingSlots pending = new PendingSlots();
+        List<Chore> chores = new ArrayList<>(requested.size());
+        for (CreateChoreRequest c : requested) {
+            if (c.description() == null || c.description().isBlank()) {
+                throw new IllegalArgumentException("Chore description is required");
+            }
+            if (c.userId() == null) {
+                throw new IllegalArgumentException("userId is required");
+            }
+            Chore chore = new Chore();
+            chore.setHouseholdId(householdId);
+            chore.setDescription(c.description().trim());
+            chore.setDate(parseDate(c.date()));
+            chore.setTime(parseTime(c.time()));
+            chore.setDurationMinutes(c.durationMinutes());
+            chore.setVersion(0L);
+            chore.setUser(userDirectory.reference(c.userId()));
+            pending.claim(c.userId(), chore.getDate(), chore.getTime(), chore.getDurationMinutes());
+            intervalIndex.reserve(householdId, chore);
+            chores.add(chore);
+        }
+
+        // One batched INSERT, one rollup UPDATE per user and period
+        choreRepository.insertAll(chores);
+        chores.stream()
+            .collect(Collectors.groupingBy(c -> c.getUser().getId(),
+                Collectors.mapping(Chore::getDate, Collectors.toList())))
+            .forEach(statsService::choresAdded);
+        chores.forEach(chore -> eventPublisher.publishEvent(ChoreChangedEvent.upserted(chore)));
+
+        log.info("Created {} chores", chores.size());
+        List<ChoreInfo> created = chores.stream().map(this::toChoreInfo).toList();
+        return new ChoreListResponse(created.size(), created);
+    }
+
+    @Description("""
+        Update several chores in one call, e.g. move or reassign a set of chores.
+        Required: chores (list of choreId plus the fields to change: description, date YYYY-MM-DD, time HH:MM,
+        durationMinutes, userId)
+        All updates are applied or none, also if one of the chores was changed meanwhile. Chores in the call may
+        swap time slots. Prefer this over calling updateChore repeatedly.
+        """)
+    @Transactional
+    public ChoreListResponse updateChores(UpdateChoresRequest req) {
+        List<UpdateChoreRequest> requested = requireBulk(req.chores(), "chores");
+        log.info("updateChores called with {} chores", requested.size());
+
+        if (requested.stream().anyMatch(c -> c.choreId() == null)) {
+            throw new IllegalArgumentException("choreId is required");
+        }
+        List<Long> ids = requested.stream().map(UpdateChoreRequest::choreId).toList();
+        Map<Long, Chore> before = loadChores(ids);
+
+        List<ChorePatch> patches = new ArrayList<>(requested.size());
+        for (UpdateChoreRequest c : requested) {
+            String description = c.description() != null && !c.description().isBlank() ? c.description().trim() : null;
+            LocalDate date = c.date() != null && !c.date().isBlank() ? parseDate(c.date()) : null;
+            LocalTime time = c.time() != null && !c.time().isBlank() ? parseTime(c.time()) : null;
+            if (description == null && date == null && time == null && c.durationMinutes() == null && c.userId() == null) {
+                throw new IllegalArgumentException("At least one field (description, date, time, durationMinutes, or userId)"
+                    + " must be provided for chore " + c.choreId());
+            }
+            if (c.userId() != null && !userDirectory.exists(c.userId())) {
+                throw new RuntimeException("User not found with id: " + c.userId());
+            }
+            patches.add(new ChorePatch(c.choreId(), before.get(c.choreId()).getVersion(), description, time, date,
+                c.durationMinutes(), c.userId()));
+        }
+
+        // Every chore of the call is claimed below, so their committed slots are free to swap
+        String householdId = HouseholdContext.current();
+        Set<Long> batch = Set.copyOf(ids);
+        PendingSlots pending = new PendingSlots();
+        for (ChorePatch patch : patches) {
+            Chore chore = before.get(patch.id());
+            Long userId = patch.userId() != null ? patch.userId() : chore.getUser().getId();
+            LocalDate date = patch.date() != null ? patch.date() : chore.getDate();
+            LocalTime time = patch.time() != null ? patch.time() : chore.getTime();
+            Integer duration = patch.durationMinutes() != null ? patch.durationMinutes() : chore.getDurationMinutes();
+            pending.claim(userId, date, time, duration);
+            intervalIndex.reserve(householdId, userId, patch.id(), batch, date, time, duration);
+        }
+
+        // One batched UPDATE, versioned by the loaded chores, which keep their old user and date for the rollups
+        int[] updated = choreRepository.patchAll(patches, householdId);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new RuntimeException("Chore was changed concurrently, none updated: " + patches.get(i).id());
+            }
+        }
+        Map<Long, Chore> after = choreRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Chore::getId, chore -> chore));
+        List<ChoreInfo> chores = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Chore old = before.get(id);
+            Chore saved = after.get(id);
+            statsService.choreMoved(old.getUser().getId(), old.getDate(), saved.getUser().getId(), saved.getDate(),
+                    saved.getCompletedAt() != null);
+            eventPublisher.publishEvent(ChoreChangedEvent.upserted(saved));
+            chores.add(toChoreInfo(saved));
+        }
+
+        log.info("Updated {} chores", chores.size());
+        return new ChoreListResponse(chores.size(), chores);
+    }
+
+    @Description("""
+        Delete several chores in one call.
+        Required: choreIds, confirm (must be true to proceed)
+        All chores are deleted or none. This operation cannot be undone.
+        """)
+    @Transactional
+    public DeleteChoresResponse deleteChores(DeleteChoresRequest req) {
+        List<Long> ids = requireBulk(req.choreIds(), "choreIds");
+        log.info("deleteChores called with {} chores, confirm={}", ids.size(), req.confirm());
+
+        if (!req.confirm()) {
+            return new DeleteChoresResponse(
+                ids,
+                0,
+                "Confirmation required. Re-issue with confirm:true to delete these chores"
+            );
+        }
+
+        // Lock the rows, so the counters below are adjusted for the chores as they are deleted
+        choreRepository.findAllForUpdate(ids);
+        Map<Long, Chore> chores = loadChores(ids);
+        String householdId = HouseholdContext.current();
+        if (choreRepository.deleteChores(ids, householdId) != ids.size()) {
+            throw new RuntimeException("Chores were deleted concurrently, none deleted: " + ids);
+        }
+        for (Chore chore : chores.values()) {
+            statsService.choreRemoved(chore.getUser().getId(), chore.getDate(), chore.getCompletedAt() != null);
+            eventPublisher.publishEvent(ChoreChangedEvent.deleted(householdId, chore.getId()));
+        }
+
+        log.info("Deleted {} chores", ids.size());
+        return new DeleteChoresResponse(
+            ids,
+            ids.size(),
+            "Chores deleted successfully"
+        );
+    }
+
+    @Description("""
+        Assign a set of unassigned chores fairly across users.
+        Each chore goes to the least-busy user on its date who has no overlapping chore.
+        Required: chores (list of description, optional date YYYY-MM-DD, time HH:MM, durationMinutes)
+        Optional: userIds (only spread across these users; defaults to all users)
+        Prefer this over choosing users yourself and calling createChore repeatedly.
+        """)
+    public ChoreListResponse scheduleChores(ScheduleChoresRequest req) {
+        log.info("scheduleChores called with {} chores, userIds={}",
+                req.chores() != null ? req.chores().size() : 0, req.userIds());
+
+        if (req.chores() == null || req.chores().isEmpty()) {
+            throw new IllegalArgumentException("At least one chore is required");
+        }
+
+        List<ChoreDto> requested = req.chores().stream()
+            .map(c -> new ChoreDto(null, c.description(), parseTime(c.time()), parseDate(c.date()), null,
+                c.durationMinutes(), null, null))
+            .toList();
+        List<ChoreDto> scheduled = schedulingService.schedule(requested, req.userIds());
+
+        Map<Long, String> userNames = userDirectory.namesOf(
+                scheduled.stream().map(ChoreDto::getUserId).collect(Collectors.toSet()));
+        List<ChoreInfo> chores = scheduled.stream()
+            .map(c -> new ChoreInfo(
+                c.getId(),
+                c.getDescription(),
+                c.getTime() != null ? c.getTime().toString() : null,
+                c.getDate().toString(),
+                c.getUserId(),
+                userNames.get(c.getUserId())))
+            .toList();
+
+        log.info("Scheduled {} chores", chores.size());
+        return new ChoreListResponse(chores.size(), chores);
+    }
+
+    @Description("""
+        Mark a chore as done.
+        Required: choreId
+        Completing an already completed chore has no effect.
+        """)
+    public CompleteChoreResponse completeChore(CompleteChoreRequest req) {
+        log.info("completeChore called with choreId={}", req.choreId());
+
+        if (req.choreId() == null) {
+            throw new IllegalArgumentException("choreId is required");
+        }
+        ChoreDto chore = choreService.completeChore(req.choreId());
+        return new CompleteChoreResponse(
+            chore.getId(),
+            chore.getDescription(),
+            chore.getDate().toString(),
+            chore.getCompletedAt().toString(),
+            true
+        );
+    }
+
+    // ===== Stats Tools =====
+
+    @Description("""
+        Get chore statistics per user for a week or a month: chores assigned, completed and overdue
+        (not completed and dated before today), plus each user's completion streak in days.
+        Optional: period ('week' or 'month', default 'month'), date (any day in the period, YYYY-MM-DD, defaults to today),
+        userId (only this user)
+        Users are ordered by completed chores, most first. Use this for questions like "who did the most chores this month?".
+        """)
+    public ChoreStatsResponse getChoreStats(ChoreStatsRequest req) {
+        log.info("getChoreStats called with period='{}', date='{}', userId={}", req.period(), req.date(), req.userId());
+
+        StatsPeriod period;
+        try {
+            period = req.period() != null && !req.period().isBlank()
+                ? StatsPeriod.valueOf(req.period().trim().toUpperCase())
+                : StatsPeriod.MONTH;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid period. Use 'week' or 'month'");
+        }
+
+        LocalDate date = parseDate(req.date());
+        List<UserStatsDto> stats = statsService.getStats(period, date, req.userId());
+        LocalDate start = period.start(date);
+        List<UserStatsInfo> users = stats.stream()
+            .map(s -> new UserStatsInfo(s.getUserId(), s.getUserName(), s.getAssigned(), s.getCompleted(),
+                s.getOverdue(), s.getCurrentStreak(), s.getBestStreak()))
+            .toList();
+        return new ChoreStatsResponse(period.name().toLowerCase(), start.toString(), period.end(start).toString(), users);
+    }
+
+    // ===== Tool Selection =====
+
+    @Description("""
+        Ask for the full set of tools.
+        Call this only when none of the available tools can do what the user asked.
+        Optional: reason (what you need to do)
+        After calling it, reply with just the word RETRY.
+        """)
+    public MoreToolsResponse requestAllTools(MoreToolsRequest req) {
+        log.info("requestAllTools called, reason='{}'", UserContent.of(req != null ? req.reason() : null));
+
+        AssistantCallContext context = AssistantCallContext.current();
+        if (context == null) {
+            return new MoreToolsResponse(false, "All tools are already available");
+        }
+        context.requestAllTools();
+        return new MoreToolsResponse(true, "The request will be retried with all tools. Reply with just: RETRY");
+    }
+
+    /**
+     * Time slots claimed by the chores of one bulk call, start to end minute per
+     * user, so the chores of a call cannot overlap each other either.
+     */
+    private static final class PendingSlots {
+
+        private final Map<Long, NavigableMap<Long, Long>> byUser = new HashMap<>();
+
+        void claim(Long userId, LocalDate date, LocalTime time, Integer durationMinutes) {
+            if (time == null) {
+                return;
+            }
+            long start = ChoreIntervalIndex.startMinute(date, time);
+            long end = start + ChoreIntervalIndex.duration(durationMinutes);
+            NavigableMap<Long, Long> slots = byUser.computeIfAbsent(userId, id -> new TreeMap<>());
+            Map.Entry<Long, Long> before = slots.lowerEntry(end);
+            if (before != null && before.getValue() > start) {
+                throw new IllegalArgumentException("Chores of user " + userId + " in this call overlap at "
+                    + date + " " + time);
+            }
+            slots.put(start, end);
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package com.demo.cc.config;
+
+import com.demo.cc.service.ToolCallExecutor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps every chat model in {@link ParallelToolCallingChatModel}, so the
+ * ChatClient and its advisors see a single call while the tool calls inside it
+ * run through {@link ToolCallExecutor}.
+ */
+@Configuration
+public class ToolExecutionConfig {
+
+    @Bean
+    static BeanPostProcessor parallelToolCalling(ObjectProvider<ToolCallExecutor> executorProvider,
+                                                 ObjectProvider<ToolExecutionProperties> propertiesProvider,
+                                                 ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ChatModel model && !(bean instanceof ParallelToolCallingChatModel)) {
+                    return new ParallelToolCallingChatModel(model, executorProvider, propertiesProvider,
+                            observationRegistryProvider);
+                }
+                return bean;
+            }
+        };
+    }
+}
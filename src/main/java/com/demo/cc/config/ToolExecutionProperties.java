@@ -0,0 +1,23 @@
+package com.demo.cc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Execution of the tool calls the model requests (chore.assistant.tools.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.assistant.tools")
+@Data
+public class ToolExecutionProperties {
+
+    /** Run independent tool calls of one model response concurrently */
+    private boolean parallel = true;
+
+    /** Worker threads shared by all chat requests */
+    private int threads = 4;
+
+    /** Model round trips per chat turn before giving up on further tool calls */
+    private int maxRounds = 10;
+}
@@ -0,0 +1,34 @@
+package com.demo.cc.config;
+
+/**
+ * Wraps user-entered text (names, chore descriptions, chat messages) passed as
+ * a log argument. Rendered as-is, or as its length when redaction is on.
+ *
+ * SLF4J only calls toString() for log lines that are actually written.
+ */
+public final class UserContent {
+
+    private static volatile boolean redacted;
+
+    private final String value;
+
+    private UserContent(String value) {
+        this.value = value;
+    }
+
+    public static UserContent of(String value) {
+        return new UserContent(value);
+    }
+
+    static void setRedacted(boolean redact) {
+        redacted = redact;
+    }
+
+    @Override
+    public String toString() {
+        if (value == null) {
+            return "null";
+        }
+        return redacted ? "[redacted " + value.length() + " chars]" : value;
+    }
+}
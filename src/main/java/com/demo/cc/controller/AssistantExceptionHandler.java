@@ -0,0 +1,22 @@
+package com.demo.cc.controller;
+
+import com.demo.cc.dto.ChatResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps invalid tool input that the assistant passes on to 400 Bad Request,
+ * with the reason as the reply.
+ */
+@RestControllerAdvice(assignableTypes = ChoreAssistantController.class)
+@Slf4j
+public class AssistantExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ChatResponse> invalidInput(IllegalArgumentException e) {
+        log.warn("POST /api/v1/assistant/chat - {}", e.getMessage());
+        return ResponseEntity.badRequest().body(new ChatResponse(e.getMessage()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.demo.cc.controller;
+
+import com.demo.cc.dto.CalendarEntryDto;
+import com.demo.cc.service.CalendarFeedService;
+import com.demo.cc.service.CalendarService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for the calendar dashboard.
+ * Returns chores with their user's name and color already joined in.
+ */
+@RestController
+@RequestMapping("/api/v1/calendar")
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarController {
+
+    public static final String TEXT_CALENDAR = "text/calendar; charset=UTF-8";
+
+    private final CalendarService calendarService;
+    private final CalendarFeedService feedService;
+
+    /**
+     * Get the calendar entries for a day, optionally for a single user
+     * @param date Date
+     * @param userId Optional user filter
+     * @return Calendar entries for the day
+     */
+    @GetMapping
+    public ResponseEntity<List<CalendarEntryDto>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long userId) {
+        log.info("GET /api/v1/calendar - Fetching calendar for date: {}, user: {}", date, userId);
+        return ResponseEntity.ok(calendarService.getCalendar(date, userId));
+    }
+
+    /**
+     * Get every chore of the household as an iCalendar feed, each event
+     * prefixed with the user's name. Answers 304 when the client's copy is current.
+     */
+    @GetMapping("/feed.ics")
+    public void getCalendarFeed(ServletWebRequest request, HttpServletResponse response) throws IOException {
+        CalendarFeedService.FeedVersion version = feedService.version("household");
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            log.debug("GET /api/v1/calendar/feed.ics - Not modified");
+            return;
+        }
+        log.info("GET /api/v1/calendar/feed.ics - Streaming household calendar feed");
+        response.setContentType(TEXT_CALENDAR);
+        response.setHeader("Cache-Control", "private, no-cache");
+        feedService.writeHouseholdFeed(response.getWriter());
+    }
+}
@@ -2,9 +2,16 @@ package com.demo.cc.controller;
 
 import com.demo.cc.dto.ChatRequest;
 import com.demo.cc.dto.ChatResponse;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.service.AssistantRateLimiter;
 import com.demo.cc.service.ChoreAssistantService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,14 +26,17 @@ import org.springframework.web.bind.annotation.*;
 public class ChoreAssistantController {
 
     private final ChoreAssistantService assistantService;
+    private final AssistantRateLimiter rateLimiter;
+    private final ObservationRegistry observationRegistry;
 
     /**
      * Chat with the AI assistant
      * @param request Chat request containing user message
-     * @return AI-generated response
+     * @param httpRequest Servlet request, for the client IP
+     * @return AI-generated response, or 429 when the session or IP is over its budget
      */
     @PostMapping("/chat")
-    public ResponseEntity<ChatResponse> chat(@RequestBody ChatRequest request) {
+    public ResponseEntity<ChatResponse> chat(@RequestBody ChatRequest request, HttpServletRequest httpRequest) {
         log.info("POST /api/v1/assistant/chat - Processing chat request");
 
         if (request.getMessage() == null || request.getMessage().trim().isEmpty()) {
@@ -34,7 +44,22 @@ public class ChoreAssistantController {
                     .body(new ChatResponse("Please provide a message."));
         }
 
-        String response = assistantService.step(request.getSessionId(), request.getMessage());
+        String sessionKey = request.getSessionId() != null
+                ? HouseholdContext.current() + ":" + request.getSessionId()
+                : null;
+        AssistantRateLimiter.Decision decision =
+                rateLimiter.tryAcquire(sessionKey, httpRequest.getRemoteAddr(), request.getMessage());
+        if (!decision.allowed()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()))
+                    .body(new ChatResponse("You're sending messages too quickly. Please try again in "
+                            + decision.retryAfterSeconds() + " seconds."));
+        }
+
+        String response = Observation.createNotStarted("chore.assistant.chat", observationRegistry)
+                .contextualName("assistant chat")
+                .highCardinalityKeyValue("session", String.valueOf(request.getSessionId()))
+                .observe(() -> assistantService.step(request.getSessionId(), request.getMessage()));
         return ResponseEntity.ok(new ChatResponse(response));
     }
 
@@ -1,14 +1,24 @@
 package com.demo.cc.controller;
 
+import com.demo.cc.codec.CompactFormat;
+import com.demo.cc.codec.CompactWriter;
 import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.dto.ChoreSearchHit;
+import com.demo.cc.dto.ScheduleRequest;
+import com.demo.cc.repository.ChoreSelection;
+import com.demo.cc.service.ChoreSchedulingService;
 import com.demo.cc.service.ChoreService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -23,35 +33,134 @@ import java.util.List;
 public class ChoreController {
 
     private final ChoreService choreService;
+    private final ChoreSchedulingService schedulingService;
 
     /**
      * Get all chores, optionally filtered by date
      * @param date Optional date filter
-     * @return List of chores
+     * @param fields Optional comma-separated fields to return; the id is always included
+     * @param include Optional relations to embed; {@code user} adds each chore's user
+     * @return List of chores, or 400 for an unknown field or relation
      */
     @GetMapping
-    public ResponseEntity<List<ChoreDto>> getChores(
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    public ResponseEntity<List<?>> getChores(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include) {
         log.info("GET /api/v1/chores - Fetching chores with date filter: {}", date);
-        List<ChoreDto> chores = date != null
-                ? choreService.getChoresByDate(date)
-                : choreService.getAllChores();
-        return ResponseEntity.ok(chores);
+        ChoreSelection selection;
+        try {
+            selection = ChoreSelection.parse(fields, include);
+        } catch (IllegalArgumentException e) {
+            log.warn("GET /api/v1/chores - {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        List<?> chores = !selection.isDefault()
+                ? choreService.getSelectedChores(selection, date, null)
+                : date != null ? choreService.getChoresByDate(date) : choreService.getAllChores();
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(chores);
+    }
+
+    /**
+     * Get all chores, optionally filtered by date, as CBOR, Smile or columnar JSON
+     * @param date Optional date filter
+     * @param fields Optional comma-separated fields to write
+     * @param include Optional relations to embed
+     * @param accept Accept header choosing the format
+     */
+    @GetMapping(produces = {CompactWriter.CBOR_VALUE, CompactWriter.SMILE_VALUE, CompactWriter.COLUMNAR_JSON_VALUE})
+    public void getChoresCompact(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            HttpServletResponse response) throws IOException {
+        CompactFormat format = CompactFormat.negotiate(accept);
+        log.info("GET /api/v1/chores - Streaming chores with date filter: {} as {}", date, format);
+        ChoreSelection selection = select(fields, include, response);
+        if (selection != null) {
+            prepare(response, format);
+            choreService.writeChores(date, null, selection, format, response.getOutputStream());
+        }
     }
 
     /**
      * Get chores by user ID and date
      * @param userId User ID
      * @param date Date
+     * @param fields Optional comma-separated fields to return; the id is always included
+     * @param include Optional relations to embed; {@code user} adds each chore's user
      * @return List of chores for the user on the specified date
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ChoreDto>> getChoresByUserAndDate(
+    public ResponseEntity<List<?>> getChoresByUserAndDate(
             @PathVariable Long userId,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include) {
         log.info("GET /api/v1/chores/user/{} - Fetching chores for date: {}", userId, date);
-        List<ChoreDto> chores = choreService.getChoresByUserAndDate(userId, date);
-        return ResponseEntity.ok(chores);
+        ChoreSelection selection;
+        try {
+            selection = ChoreSelection.parse(fields, include);
+        } catch (IllegalArgumentException e) {
+            log.warn("GET /api/v1/chores/user/{} - {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        List<?> chores = !selection.isDefault()
+                ? choreService.getSelectedChores(selection, date, userId)
+                : choreService.getChoresByUserAndDate(userId, date);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(chores);
+    }
+
+    /**
+     * Get chores by user ID and date as CBOR, Smile or columnar JSON
+     * @param userId User ID
+     * @param date Date
+     * @param fields Optional comma-separated fields to write
+     * @param include Optional relations to embed
+     * @param accept Accept header choosing the format
+     */
+    @GetMapping(value = "/user/{userId}",
+            produces = {CompactWriter.CBOR_VALUE, CompactWriter.SMILE_VALUE, CompactWriter.COLUMNAR_JSON_VALUE})
+    public void getChoresByUserAndDateCompact(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            HttpServletResponse response) throws IOException {
+        CompactFormat format = CompactFormat.negotiate(accept);
+        log.info("GET /api/v1/chores/user/{} - Streaming chores for date: {} as {}", userId, date, format);
+        ChoreSelection selection = select(fields, include, response);
+        if (selection != null) {
+            prepare(response, format);
+            choreService.writeChores(date, userId, selection, format, response.getOutputStream());
+        }
+    }
+
+    /**
+     * Search chore descriptions
+     * @param q Search text; every word must match a word or part of a word
+     * @param userId Optional user filter
+     * @param from Optional earliest date
+     * @param to Optional latest date
+     * @param limit Maximum number of results (at most 100)
+     * @return Matching chores, best match first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ChoreSearchHit>> searchChores(
+            @RequestParam String q,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("GET /api/v1/chores/search - Searching chores (user: {}, from: {}, to: {})", userId, from, to);
+        try {
+            return ResponseEntity.ok(choreService.searchChores(q, userId, from, to, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("GET /api/v1/chores/search - {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -78,6 +187,28 @@ public class ChoreController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdChore);
     }
 
+    /**
+     * Assign a set of unassigned chores to users, spreading them by load
+     * and avoiding overlapping time slots
+     * @param request Chores to schedule and optional candidate user IDs
+     * @return Created chores with their assigned users
+     */
+    @PostMapping("/schedule")
+    public ResponseEntity<List<ChoreDto>> scheduleChores(@RequestBody ScheduleRequest request) {
+        if (request.getChores() == null || request.getChores().isEmpty()) {
+            log.warn("POST /api/v1/chores/schedule - No chores given");
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("POST /api/v1/chores/schedule - Scheduling {} chores", request.getChores().size());
+        try {
+            List<ChoreDto> scheduled = schedulingService.schedule(request.getChores(), request.getUserIds());
+            return ResponseEntity.status(HttpStatus.CREATED).body(scheduled);
+        } catch (IllegalArgumentException e) {
+            log.warn("POST /api/v1/chores/schedule - {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Update an existing chore
      * @param id Chore ID
@@ -87,19 +218,77 @@ public class ChoreController {
     @PutMapping("/{id}")
     public ResponseEntity<ChoreDto> updateChore(@PathVariable Long id, @RequestBody ChoreDto choreDto) {
         log.info("PUT /api/v1/chores/{} - Updating chore", id);
-        ChoreDto updatedChore = choreService.updateChore(id, choreDto);
-        return ResponseEntity.ok(updatedChore);
+        try {
+            ChoreDto updatedChore = choreService.updateChore(id, choreDto);
+            return ResponseEntity.ok(updatedChore);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("PUT /api/v1/chores/{} - Chore was modified concurrently", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Partially update a chore; only the fields present in the body change
+     * @param id Chore ID
+     * @param changes Fields to change, plus the version the client last read
+     * @return Updated chore, or 409 if the chore changed since that version
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<ChoreDto> patchChore(@PathVariable Long id, @RequestBody ChoreDto changes) {
+        log.info("PATCH /api/v1/chores/{} - Patching chore at version {}", id, changes.getVersion());
+        try {
+            return ResponseEntity.ok(choreService.patchChore(id, changes));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("PATCH /api/v1/chores/{} - Version {} is stale", id, changes.getVersion());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Mark a chore as done
+     * @param id Chore ID
+     * @return Completed chore, also if it was already completed
+     */
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<ChoreDto> completeChore(@PathVariable Long id) {
+        log.info("POST /api/v1/chores/{}/complete - Completing chore", id);
+        return ResponseEntity.ok(choreService.completeChore(id));
     }
 
     /**
      * Delete a chore
      * @param id Chore ID
-     * @return No content
+     * @return No content, or 409 if it was modified concurrently
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteChore(@PathVariable Long id) {
         log.info("DELETE /api/v1/chores/{} - Deleting chore", id);
-        choreService.deleteChore(id);
-        return ResponseEntity.noContent().build();
+        try {
+            choreService.deleteChore(id);
+            return ResponseEntity.noContent().build();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("DELETE /api/v1/chores/{} - Chore was modified concurrently", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Parses the field selection of a streamed response, or answers 400
+     * @return The selection, or null if the response was rejected
+     */
+    private static ChoreSelection select(String fields, String include, HttpServletResponse response)
+            throws IOException {
+        try {
+            return ChoreSelection.parse(fields, include);
+        } catch (IllegalArgumentException e) {
+            log.warn("GET /api/v1/chores - {}", e.getMessage());
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return null;
+        }
+    }
+
+    static void prepare(HttpServletResponse response, CompactFormat format) {
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
     }
 }
@@ -0,0 +1,50 @@
+package com.demo.cc.controller;
+
+import com.demo.cc.domain.StatsPeriod;
+import com.demo.cc.dto.UserStatsDto;
+import com.demo.cc.service.ChoreStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * REST Controller for chore statistics.
+ * Serves per-user assigned, completed and overdue counts and streaks from rollups.
+ */
+@RestController
+@RequestMapping("/api/v1/stats")
+@RequiredArgsConstructor
+@Slf4j
+public class StatsController {
+
+    private final ChoreStatsService statsService;
+
+    /**
+     * Get per-user chore stats for a week or month
+     * @param period day, week or month
+     * @param date Any date in the period, defaults to today
+     * @param userId Optional user filter
+     * @return Stats per user, most completed chores first
+     */
+    @GetMapping
+    public ResponseEntity<List<UserStatsDto>> getStats(
+            @RequestParam(defaultValue = "month") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long userId) {
+        log.info("GET /api/v1/stats - Fetching {} stats for date: {}, user: {}", period, date, userId);
+        StatsPeriod statsPeriod;
+        try {
+            statsPeriod = StatsPeriod.valueOf(period.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("GET /api/v1/stats - Unknown period: {}", period);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(statsService.getStats(statsPeriod, date != null ? date : LocalDate.now(), userId));
+    }
+}
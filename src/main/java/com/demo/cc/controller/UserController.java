@@ -1,13 +1,25 @@
 package com.demo.cc.controller;
 
+import com.demo.cc.codec.CompactFormat;
+import com.demo.cc.codec.CompactWriter;
+import com.demo.cc.config.UserContent;
+import com.demo.cc.dto.CalendarImportResult;
 import com.demo.cc.dto.UserDto;
+import com.demo.cc.service.CalendarFeedService;
 import com.demo.cc.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -21,6 +33,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final CalendarFeedService feedService;
 
     /**
      * Get all users
@@ -30,7 +43,20 @@ public class UserController {
     public ResponseEntity<List<UserDto>> getAllUsers() {
         log.info("GET /api/v1/users - Fetching all users");
         List<UserDto> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(users);
+    }
+
+    /**
+     * Get all users as CBOR, Smile or columnar JSON
+     * @param accept Accept header choosing the format
+     */
+    @GetMapping(produces = {CompactWriter.CBOR_VALUE, CompactWriter.SMILE_VALUE, CompactWriter.COLUMNAR_JSON_VALUE})
+    public void getAllUsersCompact(@RequestHeader(HttpHeaders.ACCEPT) String accept, HttpServletResponse response)
+            throws IOException {
+        CompactFormat format = CompactFormat.negotiate(accept);
+        log.info("GET /api/v1/users - Streaming all users as {}", format);
+        ChoreController.prepare(response, format);
+        userService.writeUsers(format, response.getOutputStream());
     }
 
     /**
@@ -48,26 +74,75 @@ public class UserController {
     /**
      * Create a new user
      * @param userDto User details
-     * @return Created user
+     * @return Created user, or 400 if the name is missing or taken
      */
     @PostMapping
     public ResponseEntity<UserDto> createUser(@RequestBody UserDto userDto) {
-        log.info("POST /api/v1/users - Creating user: {}", userDto.getName());
-        UserDto createdUser = userService.createUser(userDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+        log.info("POST /api/v1/users - Creating user: {}", UserContent.of(userDto.getName()));
+        try {
+            UserDto createdUser = userService.createUser(userDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+        } catch (IllegalArgumentException e) {
+            log.warn("POST /api/v1/users - {}", UserContent.of(e.getMessage()));
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
      * Update an existing user
      * @param id User ID
      * @param userDto Updated user details
-     * @return Updated user
+     * @return Updated user, or 400 if the name is missing or taken
      */
     @PutMapping("/{id}")
     public ResponseEntity<UserDto> updateUser(@PathVariable Long id, @RequestBody UserDto userDto) {
         log.info("PUT /api/v1/users/{} - Updating user", id);
-        UserDto updatedUser = userService.updateUser(id, userDto);
-        return ResponseEntity.ok(updatedUser);
+        try {
+            UserDto updatedUser = userService.updateUser(id, userDto);
+            return ResponseEntity.ok(updatedUser);
+        } catch (IllegalArgumentException e) {
+            log.warn("PUT /api/v1/users/{} - {}", id, UserContent.of(e.getMessage()));
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get a user's chores as an iCalendar feed for phone and desktop calendars.
+     * Answers 304 when the client's ETag or Last-Modified is still current.
+     * @param id User ID
+     */
+    @GetMapping("/{id}/calendar.ics")
+    public void getCalendarFeed(@PathVariable Long id, ServletWebRequest request, HttpServletResponse response)
+            throws IOException {
+        CalendarFeedService.FeedVersion version = feedService.version("user-" + id);
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            log.debug("GET /api/v1/users/{}/calendar.ics - Not modified", id);
+            return;
+        }
+        log.info("GET /api/v1/users/{}/calendar.ics - Streaming calendar feed", id);
+        response.setContentType(CalendarController.TEXT_CALENDAR);
+        response.setHeader("Cache-Control", "private, no-cache");
+        feedService.writeUserFeed(id, response.getWriter());
+    }
+
+    /**
+     * Import the events of an iCalendar file as chores of a user.
+     * Events overlapping one of the user's timed chores are skipped.
+     * @param id User ID
+     * @return Imported and skipped counts, with the first problems found
+     */
+    @PostMapping("/{id}/calendar.ics")
+    public ResponseEntity<CalendarImportResult> importCalendar(@PathVariable Long id, HttpServletRequest request)
+            throws IOException {
+        log.info("POST /api/v1/users/{}/calendar.ics - Importing calendar ({} bytes)", id, request.getContentLengthLong());
+        try {
+            CalendarImportResult result = feedService.importFeed(id,
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.warn("POST /api/v1/users/{}/calendar.ics - {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -0,0 +1,57 @@
+package com.demo.cc.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A past chore moved out of {@code chores} by the archiver. Rows keep the id,
+ * fields and last version of the chore but are never changed again; the user
+ * is a plain id, so the user's chore collection only holds hot chores.
+ */
+@Entity
+@Immutable
+@Table(name = "chores_archive", indexes = {
+        @Index(name = "idx_chores_archive_household_date", columnList = "household_id, date"),
+        @Index(name = "idx_chores_archive_household_user_date", columnList = "household_id, user_id, date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedChore {
+
+    @Id
+    private Long id;
+
+    @TenantId
+    @Column(name = "household_id", nullable = false, updatable = false)
+    private String householdId;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column
+    private LocalTime time;
+
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+}
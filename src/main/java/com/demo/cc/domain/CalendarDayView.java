@@ -0,0 +1,62 @@
+package com.demo.cc.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Denormalized read model for calendar/dashboard queries: one row per chore
+ * with the assigned user's name and color inlined. Written only by
+ * {@link com.demo.cc.service.CalendarProjector}.
+ */
+@Entity
+@Table(name = "calendar_day_view", indexes = {
+        @Index(name = "idx_calendar_day_view_household_date", columnList = "household_id, date"),
+        @Index(name = "idx_calendar_day_view_household_user_date", columnList = "household_id, user_id, date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDayView {
+
+    @Id
+    @Column(name = "chore_id")
+    private Long choreId;
+
+    @TenantId
+    @Column(name = "household_id", nullable = false, updatable = false)
+    private String householdId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column
+    private LocalTime time;
+
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "user_name", nullable = false)
+    private String userName;
+
+    @Column(name = "user_color")
+    private String userColor;
+
+    @Column(name = "chore_version")
+    private Long choreVersion;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -4,12 +4,17 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "chores")
+@Table(name = "chores", indexes = {
+        @Index(name = "idx_chores_household_date_user", columnList = "household_id, date, user_id"),
+        @Index(name = "idx_chores_household_user_date", columnList = "household_id, user_id, date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,15 +24,28 @@ public class Chore {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @TenantId
+    @Column(name = "household_id", nullable = false, updatable = false)
+    private String householdId;
+
     @Column(nullable = false)
     private String description;
 
     @Column
     private LocalTime time;
 
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
     @Column(nullable = false)
     private LocalDate date;
 
+    @Version
+    private Long version;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -0,0 +1,48 @@
+package com.demo.cc.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+
+/**
+ * Rollup counters of one user's chores in one day, week or month, keyed by
+ * the chores' dates. Written only by
+ * {@link com.demo.cc.service.ChoreStatsService}, in the same transaction as
+ * the chore write it accounts for.
+ */
+@Entity
+@Table(name = "chore_stats", uniqueConstraints = @UniqueConstraint(name = "uk_chore_stats_household_period_user",
+        columnNames = {"household_id", "period", "period_start", "user_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChoreStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @TenantId
+    @Column(name = "household_id", nullable = false, updatable = false)
+    private String householdId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private StatsPeriod period;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int assigned;
+
+    @Column(nullable = false)
+    private int completed;
+}
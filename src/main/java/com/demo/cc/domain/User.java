@@ -4,27 +4,49 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.TenantId;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = User.NAME_UNIQUE_KEY, columnNames = {"household_id", "name_key"}))
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    public static final String NAME_UNIQUE_KEY = "uk_users_household_name_key";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @TenantId
+    @Column(name = "household_id", nullable = false, updatable = false)
+    private String householdId;
+
+    @Column(nullable = false)
     private String name;
 
+    // Lower-cased name; its unique key makes case-insensitive duplicate checks atomic
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
     @Column
     private String color;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Chore> chores = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = name.trim().toLowerCase(Locale.ROOT);
+    }
 }
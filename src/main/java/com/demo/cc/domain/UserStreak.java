@@ -0,0 +1,38 @@
+package com.demo.cc.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+
+/**
+ * Completion streak of a user: consecutive days on which they completed at
+ * least one chore. Written only by {@link com.demo.cc.service.ChoreStatsService}.
+ */
+@Entity
+@Table(name = "user_streaks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStreak {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @TenantId
+    @Column(name = "household_id", nullable = false, updatable = false)
+    private String householdId;
+
+    @Column(name = "last_completed_on")
+    private LocalDate lastCompletedOn;
+
+    @Column(name = "current_streak", nullable = false)
+    private int currentStreak;
+
+    @Column(name = "best_streak", nullable = false)
+    private int bestStreak;
+}
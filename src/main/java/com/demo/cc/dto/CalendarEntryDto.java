@@ -0,0 +1,23 @@
+package com.demo.cc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarEntryDto {
+
+    private Long choreId;
+    private String description;
+    private LocalTime time;
+    private Integer durationMinutes;
+    private LocalDate date;
+    private Long userId;
+    private String userName;
+    private String userColor;
+}
@@ -0,0 +1,17 @@
+package com.demo.cc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarImportResult {
+
+    private int imported;
+    private int skipped;
+    private List<String> problems;
+}
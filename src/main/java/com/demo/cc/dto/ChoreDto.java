@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -17,4 +18,7 @@ public class ChoreDto {
     private LocalTime time;
     private LocalDate date;
     private Long userId;
+    private Integer durationMinutes;
+    private Long version;
+    private Instant completedAt;
 }
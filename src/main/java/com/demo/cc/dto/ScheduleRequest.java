@@ -0,0 +1,17 @@
+package com.demo.cc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleRequest {
+
+    private List<ChoreDto> chores = new ArrayList<>();
+    private List<Long> userIds = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.demo.cc.dto;
+
+import com.demo.cc.domain.StatsPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsDto {
+
+    private Long userId;
+    private String userName;
+    private StatsPeriod period;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private int assigned;
+    private int completed;
+    private int overdue;
+    private int currentStreak;
+    private int bestStreak;
+}
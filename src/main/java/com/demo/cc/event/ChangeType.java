@@ -0,0 +1,11 @@
+package com.demo.cc.event;
+
+/**
+ * Kind of change carried by a domain change event.
+ */
+public enum ChangeType {
+    UPSERTED,
+    DELETED,
+    /** Moved to the archive; still exists, but no longer in the hot tables */
+    ARCHIVED
+}
@@ -0,0 +1,35 @@
+package com.demo.cc.event;
+
+import com.demo.cc.domain.Chore;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published by every chore write path. Listeners receive it after the
+ * surrounding transaction commits, so they only ever see durable state.
+ */
+public record ChoreChangedEvent(ChangeType type, String householdId, Long choreId, String description,
+                                LocalTime time, Integer durationMinutes, LocalDate date, Long userId,
+                                Long version, Instant completedAt) {
+
+    public static ChoreChangedEvent upserted(Chore chore) {
+        return new ChoreChangedEvent(ChangeType.UPSERTED, chore.getHouseholdId(), chore.getId(),
+                chore.getDescription(), chore.getTime(), chore.getDurationMinutes(), chore.getDate(),
+                chore.getUser().getId(), chore.getVersion(), chore.getCompletedAt());
+    }
+
+    public static ChoreChangedEvent deleted(String householdId, Long choreId) {
+        return new ChoreChangedEvent(ChangeType.DELETED, householdId, choreId, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * An archived chore left the hot tables. Views of the hot tables drop it like a delete; the search
+     * index keeps it. Stats rollups are not event driven and keep counting it.
+     */
+    public static ChoreChangedEvent archived(String householdId, Long choreId) {
+        return new ChoreChangedEvent(ChangeType.ARCHIVED, householdId, choreId, null, null, null, null, null, null,
+                null);
+    }
+}
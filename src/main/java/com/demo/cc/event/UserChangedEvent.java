@@ -0,0 +1,19 @@
+package com.demo.cc.event;
+
+import com.demo.cc.domain.User;
+
+/**
+ * Published by every user write path. A DELETED event implies that all of
+ * the user's chores were deleted with it.
+ */
+public record UserChangedEvent(ChangeType type, String householdId, Long userId, String name, String color) {
+
+    public static UserChangedEvent upserted(User user) {
+        return new UserChangedEvent(ChangeType.UPSERTED, user.getHouseholdId(), user.getId(),
+                user.getName(), user.getColor());
+    }
+
+    public static UserChangedEvent deleted(String householdId, Long userId) {
+        return new UserChangedEvent(ChangeType.DELETED, householdId, userId, null, null);
+    }
+}
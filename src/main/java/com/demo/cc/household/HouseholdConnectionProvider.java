@@ -0,0 +1,80 @@
+package com.demo.cc.household;
+
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands Hibernate connections for a household, switched to the schema chosen
+ * by the {@link HouseholdRouter} when it routes the household out of the
+ * shared schema.
+ */
+public class HouseholdConnectionProvider implements MultiTenantConnectionProvider<String> {
+
+    private final DataSource dataSource;
+    private final HouseholdRouter router;
+    private volatile String sharedSchema;
+
+    public HouseholdConnectionProvider(DataSource dataSource, HouseholdRouter router) {
+        this.dataSource = dataSource;
+        this.router = router;
+    }
+
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public Connection getConnection(String householdId) throws SQLException {
+        Connection connection = getAnyConnection();
+        String schema = router.schemaFor(householdId);
+        if (schema != null) {
+            try {
+                if (sharedSchema == null) {
+                    sharedSchema = connection.getSchema();
+                }
+                connection.setSchema(schema);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+        return connection;
+    }
+
+    @Override
+    public void releaseConnection(String householdId, Connection connection) throws SQLException {
+        try {
+            if (router.schemaFor(householdId) != null) {
+                // Pooled connections must go back on the shared schema
+                connection.setSchema(sharedSchema);
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return false;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+}
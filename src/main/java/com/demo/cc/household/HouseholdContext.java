@@ -0,0 +1,59 @@
+package com.demo.cc.household;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the household (tenant) key for the current thread.
+ *
+ * Set per request by {@link HouseholdFilter} and read by Hibernate through
+ * {@link HouseholdTenantResolver}, so every repository call in ChoreService,
+ * UserService and ToolConfig is scoped to the caller's household. Background
+ * work must set the household explicitly with {@link #runAs}/{@link #callAs}.
+ */
+public final class HouseholdContext {
+
+    public static final String HEADER = "X-Household-Id";
+    public static final String DEFAULT_HOUSEHOLD = "default";
+
+    /** Tenant id that sees every household; only used by internal maintenance jobs */
+    public static final String ALL_HOUSEHOLDS = "*";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private HouseholdContext() {
+    }
+
+    public static String current() {
+        String householdId = CURRENT.get();
+        return householdId != null ? householdId : DEFAULT_HOUSEHOLD;
+    }
+
+    public static void set(String householdId) {
+        CURRENT.set(householdId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callAs(String householdId, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(householdId);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void runAs(String householdId, Runnable action) {
+        callAs(householdId, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.demo.cc.household;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the household from the {@value HouseholdContext#HEADER} request header
+ * to the request thread. Requests without the header use the default household.
+ * Calendar apps cannot send headers when subscribing to an {@code .ics} feed,
+ * so feed requests may name the household in a {@value #FEED_PARAMETER} query
+ * parameter instead.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class HouseholdFilter extends OncePerRequestFilter {
+
+    public static final String FEED_PARAMETER = "household";
+
+    private static final Pattern VALID_HOUSEHOLD = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String householdId = request.getHeader(HouseholdContext.HEADER);
+        if ((householdId == null || householdId.isBlank()) && "GET".equals(request.getMethod())
+                && request.getRequestURI().endsWith(".ics")) {
+            householdId = request.getParameter(FEED_PARAMETER);
+        }
+        if (householdId == null || householdId.isBlank()) {
+            householdId = HouseholdContext.DEFAULT_HOUSEHOLD;
+        } else if (!VALID_HOUSEHOLD.matcher(householdId).matches()) {
+            log.warn("Rejecting request with invalid household id '{}'", householdId);
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + HouseholdContext.HEADER + " header");
+            return;
+        }
+
+        HouseholdContext.set(householdId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            HouseholdContext.clear();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.demo.cc.household;
+
+/**
+ * Decides where a household's rows live.
+ *
+ * Returning {@code null} keeps the household in the shared schema, where it is
+ * isolated by the {@code household_id} partition column that leads every index.
+ * Returning a schema name routes all of the household's connections to that
+ * schema instead, e.g. to move a very large household out of the shared tables.
+ */
+public interface HouseholdRouter {
+
+    String schemaFor(String householdId);
+}
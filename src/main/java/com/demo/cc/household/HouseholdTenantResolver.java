@@ -0,0 +1,28 @@
+package com.demo.cc.household;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes {@link HouseholdContext} to Hibernate as the current tenant, which
+ * adds the {@code household_id} restriction to every query and fills it in on
+ * every insert.
+ */
+@Component
+public class HouseholdTenantResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return HouseholdContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return HouseholdContext.ALL_HOUSEHOLDS.equals(tenantId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.demo.cc.ics;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One VEVENT read by {@link IcsReader}, with its start converted to the
+ * server's local date and time.
+ * @param time Start time, or null for an all-day event
+ * @param durationMinutes Length of a timed event, or null when unknown
+ */
+public record IcsEvent(String uid, String summary, LocalDate date, LocalTime time, Integer durationMinutes,
+                       boolean recurring) {
+}
@@ -0,0 +1,258 @@
+package com.demo.cc.ics;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Pull parser for iCalendar (RFC 5545) streams that yields one VEVENT at a
+ * time, so a calendar of any size is read in memory proportional to a
+ * single event.
+ *
+ * Folded lines are unfolded, properties of nested components such as VALARM
+ * are ignored, and start and end times given in UTC or with a TZID are
+ * converted to the server's zone. Recurring events yield their first
+ * occurrence only.
+ */
+public class IcsReader implements Closeable {
+
+    /** Longer unfolded lines are cut, so a malformed stream cannot grow one line without bound */
+    public static final int MAX_LINE_LENGTH = 16 * 1024;
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final BufferedReader in;
+    private final ZoneId zone;
+    private String lookahead;
+    private int lineNumber;
+
+    public IcsReader(Reader in, ZoneId zone) {
+        this.in = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in);
+        this.zone = zone;
+    }
+
+    /**
+     * Reads up to the next VEVENT
+     * @return The event, or null at the end of the stream
+     * @throws IllegalArgumentException if an event has no usable DTSTART
+     */
+    public IcsEvent next() throws IOException {
+        String line;
+        while ((line = readContentLine()) != null) {
+            if (line.equalsIgnoreCase("BEGIN:VEVENT")) {
+                return readEvent();
+            }
+        }
+        return null;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private IcsEvent readEvent() throws IOException {
+        int startLine = lineNumber;
+        String uid = null;
+        String summary = null;
+        Property start = null;
+        Property end = null;
+        String duration = null;
+        boolean recurring = false;
+        int depth = 0;
+
+        String line;
+        while ((line = readContentLine()) != null) {
+            Property property = Property.parse(line);
+            if (property == null) {
+                continue;
+            }
+            if (property.name().equals("BEGIN")) {
+                depth++;
+                continue;
+            }
+            if (property.name().equals("END")) {
+                if (depth == 0) {
+                    break;
+                }
+                depth--;
+                continue;
+            }
+            if (depth > 0) {
+                continue;
+            }
+            switch (property.name()) {
+                case "UID" -> uid = property.value();
+                case "SUMMARY" -> summary = unescape(property.value());
+                case "DTSTART" -> start = property;
+                case "DTEND" -> end = property;
+                case "DURATION" -> duration = property.value();
+                case "RRULE", "RDATE" -> recurring = true;
+                default -> { }
+            }
+        }
+
+        if (start == null) {
+            throw new IllegalArgumentException("Event at line " + startLine + " has no DTSTART");
+        }
+        try {
+            if (start.isDate()) {
+                return new IcsEvent(uid, summary, LocalDate.parse(start.value(), DateTimeFormatter.BASIC_ISO_DATE),
+                        null, null, recurring);
+            }
+            LocalDateTime startTime = toLocal(start);
+            Integer minutes = null;
+            if (end != null && !end.isDate()) {
+                minutes = (int) Duration.between(startTime, toLocal(end)).toMinutes();
+            } else if (duration != null) {
+                minutes = (int) parseDuration(duration).toMinutes();
+            }
+            return new IcsEvent(uid, summary, startTime.toLocalDate(), startTime.toLocalTime(),
+                    minutes != null && minutes > 0 ? minutes : null, recurring);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Event at line " + startLine + " has an invalid date: "
+                    + e.getMessage());
+        }
+    }
+
+    private LocalDateTime toLocal(Property property) {
+        String value = property.value();
+        if (value.endsWith("Z")) {
+            return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME)
+                    .atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDateTime();
+        }
+        LocalDateTime local = LocalDateTime.parse(value, DATE_TIME);
+        String tzid = property.param("TZID");
+        if (tzid == null) {
+            // Floating time: same wall-clock time everywhere
+            return local;
+        }
+        try {
+            return local.atZone(ZoneId.of(tzid)).withZoneSameInstant(zone).toLocalDateTime();
+        } catch (DateTimeException e) {
+            // Calendar-specific zone names (e.g. from Outlook) are taken as local time
+            return local;
+        }
+    }
+
+    /**
+     * RFC 5545 durations also allow weeks, which {@link Duration#parse} does not.
+     */
+    private static Duration parseDuration(String value) {
+        String upper = value.toUpperCase(Locale.ROOT);
+        int weeks = upper.indexOf('W');
+        if (weeks > 0) {
+            boolean negative = upper.startsWith("-");
+            int digitsFrom = upper.indexOf('P') + 1;
+            Duration parsed = Duration.ofDays(7L * Long.parseLong(upper.substring(digitsFrom, weeks)));
+            return negative ? parsed.negated() : parsed;
+        }
+        return Duration.parse(upper.startsWith("+") ? upper.substring(1) : upper);
+    }
+
+    static String unescape(String value) {
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                text.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Next unfolded content line, or null at the end of the stream.
+     */
+    private String readContentLine() throws IOException {
+        String first = lookahead != null ? lookahead : readPhysicalLine();
+        lookahead = null;
+        if (first == null) {
+            return null;
+        }
+        StringBuilder line = null;
+        String next;
+        while ((next = readPhysicalLine()) != null && !next.isEmpty()
+                && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            if (line == null) {
+                line = new StringBuilder(first);
+            }
+            if (line.length() < MAX_LINE_LENGTH) {
+                line.append(next, 1, Math.min(next.length(), 1 + MAX_LINE_LENGTH - line.length()));
+            }
+        }
+        lookahead = next;
+        return line != null ? line.toString() : first;
+    }
+
+    private String readPhysicalLine() throws IOException {
+        String line = in.readLine();
+        if (line != null) {
+            lineNumber++;
+            if (line.length() > MAX_LINE_LENGTH) {
+                line = line.substring(0, MAX_LINE_LENGTH);
+            }
+        }
+        return line;
+    }
+
+    /**
+     * A content line split into upper-cased name, raw parameters and value.
+     */
+    private record Property(String name, String params, String value) {
+
+        static Property parse(String line) {
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ':' && !quoted) {
+                    String head = line.substring(0, i);
+                    int semicolon = head.indexOf(';');
+                    String name = (semicolon < 0 ? head : head.substring(0, semicolon)).trim()
+                            .toUpperCase(Locale.ROOT);
+                    String params = semicolon < 0 ? "" : head.substring(semicolon + 1);
+                    String value = line.substring(i + 1).trim();
+                    return name.equals("BEGIN") || name.equals("END")
+                            ? new Property(name, params, value.toUpperCase(Locale.ROOT))
+                            : new Property(name, params, value);
+                }
+            }
+            return null;
+        }
+
+        String param(String key) {
+            for (String param : params.split(";")) {
+                int eq = param.indexOf('=');
+                if (eq > 0 && param.substring(0, eq).trim().equalsIgnoreCase(key)) {
+                    String value = param.substring(eq + 1).trim();
+                    return value.startsWith("\"") && value.endsWith("\"") && value.length() > 1
+                            ? value.substring(1, value.length() - 1)
+                            : value;
+                }
+            }
+            return null;
+        }
+
+        boolean isDate() {
+            return "DATE".equalsIgnoreCase(param("VALUE")) || value.length() == 8;
+        }
+    }
+}
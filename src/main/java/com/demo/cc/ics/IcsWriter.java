@@ -0,0 +1,111 @@
+package com.demo.cc.ics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an iCalendar (RFC 5545) stream one event at a time. Lines are
+ * escaped, folded at 75 octets and end in CRLF; nothing is buffered beyond
+ * the underlying writer.
+ *
+ * Timed events are written in floating local time, matching how chores store
+ * their date and time, so calendars show them at the same wall-clock time.
+ */
+public class IcsWriter {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+    private final String dtstamp;
+
+    public IcsWriter(Writer out) {
+        this.out = out;
+        this.dtstamp = UTC_DATE_TIME.format(Instant.now());
+    }
+
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//Chore Calendar//Chores//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(calendarName));
+    }
+
+    /**
+     * Writes one VEVENT
+     * @param uid Stable identifier of the event
+     * @param time Start time, or null for an all-day event
+     * @param durationMinutes Length of a timed event
+     * @param sequence Revision of the event, bumped on every change
+     * @param completedAt When the chore was done, or null
+     */
+    public void event(String uid, String summary, LocalDate date, LocalTime time, int durationMinutes,
+                      long sequence, Instant completedAt) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + dtstamp);
+        if (time == null) {
+            line("DTSTART;VALUE=DATE:" + DATE.format(date));
+            line("DTEND;VALUE=DATE:" + DATE.format(date.plusDays(1)));
+        } else {
+            LocalDateTime start = LocalDateTime.of(date, time);
+            line("DTSTART:" + LOCAL_DATE_TIME.format(start));
+            line("DTEND:" + LOCAL_DATE_TIME.format(start.plusMinutes(durationMinutes)));
+        }
+        line("SUMMARY:" + escape(completedAt != null ? "✓ " + summary : summary));
+        line("SEQUENCE:" + sequence);
+        line("TRANSP:TRANSPARENT");
+        if (completedAt != null) {
+            line("X-CHORE-COMPLETED:" + UTC_DATE_TIME.format(completedAt));
+        }
+        line("END:VEVENT");
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int chars = Character.charCount(codePoint);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > MAX_LINE_OCTETS) {
+                // Continuation lines start with a space, which counts towards their length
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(content, i, chars);
+            octets += width;
+            i += chars;
+        }
+        out.write("\r\n");
+    }
+}
@@ -0,0 +1,18 @@
+package com.demo.cc.reminder;
+
+import com.demo.cc.config.UserContent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stand-in notifier that logs each reminder. Used unless another
+ * {@link ReminderNotifier} bean is defined.
+ */
+@Slf4j
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+    @Override
+    public void send(Reminder reminder) {
+        log.info("Reminder for user {} in household {}: chore {} '{}' at {}", reminder.userId(),
+                reminder.householdId(), reminder.choreId(), UserContent.of(reminder.description()), reminder.dueAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.demo.cc.reminder;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reminder for a timed chore, handed to the {@link ReminderNotifier} when it fires.
+ * @param dueAt When the chore starts, in server-local time
+ */
+public record Reminder(String householdId, Long choreId, Long userId, String description, LocalDateTime dueAt) {
+}
@@ -0,0 +1,18 @@
+package com.demo.cc.reminder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Falls back to logging reminders when no other notifier is defined.
+ */
+@Configuration
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ReminderNotifier.class)
+    public ReminderNotifier loggingReminderNotifier() {
+        return new LoggingReminderNotifier();
+    }
+}
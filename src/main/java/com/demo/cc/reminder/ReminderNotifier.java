@@ -0,0 +1,11 @@
+package com.demo.cc.reminder;
+
+/**
+ * Delivers fired reminders, e.g. as push notifications. Called on a single
+ * notifier thread, never on the timing wheel's tick thread; a slow notifier
+ * delays later reminders but not their firing.
+ */
+public interface ReminderNotifier {
+
+    void send(Reminder reminder);
+}
@@ -0,0 +1,33 @@
+package com.demo.cc.reminder;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Chore reminders (chore.reminders.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.reminders")
+@Data
+public class ReminderProperties {
+
+    private boolean enabled = true;
+
+    /** How long before a timed chore's start its reminder fires */
+    private Duration leadTime = Duration.ofMinutes(15);
+
+    /** Upcoming chores held in the timing wheel; later ones are loaded as the window slides */
+    private Duration window = Duration.ofHours(48);
+
+    /** How often the window slides forward by loading the next chores */
+    private Duration refillInterval = Duration.ofHours(1);
+
+    /** Timing wheel resolution; reminders fire up to one tick late */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /** Timing wheel levels of 64 slots each; 4 levels of 1s ticks cover about 194 days */
+    private int levels = 4;
+}
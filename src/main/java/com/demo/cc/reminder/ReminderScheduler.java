@@ -0,0 +1,315 @@
+package com.demo.cc.reminder;
+
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ChoreReminderRow;
+import com.demo.cc.repository.ChoreRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fires a reminder {@link ReminderProperties#getLeadTime()} before each open,
+ * timed chore, using a {@link TimingWheel} instead of polling the chores table.
+ *
+ * The wheel holds the chores due within a sliding window. The window is
+ * loaded once at startup and then extended every refill interval with the
+ * chores that came into range, across all households in one query. Committed
+ * chore changes update the wheel in place through the change events; changes
+ * that race with a window load win over the loaded rows. A change reschedules
+ * a reminder only when the chore's date, time or user changed, so editing a
+ * chore that was already reminded of does not remind again.
+ *
+ * A tick thread advances the wheel and a separate notifier thread calls the
+ * {@link ReminderNotifier}, so a slow notifier cannot delay firing. Firing
+ * accuracy is recorded as the chore.reminders.lateness timer, measured when
+ * the notifier is called.
+ */
+@Component
+@Slf4j
+public class ReminderScheduler {
+
+    private final ChoreRepository choreRepository;
+    private final ReminderNotifier notifier;
+    private final ReminderProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer lateness;
+    private final Timer windowLoad;
+    private final Counter fired;
+    private final Counter failed;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final Object lock = new Object();
+    private final Map<Long, TimingWheel.Timeout<Reminder>> scheduledByChore = new HashMap<>();
+    // Reminders already sent, until their chore starts
+    private final Map<Long, Reminder> remindedByChore = new HashMap<>();
+    private TimingWheel<Reminder> wheel;
+    // Chores due before this are in the wheel
+    private LocalDateTime loadedUntil;
+    // Set while a window load runs: its end, and the chores changed meanwhile
+    private LocalDateTime loadingUntil;
+    private Set<Long> changedDuringLoad;
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService dispatcher;
+
+    public ReminderScheduler(ChoreRepository choreRepository, ReminderNotifier notifier,
+                             ReminderProperties properties, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.choreRepository = choreRepository;
+        this.notifier = notifier;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.lateness = Timer.builder("chore.reminders.lateness")
+                .description("Delay between a reminder's scheduled time and the notifier call")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.windowLoad = Timer.builder("chore.reminders.window_load")
+                .description("Time to load the next slice of upcoming chores into the timing wheel")
+                .register(meterRegistry);
+        this.fired = Counter.builder("chore.reminders.fired")
+                .description("Reminders handed to the notifier")
+                .register(meterRegistry);
+        this.failed = Counter.builder("chore.reminders.failed")
+                .description("Reminders the notifier failed to send")
+                .register(meterRegistry);
+        Gauge.builder("chore.reminders.scheduled", this, ReminderScheduler::size)
+                .description("Reminders waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Chore reminders are disabled");
+            return;
+        }
+        long tickMillis = properties.getTick().toMillis();
+        synchronized (lock) {
+            wheel = new TimingWheel<>(tickMillis, properties.getLevels(), System.currentTimeMillis());
+            loadedUntil = LocalDateTime.now(zone);
+        }
+        dispatcher = Executors.newSingleThreadExecutor(daemon("reminder-notifier"));
+        ticker = Executors.newSingleThreadScheduledExecutor(daemon("reminder-wheel"));
+        loadWindow();
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        long refillMillis = properties.getRefillInterval().toMillis();
+        ticker.scheduleWithFixedDelay(this::loadWindow, refillMillis, refillMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            dispatcher.shutdown();
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return scheduledByChore.size();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChoreChanged(ChoreChangedEvent event) {
+        synchronized (lock) {
+            if (wheel == null) {
+                return;
+            }
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(event.choreId());
+            }
+            if (event.type() != ChangeType.UPSERTED || event.time() == null || event.completedAt() != null) {
+                wheel.cancel(scheduledByChore.remove(event.choreId()));
+                remindedByChore.remove(event.choreId());
+                return;
+            }
+            Reminder reminder = new Reminder(event.householdId(), event.choreId(), event.userId(),
+                    event.description(), LocalDateTime.of(event.date(), event.time()));
+            TimingWheel.Timeout<Reminder> scheduled = scheduledByChore.get(event.choreId());
+            Reminder previous = scheduled != null ? scheduled.item() : remindedByChore.get(event.choreId());
+            if (previous != null && sameSlot(previous, reminder)
+                    && (scheduled == null || previous.description().equals(reminder.description()))) {
+                // Already reminded of, or scheduled as it is
+                return;
+            }
+            wheel.cancel(scheduledByChore.remove(event.choreId()));
+            remindedByChore.remove(event.choreId());
+            if (reminder.dueAt().isBefore(loadingUntil != null ? loadingUntil : loadedUntil)) {
+                schedule(reminder);
+            }
+        }
+    }
+
+    private static boolean sameSlot(Reminder a, Reminder b) {
+        return a.dueAt().equals(b.dueAt()) && a.userId().equals(b.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        synchronized (lock) {
+            if (wheel == null) {
+                return;
+            }
+            Iterator<TimingWheel.Timeout<Reminder>> it = scheduledByChore.values().iterator();
+            while (it.hasNext()) {
+                TimingWheel.Timeout<Reminder> timeout = it.next();
+                Reminder reminder = timeout.item();
+                if (reminder.userId().equals(event.userId()) && reminder.householdId().equals(event.householdId())) {
+                    wheel.cancel(timeout);
+                    it.remove();
+                }
+            }
+            remindedByChore.values().removeIf(reminder -> reminder.userId().equals(event.userId())
+                    && reminder.householdId().equals(event.householdId()));
+        }
+    }
+
+    /**
+     * Loads the chores due between the end of the current window and now plus the window size.
+     */
+    void loadWindow() {
+        LocalDateTime from;
+        LocalDateTime until = LocalDateTime.now(zone).plus(properties.getWindow());
+        synchronized (lock) {
+            // A chore that has started gets no more reminders, so its sent one need not be kept
+            LocalDateTime now = LocalDateTime.now(zone);
+            remindedByChore.values().removeIf(reminder -> !reminder.dueAt().isAfter(now));
+            from = loadedUntil;
+            if (!until.isAfter(from)) {
+                return;
+            }
+            loadingUntil = until;
+            changedDuringLoad = new HashSet<>();
+        }
+        long start = System.nanoTime();
+        int[] loaded = new int[1];
+        try {
+            HouseholdContext.runAs(HouseholdContext.ALL_HOUSEHOLDS, () -> readOnlyTransaction.executeWithoutResult(
+                    status -> {
+                        try (Stream<ChoreReminderRow> rows = choreRepository.streamOpenTimedBetween(
+                                from.toLocalDate(), until.toLocalDate())) {
+                            rows.forEach(row -> {
+                                LocalDateTime dueAt = LocalDateTime.of(row.date(), row.time());
+                                if (dueAt.isBefore(from) || !dueAt.isBefore(until)) {
+                                    return;
+                                }
+                                synchronized (lock) {
+                                    if (!changedDuringLoad.contains(row.id())) {
+                                        schedule(new Reminder(row.householdId(), row.id(), row.userId(),
+                                                row.description(), dueAt));
+                                        loaded[0]++;
+                                    }
+                                }
+                            });
+                        }
+                    }));
+            synchronized (lock) {
+                loadedUntil = until;
+            }
+            log.info("Loaded {} reminders due before {} in {} ms ({} scheduled)", loaded[0], until,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), size());
+        } catch (RuntimeException e) {
+            // The window stays where it was; the next refill retries the same range
+            log.error("Failed to load upcoming chores for reminders", e);
+        } finally {
+            synchronized (lock) {
+                loadingUntil = null;
+                changedDuringLoad = null;
+            }
+            windowLoad.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void tick() {
+        List<TimingWheel.Timeout<Reminder>> due = new ArrayList<>();
+        try {
+            synchronized (lock) {
+                wheel.advance(System.currentTimeMillis(), timeout -> {
+                    scheduledByChore.remove(timeout.item().choreId());
+                    remindedByChore.put(timeout.item().choreId(), timeout.item());
+                    due.add(timeout);
+                });
+            }
+            for (TimingWheel.Timeout<Reminder> timeout : due) {
+                dispatcher.execute(() -> send(timeout.item(), timeout.deadlineMillis()));
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic tick
+            log.error("Reminder tick failed", e);
+        }
+    }
+
+    /**
+     * Puts a reminder into the wheel, or sends it right away when its lead time
+     * has already begun. Caller holds the lock.
+     */
+    private void schedule(Reminder reminder) {
+        long dueMillis = reminder.dueAt().atZone(zone).toInstant().toEpochMilli();
+        long now = System.currentTimeMillis();
+        if (dueMillis <= now) {
+            return;
+        }
+        long fireAt = dueMillis - properties.getLeadTime().toMillis();
+        TimingWheel.Timeout<Reminder> timeout = wheel.schedule(reminder, fireAt);
+        if (timeout != null) {
+            scheduledByChore.put(reminder.choreId(), timeout);
+        } else if (dispatcher != null) {
+            // Created inside its own lead time: remind now; not a firing-accuracy sample
+            remindedByChore.put(reminder.choreId(), reminder);
+            dispatcher.execute(() -> send(reminder, -1));
+        }
+    }
+
+    private void send(Reminder reminder, long scheduledMillis) {
+        if (scheduledMillis > 0) {
+            lateness.record(System.currentTimeMillis() - scheduledMillis, TimeUnit.MILLISECONDS);
+        }
+        try {
+            notifier.send(reminder);
+            fired.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Failed to send reminder for chore {}", reminder.choreId(), e);
+        }
+    }
+
+    private static java.util.concurrent.ThreadFactory daemon(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
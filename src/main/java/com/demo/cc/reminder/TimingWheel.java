@@ -0,0 +1,209 @@
+package com.demo.cc.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: O(1) schedule and cancel, and per-tick work
+ * proportional to the entries that expire or move down a level.
+ *
+ * Level {@code L} has 64 slots of {@code 64^L} ticks each. An entry is placed
+ * on the highest level where its deadline tick and the current tick differ
+ * in their base-64 digit, in the slot of its deadline's digit. When the
+ * current tick reaches the start of that slot the entry cascades to a lower
+ * level, and it expires once it reaches level 0 and its tick comes up.
+ * Entries beyond the top level wait in an overflow list that is re-placed
+ * once per top-level rotation.
+ *
+ * Not thread-safe; callers serialize access.
+ */
+public class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final Bucket<T>[][] buckets;
+    private final Bucket<T> overflow = new Bucket<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int levels, long startMillis) {
+        if (tickMillis <= 0 || levels < 1 || levels * BITS >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick " + tickMillis + " ms, " + levels + " levels");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.buckets = new Bucket[levels][SLOTS];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                buckets[level][slot] = new Bucket<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules an entry
+     * @param deadlineMillis When it should expire
+     * @return Handle for {@link #cancel}, or null if the deadline is not after the current tick
+     *         (the caller should treat the entry as already expired)
+     */
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        // Round up, so an entry never expires before its deadline
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        if (deadlineTick <= currentTick) {
+            return null;
+        }
+        Timeout<T> timeout = new Timeout<>(item, deadlineMillis, deadlineTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Removes a scheduled entry; no-op if it already expired or was cancelled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to the given time
+     * @param expired Receives every entry whose tick has come, in tick order
+     */
+    public void advance(long nowMillis, Consumer<Timeout<T>> expired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            if ((currentTick & ((1L << (levels * BITS)) - 1)) == 0) {
+                cascade(overflow, expired);
+            }
+            // Highest level first, so entries can fall through several levels in one tick
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (level * BITS)) - 1)) == 0) {
+                    cascade(buckets[level][(int) ((currentTick >>> (level * BITS)) & MASK)], expired);
+                }
+            }
+            Bucket<T> due = buckets[0][(int) (currentTick & MASK)];
+            for (Timeout<T> timeout = due.poll(); timeout != null; timeout = due.poll()) {
+                size--;
+                expired.accept(timeout);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private void cascade(Bucket<T> bucket, Consumer<Timeout<T>> expired) {
+        // Detach the whole list first: overflow entries may be placed back into the same bucket
+        Timeout<T> timeout = bucket.takeAll();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+            if (timeout.deadlineTick <= currentTick) {
+                size--;
+                expired.accept(timeout);
+            } else {
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long differing = timeout.deadlineTick ^ currentTick;
+        int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(differing)) / BITS;
+        if (level >= levels) {
+            overflow.add(timeout);
+        } else {
+            buckets[level][(int) ((timeout.deadlineTick >>> (level * BITS)) & MASK)].add(timeout);
+        }
+    }
+
+    /**
+     * A scheduled entry, linked into the bucket it currently waits in.
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadlineMillis, long deadlineTick) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public long deadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+
+    /**
+     * Intrusive doubly-linked list, so cancelling is O(1).
+     */
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout<T> takeAll() {
+            Timeout<T> first = head;
+            head = null;
+            return first;
+        }
+
+        Timeout<T> poll() {
+            Timeout<T> first = head;
+            if (first != null) {
+                remove(first);
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.demo.cc.repository;
+
+import com.demo.cc.domain.ArchivedChore;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Cold store of archived chores. Only explicit date and date-range reads come
+ * here; see {@link com.demo.cc.archive.ChoreArchiver#holds}.
+ */
+@Repository
+public interface ArchivedChoreRepository extends JpaRepository<ArchivedChore, Long> {
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select new com.demo.cc.repository.ChoreListRow(a.id, a.description, a.time, a.date, a.userId,
+                                                            a.durationMinutes, a.version, a.completedAt)
+            from ArchivedChore a
+            where a.date between :from and :to
+            order by a.date, a.time, a.id
+            """)
+    List<ChoreListRow> findRowsBetween(LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select new com.demo.cc.repository.ChoreListRow(a.id, a.description, a.time, a.date, a.userId,
+                                                            a.durationMinutes, a.version, a.completedAt)
+            from ArchivedChore a
+            where a.date between :from and :to and a.userId in :userIds
+            order by a.date, a.time, a.id
+            """)
+    List<ChoreListRow> findRowsBetweenForUsers(LocalDate from, LocalDate to, Collection<Long> userIds);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select new com.demo.cc.repository.ChoreListRow(a.id, a.description, a.time, a.date, a.userId,
+                                                            a.durationMinutes, a.version, a.completedAt)
+            from ArchivedChore a
+            where a.userId = :userId and a.date = :date
+            order by a.time, a.id
+            """)
+    List<ChoreListRow> findRowsByUserIdAndDate(Long userId, LocalDate date);
+
+    /**
+     * Latest archived date of any household; run as {@code ALL_HOUSEHOLDS}
+     */
+    @Query("select max(a.date) from ArchivedChore a")
+    Optional<LocalDate> findLatestDate();
+
+    @Transactional
+    @Modifying
+    @Query("delete from ArchivedChore a where a.userId = :userId and a.householdId = :householdId")
+    int deleteByUser(Long userId, String householdId);
+}
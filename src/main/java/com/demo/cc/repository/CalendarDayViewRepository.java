@@ -0,0 +1,75 @@
+package com.demo.cc.repository;
+
+import com.demo.cc.domain.CalendarDayView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Repository
+public interface CalendarDayViewRepository extends JpaRepository<CalendarDayView, Long> {
+
+    @Query("select v from CalendarDayView v where v.date = :date order by v.time nulls last, v.choreId")
+    List<CalendarDayView> findByDateOrderByTimeAsc(LocalDate date);
+
+    @Query("""
+            select v from CalendarDayView v
+            where v.userId = :userId and v.date = :date
+            order by v.time nulls last, v.choreId
+            """)
+    List<CalendarDayView> findByUserIdAndDateOrderByTimeAsc(Long userId, LocalDate date);
+
+    @Transactional
+    @Modifying
+    @Query("update CalendarDayView v set v.userName = :name, v.userColor = :color where v.userId = :userId")
+    int updateUser(Long userId, String name, String color);
+
+    @Transactional
+    @Modifying
+    @Query("delete from CalendarDayView v where v.userId = :userId")
+    int deleteByUserId(Long userId);
+
+    /**
+     * Inserts or replaces the row of a chore, unless the stored row is already at the same or a newer version.
+     * @return 1 if the row was written, 0 if the stored one is newer
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            merge into calendar_day_view v
+            using (select cast(:choreId as bigint) chore_id) k on v.chore_id = k.chore_id
+            when matched and v.chore_version < :choreVersion then update set
+                date = :date, time = :time, duration_minutes = :durationMinutes, description = :description,
+                user_id = :userId, user_name = :userName, user_color = :userColor, chore_version = :choreVersion,
+                completed_at = :completedAt
+            when not matched then insert (chore_id, household_id, date, time, duration_minutes, description,
+                                          user_id, user_name, user_color, chore_version, completed_at)
+                values (k.chore_id, :householdId, :date, :time, :durationMinutes, :description, :userId,
+                        :userName, :userColor, :choreVersion, :completedAt)
+            """)
+    int upsertIfNewer(Long choreId, String householdId, LocalDate date, LocalTime time, Integer durationMinutes,
+                      String description, Long userId, String userName, String userColor, Long choreVersion,
+                      Instant completedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from CalendarDayView v where v.choreId = :choreId")
+    int deleteByChoreId(Long choreId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into calendar_day_view (chore_id, household_id, date, time, duration_minutes, description,
+                                           user_id, user_name, user_color, chore_version, completed_at)
+            select c.id, c.household_id, c.date, c.time, c.duration_minutes, c.description,
+                   u.id, u.name, u.color, c.version, c.completed_at
+            from chores c join users u on u.id = c.user_id
+            """, nativeQuery = true)
+    int rebuildFromChores();
+}
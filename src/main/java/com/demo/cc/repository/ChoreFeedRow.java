@@ -0,0 +1,13 @@
+package com.demo.cc.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only projection of a chore for calendar feeds. Projections are not
+ * managed entities, so streaming them does not grow the persistence context.
+ */
+public record ChoreFeedRow(Long id, String description, LocalDate date, LocalTime time, Integer durationMinutes,
+                           Long version, Instant completedAt, String userName) {
+}
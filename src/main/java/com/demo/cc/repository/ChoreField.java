@@ -0,0 +1,38 @@
+package com.demo.cc.repository;
+
+/**
+ * Fields of the chore API that a list request can select, in response order.
+ */
+public enum ChoreField {
+
+    ID("id"),
+    DESCRIPTION("description"),
+    TIME("time"),
+    DATE("date"),
+    USER_ID("userId"),
+    DURATION_MINUTES("durationMinutes"),
+    VERSION("version"),
+    COMPLETED_AT("completedAt");
+
+    private final String name;
+
+    ChoreField(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Name in the API, which is also the entity attribute
+     */
+    public String getName() {
+        return name;
+    }
+
+    public static ChoreField byName(String name) {
+        for (ChoreField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown chore field: " + name);
+    }
+}
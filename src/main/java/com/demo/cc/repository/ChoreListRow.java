@@ -0,0 +1,13 @@
+package com.demo.cc.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only projection of a chore with the fields of the chore API, for
+ * writing list responses straight from a cursor.
+ */
+public record ChoreListRow(Long id, String description, LocalTime time, LocalDate date, Long userId,
+                           Integer durationMinutes, Long version, Instant completedAt) {
+}
@@ -0,0 +1,12 @@
+package com.demo.cc.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Partial update of one chore for {@link ChoreRepositoryCustom#patchAll}; null fields are left unchanged.
+ * @param version Version the chore must still have
+ */
+public record ChorePatch(Long id, Long version, String description, LocalTime time, LocalDate date,
+                         Integer durationMinutes, Long userId) {
+}
@@ -0,0 +1,11 @@
+package com.demo.cc.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only projection of an open, timed chore for the reminder scheduler.
+ */
+public record ChoreReminderRow(Long id, String householdId, Long userId, String description, LocalDate date,
+                               LocalTime time) {
+}
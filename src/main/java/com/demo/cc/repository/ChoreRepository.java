@@ -1,16 +1,172 @@
 package com.demo.cc.repository;
 
 import com.demo.cc.domain.Chore;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface ChoreRepository extends JpaRepository<Chore, Long> {
+public interface ChoreRepository extends JpaRepository<Chore, Long>, ChoreRepositoryCustom {
 
+    @Query("select c from Chore c where c.user.id = :userId and c.date = :date order by c.time nulls last, c.id")
     List<Chore> findByUserIdAndDate(Long userId, LocalDate date);
 
+    @Query("select c from Chore c where c.date = :date order by c.time nulls last, c.id")
     List<Chore> findByDate(LocalDate date);
+
+    long countByUserId(Long userId);
+
+    @Query("select new com.demo.cc.repository.UserChoreCount(c.user.id, count(c)) from Chore c group by c.user.id")
+    List<UserChoreCount> countChoresByUser();
+
+    @Query("select c from Chore c join fetch c.user where c.date = :date")
+    List<Chore> findWithUserByDate(LocalDate date);
+
+    @Query("select c from Chore c join fetch c.user where c.user.id = :userId and c.date = :date")
+    List<Chore> findWithUserByUserIdAndDate(Long userId, LocalDate date);
+
+    // Forward-only cursors for calendar feeds; callers must close the stream inside a transaction
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new com.demo.cc.repository.ChoreFeedRow(c.id, c.description, c.date, c.time, c.durationMinutes,
+                                                            c.version, c.completedAt, u.name)
+            from Chore c join c.user u
+            where u.id = :userId
+            order by c.date, c.time
+            """)
+    Stream<ChoreFeedRow> streamFeedByUserId(Long userId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new com.demo.cc.repository.ChoreFeedRow(c.id, c.description, c.date, c.time, c.durationMinutes,
+                                                            c.version, c.completedAt, u.name)
+            from Chore c join c.user u
+            order by c.date, c.time
+            """)
+    Stream<ChoreFeedRow> streamFeed();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new com.demo.cc.repository.ChoreReminderRow(c.id, c.householdId, c.user.id, c.description,
+                                                               c.date, c.time)
+            from Chore c
+            where c.date between :from and :to and c.time is not null and c.completedAt is null
+            """)
+    Stream<ChoreReminderRow> streamOpenTimedBetween(LocalDate from, LocalDate to);
+
+    // Projections for compact list responses
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new com.demo.cc.repository.ChoreListRow(c.id, c.description, c.time, c.date, c.user.id,
+                                                            c.durationMinutes, c.version, c.completedAt)
+            from Chore c
+            order by c.id
+            """)
+    Stream<ChoreListRow> streamRows();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new com.demo.cc.repository.ChoreListRow(c.id, c.description, c.time, c.date, c.user.id,
+                                                            c.durationMinutes, c.version, c.completedAt)
+            from Chore c
+            where c.date = :date
+            order by c.time nulls last, c.id
+            """)
+    Stream<ChoreListRow> streamRowsByDate(LocalDate date);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new com.demo.cc.repository.ChoreListRow(c.id, c.description, c.time, c.date, c.user.id,
+                                                            c.durationMinutes, c.version, c.completedAt)
+            from Chore c
+            where c.user.id = :userId and c.date = :date
+            order by c.time nulls last, c.id
+            """)
+    Stream<ChoreListRow> streamRowsByUserIdAndDate(Long userId, LocalDate date);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select new com.demo.cc.repository.ChoreListRow(c.id, c.description, c.time, c.date, c.user.id,
+                                                            c.durationMinutes, c.version, c.completedAt)
+            from Chore c
+            where c.date between :from and :to
+            order by c.date, c.time, c.id
+            """)
+    List<ChoreListRow> findRowsBetween(LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select new com.demo.cc.repository.ChoreListRow(c.id, c.description, c.time, c.date, c.user.id,
+                                                            c.durationMinutes, c.version, c.completedAt)
+            from Chore c
+            where c.user.id = :userId
+            order by c.date, c.time, c.id
+            """)
+    List<ChoreListRow> findRowsByUserId(Long userId);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select new com.demo.cc.repository.ChoreListRow(c.id, c.description, c.time, c.date, c.user.id,
+                                                            c.durationMinutes, c.version, c.completedAt)
+            from Chore c
+            where c.date between :from and :to and c.user.id in :userIds
+            order by c.date, c.time, c.id
+            """)
+    List<ChoreListRow> findRowsBetweenForUsers(LocalDate from, LocalDate to, Collection<Long> userIds);
+
+    // Bulk statements bypass the persistence context, so they name the household explicitly
+
+    /**
+     * Locks the chores until the transaction ends, so they cannot change between reading and deleting them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Chore c where c.id in :ids")
+    List<Chore> findAllForUpdate(Collection<Long> ids);
+
+    /**
+     * Marks a chore as done unless it already is.
+     * @return 1 if this call completed the chore, 0 if it was already completed or does not exist
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Chore c set c.completedAt = :completedAt, c.version = c.version + 1
+            where c.id = :id and c.householdId = :householdId and c.completedAt is null
+            """)
+    int complete(Long id, String householdId, Instant completedAt);
+
+    /**
+     * @return 1 if the chore was deleted, 0 if it does not exist or no longer has the expected version
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Chore c where c.id = :id and c.householdId = :householdId and c.version = :version")
+    int deleteChore(Long id, String householdId, Long version);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Chore c where c.id in :ids and c.householdId = :householdId")
+    int deleteChores(Collection<Long> ids, String householdId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Chore c where c.user.id = :userId and c.householdId = :householdId")
+    int deleteByUser(Long userId, String householdId);
 }
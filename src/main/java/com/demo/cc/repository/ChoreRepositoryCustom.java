@@ -0,0 +1,63 @@
+package com.demo.cc.repository;
+
+import com.demo.cc.domain.Chore;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface ChoreRepositoryCustom {
+
+    /**
+     * Partial update as a single UPDATE statement. Only non-null arguments are
+     * written, and the version is bumped. When {@code expectedVersion} is given
+     * the row is only updated if its version still matches.
+     * @return Number of rows updated (0 if the chore is missing or the version is stale)
+     */
+    int patch(Long id, String householdId, Long expectedVersion, String description, LocalTime time,
+              LocalDate date, Integer durationMinutes, Long userId);
+
+    /**
+     * Partial updates of several chores as one JDBC batch. Only non-null fields
+     * are written, a chore is only updated if its version still matches the
+     * patch's, and each version is bumped.
+     * @return Rows updated per patch, in order (0 if the chore is missing or the version is stale)
+     */
+    int[] patchAll(List<ChorePatch> patches, String householdId);
+
+    /**
+     * Inserts new chores as one JDBC batch and sets their generated ids. The
+     * chores must carry their household and a user; they are not managed
+     * afterwards.
+     */
+    void insertAll(List<Chore> chores);
+
+    /**
+     * Moves up to {@code limit} chores dated before the cutoff, of every
+     * household, into {@code chores_archive}. The rows are locked first, so a
+     * concurrent update either finishes before the move or fails after it.
+     * @return Ids of the archived chores by household
+     */
+    Map<String, List<Long>> archiveBefore(LocalDate cutoff, int limit);
+
+    /**
+     * Streams the selected fields of the chores in the hot table as one
+     * projection, joining the user only when it is included. Rows are ordered
+     * like the chore list: by id, or by time within a date. The stream must be
+     * closed inside a transaction.
+     * @param date Optional date filter
+     * @param userId Optional user filter
+     * @return Rows laid out as described in {@link ChoreSelection}
+     */
+    Stream<Object[]> streamSelected(ChoreSelection selection, LocalDate date, Long userId);
+
+    /**
+     * Selected fields of the archived chores of a date. Archived rows have no
+     * user association: an included user only carries its id, and the name
+     * and color are left null for the caller to fill in.
+     * @param userId Optional user filter
+     */
+    List<Object[]> findArchivedSelected(ChoreSelection selection, LocalDate date, Long userId);
+}
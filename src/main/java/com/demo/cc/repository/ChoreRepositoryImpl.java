@@ -0,0 +1,282 @@
+package com.demo.cc.repository;
+
+import com.demo.cc.domain.ArchivedChore;
+import com.demo.cc.domain.Chore;
+import com.demo.cc.domain.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Statements that Spring Data cannot derive: the dynamic single-statement PATCH,
+ * JDBC batches for inserting and patching many chores at once, moving
+ * past chores to the archive, and projections of selected fields.
+ */
+public class ChoreRepositoryImpl implements ChoreRepositoryCustom {
+
+    private static final String INSERT_CHORE = """
+            insert into chores (household_id, description, time, duration_minutes, date, version, user_id)
+            values (?, ?, ?, ?, ?, 0, ?)
+            """;
+    private static final String PATCH_CHORE = """
+            update chores
+            set description = coalesce(?, description), time = coalesce(?, time), date = coalesce(?, date),
+                duration_minutes = coalesce(?, duration_minutes), user_id = coalesce(?, user_id),
+                version = version + 1
+            where id = ? and household_id = ? and version = ?
+            """;
+
+    // Native statements, so they see every household; the archiver runs them as ALL_HOUSEHOLDS
+    private static final String SELECT_ARCHIVABLE = """
+            select id, household_id from chores where date < ? order by id fetch first ? rows only for update
+            """;
+    private static final String ARCHIVE_CHORES = """
+            insert into chores_archive (id, household_id, description, time, duration_minutes, date, version,
+                                        completed_at, user_id)
+            select id, household_id, description, time, duration_minutes, date, version, completed_at, user_id
+            from chores where id in (%s)
+            """;
+    private static final String DELETE_ARCHIVED = "delete from chores where id in (%s)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patch(Long id, String householdId, Long expectedVersion, String description, LocalTime time,
+                     LocalDate date, Integer durationMinutes, Long userId) {
+        // Write pending changes first and drop stale entities afterwards, like @Modifying(flush/clear)
+        entityManager.flush();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Chore> update = cb.createCriteriaUpdate(Chore.class);
+        Root<Chore> chore = update.from(Chore.class);
+
+        if (description != null) {
+            update.set(chore.<String>get("description"), description);
+        }
+        if (time != null) {
+            update.set(chore.<LocalTime>get("time"), time);
+        }
+        if (date != null) {
+            update.set(chore.<LocalDate>get("date"), date);
+        }
+        if (durationMinutes != null) {
+            update.set(chore.<Integer>get("durationMinutes"), durationMinutes);
+        }
+        if (userId != null) {
+            // A reference only carries the id; the FK constraint rejects unknown users
+            update.set(chore.<User>get("user"), entityManager.getReference(User.class, userId));
+        }
+        update.set(chore.<Long>get("version"), cb.sum(chore.<Long>get("version"), 1L));
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(chore.get("id"), id));
+        where.add(cb.equal(chore.get("householdId"), householdId));
+        if (expectedVersion != null) {
+            where.add(cb.equal(chore.get("version"), expectedVersion));
+        }
+        update.where(where.toArray(Predicate[]::new));
+
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int[] patchAll(List<ChorePatch> patches, String householdId) {
+        entityManager.flush();
+        int[][] updated = new int[1][];
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(PATCH_CHORE)) {
+                for (ChorePatch patch : patches) {
+                    update.setString(1, patch.description());
+                    setNullable(update, 2, patch.time(), Types.TIME);
+                    setNullable(update, 3, patch.date(), Types.DATE);
+                    setNullable(update, 4, patch.durationMinutes(), Types.INTEGER);
+                    setNullable(update, 5, patch.userId(), Types.BIGINT);
+                    update.setLong(6, patch.id());
+                    update.setString(7, householdId);
+                    update.setLong(8, patch.version());
+                    update.addBatch();
+                }
+                updated[0] = update.executeBatch();
+            }
+        });
+        entityManager.clear();
+        return updated[0];
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<Chore> chores) {
+        entityManager.flush();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_CHORE, new String[]{"id"})) {
+                for (Chore chore : chores) {
+                    insert.setString(1, chore.getHouseholdId());
+                    insert.setString(2, chore.getDescription());
+                    setNullable(insert, 3, chore.getTime(), Types.TIME);
+                    setNullable(insert, 4, chore.getDurationMinutes(), Types.INTEGER);
+                    insert.setObject(5, chore.getDate());
+                    insert.setLong(6, chore.getUser().getId());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    for (Chore chore : chores) {
+                        if (!keys.next()) {
+                            throw new SQLException("Missing generated id for inserted chore");
+                        }
+                        chore.setId(keys.getLong(1));
+                        chore.setVersion(0L);
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public Map<String, List<Long>> archiveBefore(LocalDate cutoff, int limit) {
+        entityManager.flush();
+        Map<String, List<Long>> archived = new HashMap<>();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement select = connection.prepareStatement(SELECT_ARCHIVABLE)) {
+                select.setObject(1, cutoff);
+                select.setInt(2, limit);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        ids.add(rows.getLong(1));
+                        archived.computeIfAbsent(rows.getString(2), householdId -> new ArrayList<>())
+                                .add(rows.getLong(1));
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            try (PreparedStatement insert = connection.prepareStatement(ARCHIVE_CHORES.formatted(in));
+                 PreparedStatement delete = connection.prepareStatement(DELETE_ARCHIVED.formatted(in))) {
+                for (int i = 0; i < ids.size(); i++) {
+                    insert.setLong(i + 1, ids.get(i));
+                    delete.setLong(i + 1, ids.get(i));
+                }
+                insert.executeUpdate();
+                delete.executeUpdate();
+            }
+        });
+        entityManager.clear();
+        return archived;
+    }
+
+    @Override
+    public Stream<Object[]> streamSelected(ChoreSelection selection, LocalDate date, Long userId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Chore> chore = query.from(Chore.class);
+        List<Selection<?>> select = selectFields(chore, selection, chore.get("user").<Long>get("id"));
+        if (selection.user()) {
+            Join<Chore, User> user = chore.join("user");
+            select.add(user.get("id"));
+            select.add(user.get("name"));
+            select.add(user.get("color"));
+        }
+        query.multiselect(select)
+                .where(filter(cb, chore, chore.get("user").<Long>get("id"), date, userId))
+                .orderBy(date != null
+                        ? List.of(cb.asc(chore.get("time")), cb.asc(chore.get("id")))
+                        : List.of(cb.asc(chore.get("id"))));
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, 500)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(tuple -> toRow(tuple, selection));
+    }
+
+    @Override
+    public List<Object[]> findArchivedSelected(ChoreSelection selection, LocalDate date, Long userId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ArchivedChore> chore = query.from(ArchivedChore.class);
+        List<Selection<?>> select = selectFields(chore, selection, chore.<Long>get("userId"));
+        if (selection.user()) {
+            select.add(chore.<Long>get("userId"));
+        }
+        query.multiselect(select)
+                .where(filter(cb, chore, chore.<Long>get("userId"), date, userId))
+                .orderBy(cb.asc(chore.get("time")), cb.asc(chore.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(tuple -> toRow(tuple, selection))
+                .toList();
+    }
+
+    private static List<Selection<?>> selectFields(Root<?> chore, ChoreSelection selection, Path<Long> userIdPath) {
+        List<Selection<?>> select = new ArrayList<>();
+        for (ChoreField field : selection.fieldList()) {
+            // The foreign key column; selecting user.id does not join the users table
+            select.add(field == ChoreField.USER_ID ? userIdPath : chore.get(field.getName()));
+        }
+        return select;
+    }
+
+    private static Predicate[] filter(CriteriaBuilder cb, Root<?> chore, Path<Long> userIdPath, LocalDate date,
+                                      Long userId) {
+        List<Predicate> where = new ArrayList<>();
+        if (date != null) {
+            where.add(cb.equal(chore.get("date"), date));
+        }
+        if (userId != null) {
+            where.add(cb.equal(userIdPath, userId));
+        }
+        return where.toArray(Predicate[]::new);
+    }
+
+    private static Object[] toRow(Tuple tuple, ChoreSelection selection) {
+        // Archived rows are selected without the user's name and color; those stay null
+        Object[] values = tuple.toArray();
+        Object[] row = new Object[selection.width()];
+        System.arraycopy(values, 0, row, 0, values.length);
+        return row;
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, Object value, int sqlType)
+            throws SQLException {
+        if (value != null) {
+            statement.setObject(index, value);
+        } else {
+            statement.setNull(index, sqlType);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.cc.repository;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The fields a chore list request asks for ({@code ?fields=}) and whether
+ * it embeds each chore's user ({@code ?include=user}). The id is always
+ * selected.
+ *
+ * Selected rows are {@code Object[]}: one value per field in
+ * {@link ChoreField} order, followed by the user's id, name and color when
+ * the user is included.
+ */
+public record ChoreSelection(Set<ChoreField> fields, boolean user) {
+
+    public static final ChoreSelection ALL = new ChoreSelection(EnumSet.allOf(ChoreField.class), false);
+
+    public ChoreSelection {
+        fields = Collections.unmodifiableSet(EnumSet.copyOf(fields));
+    }
+
+    /**
+     * Parses the request parameters
+     * @param fields Comma-separated field names, or null for all fields
+     * @param include Comma-separated relations to embed; only {@code user} is supported
+     */
+    public static ChoreSelection parse(String fields, String include) {
+        Set<ChoreField> selected = EnumSet.of(ChoreField.ID);
+        if (fields == null) {
+            selected = EnumSet.allOf(ChoreField.class);
+        } else {
+            for (String name : fields.split(",")) {
+                if (!name.isBlank()) {
+                    selected.add(ChoreField.byName(name.trim()));
+                }
+            }
+        }
+        boolean user = false;
+        if (include != null) {
+            for (String name : include.split(",")) {
+                if (name.trim().equals("user")) {
+                    user = true;
+                } else if (!name.isBlank()) {
+                    throw new IllegalArgumentException("Unknown chore relation: " + name.trim());
+                }
+            }
+        }
+        return new ChoreSelection(selected, user);
+    }
+
+    /**
+     * Whether this is the full chore of the API without embedded relations
+     */
+    public boolean isDefault() {
+        return equals(ALL);
+    }
+
+    /**
+     * Selected fields in response order
+     */
+    public List<ChoreField> fieldList() {
+        return List.copyOf(fields);
+    }
+
+    /**
+     * Number of values in a selected row
+     */
+    public int width() {
+        return fields.size() + (user ? 3 : 0);
+    }
+}
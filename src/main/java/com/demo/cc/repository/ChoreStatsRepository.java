@@ -0,0 +1,47 @@
+package com.demo.cc.repository;
+
+import com.demo.cc.domain.ChoreStats;
+import com.demo.cc.domain.StatsPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ChoreStatsRepository extends JpaRepository<ChoreStats, Long> {
+
+    List<ChoreStats> findByPeriodAndPeriodStart(StatsPeriod period, LocalDate periodStart);
+
+    List<ChoreStats> findByPeriodAndPeriodStartBetween(StatsPeriod period, LocalDate from, LocalDate to);
+
+    // Bulk statements bypass the persistence context, so they name the household explicitly
+
+    /**
+     * Adds the deltas to a rollup row, creating it with the deltas as its counts on first use. One
+     * statement, so it needs no separate insert and runs in the caller's transaction.
+     * @param period {@link StatsPeriod} name
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            merge into chore_stats s
+            using (select cast(:householdId as varchar) household_id, cast(:period as varchar) period,
+                          cast(:periodStart as date) period_start, cast(:userId as bigint) user_id) k
+            on s.household_id = k.household_id and s.period = k.period and s.period_start = k.period_start
+               and s.user_id = k.user_id
+            when matched then update set assigned = s.assigned + :assigned, completed = s.completed + :completed
+            when not matched then insert (household_id, period, period_start, user_id, assigned, completed)
+                values (k.household_id, k.period, k.period_start, k.user_id, :assigned, :completed)
+            """)
+    int increment(String householdId, String period, LocalDate periodStart, Long userId, int assigned,
+                  int completed);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ChoreStats s where s.userId = :userId and s.householdId = :householdId")
+    int deleteByUser(Long userId, String householdId);
+}
@@ -0,0 +1,13 @@
+package com.demo.cc.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only projection of a user joined with one of their chores in a date
+ * range; the chore fields are null for users without chores in the range.
+ */
+public record HouseholdSnapshotRow(Long userId, String userName, Long choreId, String description, LocalTime time,
+                                   LocalDate date, Integer durationMinutes, Instant completedAt) {
+}
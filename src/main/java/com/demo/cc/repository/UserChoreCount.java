@@ -0,0 +1,7 @@
+package com.demo.cc.repository;
+
+/**
+ * Number of chores assigned to a user.
+ */
+public record UserChoreCount(Long userId, Long count) {
+}
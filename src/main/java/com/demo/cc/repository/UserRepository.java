@@ -1,19 +1,44 @@
 package com.demo.cc.repository;
 
 import com.demo.cc.domain.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> findByName(String name);
-
-    boolean existsByName(String name);
+    @Query("select new com.demo.cc.repository.UserRow(u.id, u.name, u.color) from User u order by u.id")
+    Stream<UserRow> streamRows();
 
-    boolean existsByNameIgnoreCase(String name);
+    /**
+     * Every user with their chores between the two dates, in one query for the assistant's household snapshot
+     */
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select new com.demo.cc.repository.HouseholdSnapshotRow(u.id, u.name, c.id, c.description, c.time,
+                                                                   c.date, c.durationMinutes, c.completedAt)
+            from User u left join u.chores c on c.date between :from and :to
+            order by c.date nulls first, c.time nulls first, c.id, u.id
+            """)
+    List<HouseholdSnapshotRow> findSnapshotRows(LocalDate from, LocalDate to);
 
-    Optional<User> findByNameIgnoreCase(String name);
+    /**
+     * Deletes the user row only; callers remove the user's chores first with
+     * {@link ChoreRepository#deleteByUser(Long, String)}.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.id = :id and u.householdId = :householdId")
+    int deleteUser(Long id, String householdId);
 }
@@ -0,0 +1,7 @@
+package com.demo.cc.repository;
+
+/**
+ * Read-only projection of a user with the fields of the user API.
+ */
+public record UserRow(Long id, String name, String color) {
+}
@@ -0,0 +1,39 @@
+package com.demo.cc.repository;
+
+import com.demo.cc.domain.UserStreak;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface UserStreakRepository extends JpaRepository<UserStreak, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserStreak s where s.userId = :userId")
+    Optional<UserStreak> findForUpdate(Long userId);
+
+    /**
+     * Creates the user's zero streak row unless it exists; one statement in the caller's transaction.
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            merge into user_streaks s
+            using (select cast(:userId as bigint) user_id, cast(:householdId as varchar) household_id) k
+            on s.user_id = k.user_id
+            when not matched then insert (user_id, household_id, current_streak, best_streak)
+                values (k.user_id, k.household_id, 0, 0)
+            """)
+    int createIfMissing(Long userId, String householdId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from UserStreak s where s.userId = :userId and s.householdId = :householdId")
+    int deleteByUser(Long userId, String householdId);
+}
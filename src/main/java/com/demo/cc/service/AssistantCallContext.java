@@ -0,0 +1,139 @@
+package com.demo.cc.service;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Deadline, write ownership, tool-set requests and tool errors of one model
+ * call attempt, visible to the tool calls it makes on the same thread.
+ *
+ * Hedged attempts of the same chat request share one write claim, so only one
+ * of them can change data; the other fails its first write tool call and
+ * loses the race. A claim whose writes all rolled back is given up again,
+ * since nothing was changed.
+ */
+public final class AssistantCallContext {
+
+    private static final ThreadLocal<AssistantCallContext> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final AtomicReference<AssistantCallContext> writer;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private volatile boolean committed;
+    private volatile boolean allToolsRequested;
+    private volatile RuntimeException toolError;
+
+    private AssistantCallContext(long deadlineNanos, AtomicReference<AssistantCallContext> writer) {
+        this.deadlineNanos = deadlineNanos;
+        this.writer = writer;
+    }
+
+    /**
+     * Creates the contexts for the attempts of one request; they share the deadline and the write claim.
+     */
+    public static AssistantCallContext[] forAttempts(long deadlineNanos, int attempts) {
+        AtomicReference<AssistantCallContext> writer = new AtomicReference<>();
+        AssistantCallContext[] contexts = new AssistantCallContext[attempts];
+        for (int i = 0; i < attempts; i++) {
+            contexts[i] = new AssistantCallContext(deadlineNanos, writer);
+        }
+        return contexts;
+    }
+
+    public static AssistantCallContext current() {
+        return CURRENT.get();
+    }
+
+    public <T> T call(Supplier<T> action) {
+        AssistantCallContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Whether some attempt of the request has already written data.
+     */
+    public boolean hasWritten() {
+        return writer.get() != null;
+    }
+
+    /**
+     * Throws if the deadline has passed.
+     */
+    public void checkDeadline() throws TimeoutException {
+        if (remainingNanos() <= 0) {
+            throw new TimeoutException("Assistant request deadline exceeded");
+        }
+    }
+
+    /**
+     * Marks that the model asked for tools missing from the narrowed set.
+     */
+    public void requestAllTools() {
+        allToolsRequested = true;
+    }
+
+    public boolean isAllToolsRequested() {
+        return allToolsRequested;
+    }
+
+    /**
+     * Records that a tool call failed, so a failed model call can be told apart from a provider error.
+     */
+    public void toolFailed(RuntimeException error) {
+        if (toolError == null) {
+            toolError = error;
+        }
+    }
+
+    public boolean hasToolError() {
+        return toolError != null;
+    }
+
+    /**
+     * Forgets the tool-set request and tool error before the turn is retried.
+     */
+    public void resetForRetry() {
+        allToolsRequested = false;
+        toolError = null;
+    }
+
+    /**
+     * Claims the right to write for this attempt.
+     * @return false if another attempt of the same request already writes
+     */
+    public boolean claimWrite() {
+        if (writer.compareAndSet(null, this) || writer.get() == this) {
+            pendingWrites.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ends a write started with {@link #claimWrite}; the claim is released if none of this attempt's writes
+     * committed.
+     */
+    public void writeFinished(boolean commit) {
+        if (commit) {
+            committed = true;
+        }
+        if (pendingWrites.decrementAndGet() == 0 && !committed) {
+            writer.compareAndSet(this, null);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.demo.cc.service;
+
+import com.demo.cc.config.ToolConfig;
+import com.demo.cc.config.ToolConfig.ChoreInfo;
+import com.demo.cc.config.ToolConfig.ChoreListResponse;
+import com.demo.cc.config.ToolConfig.ChoresByDateRequest;
+import com.demo.cc.config.ToolConfig.ChoresByUserRequest;
+import com.demo.cc.config.ToolConfig.UserListResponse;
+import com.demo.cc.config.UserContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Answers simple read requests without the model, for when the model is
+ * unavailable.
+ *
+ * Only a few unambiguous phrasings are recognized: listing users, chores for
+ * a day, chores of a named user and all chores. Anything else gets no answer
+ * and the caller falls back to an apology. The tools run through
+ * {@link AssistantToolGuard}, like the model's calls, so each gets its own
+ * read-only transaction for lazy loads.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AssistantFallback {
+
+    private static final Pattern LIST_USERS =
+            Pattern.compile("\\b(list|show|who)\\b.*\\b(users|family|members|people)\\b");
+    private static final Pattern CHORES_OF_USER =
+            Pattern.compile("\\bchores\\b.*\\b(?:for|of)\\s+([a-z][\\w-]*)");
+    private static final Pattern CHORES_ON_DATE =
+            Pattern.compile("\\bchores\\b.*\\b(today|tomorrow|yesterday|\\d{4}-\\d{2}-\\d{2})\\b");
+    private static final Pattern ALL_CHORES =
+            Pattern.compile("\\b(list|show)\\b.*\\b(all\\s+)?chores\\b");
+
+    private final ToolConfig toolConfig;
+    private final AssistantToolGuard toolGuard;
+    private final UserDirectory userDirectory;
+
+    /**
+     * Answers the message directly if it is a recognized read request
+     * @param message User message
+     * @return Answer, or empty if the message needs the model
+     */
+    public Optional<String> answer(String message) {
+        String text = message.toLowerCase(Locale.ROOT).trim();
+        try {
+            Matcher matcher = CHORES_OF_USER.matcher(text);
+            if (matcher.find() && !isDateWord(matcher.group(1))) {
+                Optional<String> answer = choresOfUser(matcher.group(1), dateIn(text));
+                if (answer.isPresent()) {
+                    return answer;
+                }
+            }
+            matcher = CHORES_ON_DATE.matcher(text);
+            if (matcher.find()) {
+                LocalDate date = parseDateWord(matcher.group(1));
+                ChoreListResponse chores = toolGuard.read("listChoresByDate",
+                        () -> toolConfig.listChoresByDate(new ChoresByDateRequest(date.toString())));
+                return Optional.of(formatChores("Chores on " + date, chores));
+            }
+            if (LIST_USERS.matcher(text).find()) {
+                return Optional.of(formatUsers(toolGuard.read("listUsers", toolConfig::listUsers)));
+            }
+            if (ALL_CHORES.matcher(text).find()) {
+                return Optional.of(formatChores("All chores",
+                        toolGuard.read("listAllChores", toolConfig::listAllChores)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Fallback answer failed for '{}': {}", UserContent.of(message), e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> choresOfUser(String name, LocalDate date) {
+        return userDirectory.findByName(name).map(user -> {
+            ChoreListResponse chores = toolGuard.read("listChoresForUser", () -> toolConfig.listChoresForUser(
+                    new ChoresByUserRequest(user.id(), date != null ? date.toString() : null)));
+            return formatChores("Chores for " + user.name() + (date != null ? " on " + date : ""), chores);
+        });
+    }
+
+    private static LocalDate dateIn(String text) {
+        Matcher matcher = CHORES_ON_DATE.matcher(text);
+        return matcher.find() ? parseDateWord(matcher.group(1)) : null;
+    }
+
+    private static boolean isDateWord(String word) {
+        return word.equals("today") || word.equals("tomorrow") || word.equals("yesterday");
+    }
+
+    private static LocalDate parseDateWord(String word) {
+        return switch (word) {
+            case "today" -> LocalDate.now();
+            case "tomorrow" -> LocalDate.now().plusDays(1);
+            case "yesterday" -> LocalDate.now().minusDays(1);
+            default -> LocalDate.parse(word);
+        };
+    }
+
+    private static String formatUsers(UserListResponse users) {
+        if (users.count() == 0) {
+            return "There are no family members yet.";
+        }
+        return "Family members:\n" + users.users().stream()
+                .map(user -> "- " + user.name() + " (" + user.choreCount() + " chores)")
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String formatChores(String title, ChoreListResponse chores) {
+        if (chores.count() == 0) {
+            return title + ": none.";
+        }
+        return title + ":\n" + chores.chores().stream()
+                .map(AssistantFallback::formatChore)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String formatChore(ChoreInfo chore) {
+        return "- " + chore.date() + (chore.time() != null ? " " + chore.time() : "")
+                + " " + chore.description() + " (" + chore.userName() + ")";
+    }
+}
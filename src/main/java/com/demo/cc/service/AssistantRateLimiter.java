@@ -0,0 +1,178 @@
+package com.demo.cc.service;
+
+import com.demo.cc.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiter for the assistant, keyed by chat session and by
+ * client IP. Every key has two budgets: requests and estimated model tokens.
+ *
+ * Buckets are updated under one of a fixed set of striped locks chosen by key
+ * hash, so unrelated sessions never contend on the same lock. Idle buckets are
+ * evicted in the background. Only the assistant endpoint calls this class, so
+ * CRUD requests never pay for it.
+ */
+@Component
+@Slf4j
+public class AssistantRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final RateLimitProperties properties;
+    private final Map<String, Buckets> buckets = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[STRIPES];
+    private final Counter rejectedRequests;
+    private final Counter rejectedTokens;
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rate-limit-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AssistantRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.rejectedRequests = Counter.builder("chore.assistant.rate_limited")
+                .description("Chat requests rejected by the rate limiter")
+                .tag("budget", "requests")
+                .register(meterRegistry);
+        this.rejectedTokens = Counter.builder("chore.assistant.rate_limited")
+                .description("Chat requests rejected by the rate limiter")
+                .tag("budget", "tokens")
+                .register(meterRegistry);
+        Gauge.builder("chore.assistant.rate_limit.buckets", buckets, Map::size)
+                .description("Rate limit keys currently tracked")
+                .register(meterRegistry);
+        long idleMillis = properties.getIdleTimeout().toMillis();
+        evictor.scheduleWithFixedDelay(this::evictIdle, idleMillis, idleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Outcome of a rate-limit check; {@code retryAfterSeconds} is only meaningful when rejected.
+     */
+    public record Decision(boolean allowed, long retryAfterSeconds) {
+
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    /**
+     * Charges one request and the estimated tokens of {@code message} to both keys.
+     * Nothing is charged unless both keys have budget left.
+     * @param sessionKey Chat session key, or null if the request has none
+     * @param clientIp Client IP address
+     */
+    public Decision tryAcquire(String sessionKey, String clientIp, String message) {
+        if (!properties.isEnabled()) {
+            return Decision.ALLOWED;
+        }
+        // A single oversized message may use the whole budget, but never more
+        int tokens = Math.min(estimateTokens(message), properties.getTokensPerMinute());
+        long now = System.nanoTime();
+
+        Decision session = sessionKey != null ? tryAcquire("session:" + sessionKey, tokens, now) : Decision.ALLOWED;
+        if (!session.allowed()) {
+            return session;
+        }
+        Decision ip = tryAcquire("ip:" + clientIp, tokens, now);
+        if (!ip.allowed() && sessionKey != null) {
+            refund("session:" + sessionKey, tokens);
+        }
+        return ip;
+    }
+
+    /**
+     * Rough token estimate: ~4 characters per token plus the fixed prompt overhead.
+     */
+    int estimateTokens(String message) {
+        return properties.getPromptOverheadTokens() + (message != null ? message.length() / 4 + 1 : 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictor.shutdownNow();
+    }
+
+    private Decision tryAcquire(String key, int tokens, long now) {
+        synchronized (stripeFor(key)) {
+            Buckets bucket = buckets.computeIfAbsent(key, k -> new Buckets(properties, now));
+            bucket.refill(properties, now);
+            if (bucket.requests < 1) {
+                rejectedRequests.increment();
+                return reject(key, 1 - bucket.requests, properties.getRequestsPerMinute());
+            }
+            if (bucket.tokens < tokens) {
+                rejectedTokens.increment();
+                return reject(key, tokens - bucket.tokens, properties.getTokensPerMinute());
+            }
+            bucket.requests -= 1;
+            bucket.tokens -= tokens;
+            return Decision.ALLOWED;
+        }
+    }
+
+    private void refund(String key, int tokens) {
+        synchronized (stripeFor(key)) {
+            Buckets bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.requests = Math.min(bucket.requests + 1, properties.getRequestsPerMinute());
+                bucket.tokens = Math.min(bucket.tokens + tokens, properties.getTokensPerMinute());
+            }
+        }
+    }
+
+    private Decision reject(String key, double missing, int perMinute) {
+        long retryAfter = Math.max(1, (long) Math.ceil(missing * 60.0 / perMinute));
+        log.warn("Rate limit exceeded for {}, retry after {}s", key, retryAfter);
+        return new Decision(false, retryAfter);
+    }
+
+    private void evictIdle() {
+        long cutoff = System.nanoTime() - properties.getIdleTimeout().toNanos();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> {
+            synchronized (stripeFor(entry.getKey())) {
+                return entry.getValue().lastAccess - cutoff < 0;
+            }
+        });
+        log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+
+    private Object stripeFor(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    /**
+     * Request and token budgets of one key; guarded by the key's stripe lock.
+     */
+    private static final class Buckets {
+        double requests;
+        double tokens;
+        long lastAccess;
+
+        Buckets(RateLimitProperties properties, long now) {
+            requests = properties.getRequestsPerMinute();
+            tokens = properties.getTokensPerMinute();
+            lastAccess = now;
+        }
+
+        void refill(RateLimitProperties properties, long now) {
+            double minutes = (now - lastAccess) / 60_000_000_000.0;
+            requests = Math.min(properties.getRequestsPerMinute(), requests + minutes * properties.getRequestsPerMinute());
+            tokens = Math.min(properties.getTokensPerMinute(), tokens + minutes * properties.getTokensPerMinute());
+            lastAccess = now;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.demo.cc.service;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs assistant tool calls under the deadline of the chat request.
+ *
+ * Model calls run on worker threads, so each tool call gets its own
+ * transaction (and with it a persistence context for lazy loads). The
+ * transaction timeout is the time left until the deadline, which Hibernate
+ * turns into JDBC query timeouts. Each call is observed as a
+ * chore.assistant.tool span.
+ */
+@Component
+@Slf4j
+public class AssistantToolGuard {
+
+    /** Tools that only read; everything else is treated as a write */
+    public static final Set<String> READ_TOOLS = Set.of("getUser", "listUsers", "getChore", "listAllChores",
+            "listChoresByDate", "listChoresForUser", "listChoresInRange", "searchChores", "getChoreStats",
+            "requestAllTools");
+
+    private final PlatformTransactionManager transactionManager;
+    private final ObservationRegistry observationRegistry;
+
+    public AssistantToolGuard(PlatformTransactionManager transactionManager,
+                              ObservationRegistry observationRegistry) {
+        this.transactionManager = transactionManager;
+        this.observationRegistry = observationRegistry;
+    }
+
+    public <T> T read(String tool, Supplier<T> action) {
+        return run(tool, true, action);
+    }
+
+    public <T> T write(String tool, Supplier<T> action) {
+        AssistantCallContext context = AssistantCallContext.current();
+        if (context != null && !context.claimWrite()) {
+            // A hedged attempt of the same request is already changing data
+            throw new CancellationException("Another attempt of this request already writes; skipping " + tool);
+        }
+        if (context == null) {
+            return run(tool, false, action);
+        }
+        boolean commit = false;
+        try {
+            T result = run(tool, false, action);
+            commit = true;
+            return result;
+        } finally {
+            context.writeFinished(commit);
+        }
+    }
+
+    private <T> T run(String tool, boolean readOnly, Supplier<T> action) {
+        AssistantCallContext context = AssistantCallContext.current();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        if (context != null) {
+            try {
+                context.checkDeadline();
+            } catch (TimeoutException e) {
+                log.warn("Skipping tool {}: request deadline exceeded", tool);
+                throw new CancellationException(e.getMessage());
+            }
+            template.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(context.remainingNanos())));
+        }
+        return Observation.createNotStarted("chore.assistant.tool", observationRegistry)
+                .contextualName("tool " + tool)
+                .lowCardinalityKeyValue("tool", tool)
+                .lowCardinalityKeyValue("kind", readOnly ? "read" : "write")
+                .observe(() -> template.execute(status -> action.get()));
+    }
+}
@@ -0,0 +1,283 @@
+package com.demo.cc.service;
+
+import com.demo.cc.config.CalendarFeedProperties;
+import com.demo.cc.domain.Chore;
+import com.demo.cc.domain.User;
+import com.demo.cc.dto.CalendarImportResult;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.ics.IcsEvent;
+import com.demo.cc.ics.IcsReader;
+import com.demo.cc.ics.IcsWriter;
+import com.demo.cc.repository.ChoreFeedRow;
+import com.demo.cc.repository.ChoreRepository;
+import com.demo.cc.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * iCalendar feeds of a user's or the whole household's chores, and bulk
+ * import of iCalendar files as chores.
+ *
+ * Feeds are written while rows stream from a forward-only cursor, so a feed
+ * of any size needs memory for one row. Each household has a revision that
+ * every committed chore or user change bumps; feeds derive their ETag and
+ * Last-Modified from it, so an unchanged feed is answered with 304 before
+ * any query runs.
+ *
+ * Imports read one event at a time and insert chores in JDBC batches, each
+ * batch in its own transaction together with its stats rollups. Events that
+ * overlap an existing timed chore of the user, or an earlier event of the
+ * same file, are skipped, as are the feed's own events.
+ */
+@Service
+@Slf4j
+public class CalendarFeedService {
+
+    public static final String UID_SUFFIX = "@chore-calendar";
+
+    private static final int MAX_PROBLEMS = 20;
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    private final ChoreRepository choreRepository;
+    private final UserRepository userRepository;
+    private final ChoreIntervalIndex intervalIndex;
+    private final ChoreStatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CalendarFeedProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    // Revisions restart with the process; the boot time in the ETag keeps old tags from matching
+    private final long bootMillis = System.currentTimeMillis();
+    private final AtomicLong revisions = new AtomicLong();
+    private final Map<String, FeedRevision> revisionByHousehold = new ConcurrentHashMap<>();
+
+    public CalendarFeedService(ChoreRepository choreRepository, UserRepository userRepository,
+                               ChoreIntervalIndex intervalIndex, ChoreStatsService statsService,
+                               ApplicationEventPublisher eventPublisher, CalendarFeedProperties properties,
+                               PlatformTransactionManager transactionManager) {
+        this.choreRepository = choreRepository;
+        this.userRepository = userRepository;
+        this.intervalIndex = intervalIndex;
+        this.statsService = statsService;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Validator for a feed of the current household
+     * @param feed Feed name, part of the ETag
+     */
+    public FeedVersion version(String feed) {
+        FeedRevision revision = revisionByHousehold.getOrDefault(HouseholdContext.current(),
+                new FeedRevision(0, bootMillis));
+        String etag = "\"" + feed + "-" + Long.toString(bootMillis, 36) + "-" + revision.number() + "\"";
+        return new FeedVersion(etag, revision.changedAt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChoreChanged(ChoreChangedEvent event) {
+        bump(event.householdId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        bump(event.householdId());
+    }
+
+    private void bump(String householdId) {
+        revisionByHousehold.put(householdId, new FeedRevision(revisions.incrementAndGet(), System.currentTimeMillis()));
+    }
+
+    // ===== Export =====
+
+    @Transactional(readOnly = true)
+    public void writeUserFeed(Long userId, Writer out) throws IOException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        try (Stream<ChoreFeedRow> rows = choreRepository.streamFeedByUserId(userId)) {
+            write("Chores - " + user.getName(), rows, false, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeHouseholdFeed(Writer out) throws IOException {
+        try (Stream<ChoreFeedRow> rows = choreRepository.streamFeed()) {
+            write("Chores", rows, true, out);
+        }
+    }
+
+    private void write(String calendarName, Stream<ChoreFeedRow> rows, boolean withUserName, Writer out)
+            throws IOException {
+        IcsWriter ics = new IcsWriter(out);
+        ics.begin(calendarName);
+        int count = 0;
+        for (Iterator<ChoreFeedRow> it = rows.iterator(); it.hasNext(); count++) {
+            ChoreFeedRow row = it.next();
+            ics.event("chore-" + row.id() + UID_SUFFIX,
+                    withUserName ? row.userName() + ": " + row.description() : row.description(),
+                    row.date(), row.time(), ChoreIntervalIndex.duration(row.durationMinutes()),
+                    row.version() != null ? row.version() : 0, row.completedAt());
+        }
+        ics.end();
+        log.debug("Wrote calendar feed '{}' with {} events", calendarName, count);
+    }
+
+    // ===== Import =====
+
+    /**
+     * Imports every event of an iCalendar stream as a chore of the user
+     * @param source Calendar text, read incrementally
+     * @return Counts of imported and skipped events, with the first problems found
+     */
+    public CalendarImportResult importFeed(Long userId, Reader source) throws IOException {
+        String householdId = HouseholdContext.current();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        int batchSize = Math.max(1, properties.getImportBatchSize());
+
+        List<Chore> batch = new ArrayList<>(batchSize);
+        // Time slots of the pending batch, start -> end minute; committed chores are checked on insert
+        NavigableMap<Long, Long> pendingSlots = new TreeMap<>();
+        List<String> problems = new ArrayList<>();
+        int read = 0;
+        int imported = 0;
+        int skipped = 0;
+
+        try (IcsReader reader = new IcsReader(source, ZoneId.systemDefault())) {
+            while (true) {
+                IcsEvent event;
+                try {
+                    event = reader.next();
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    addProblem(problems, e.getMessage());
+                    continue;
+                }
+                if (event == null) {
+                    break;
+                }
+                if (++read > properties.getMaxImportEvents()) {
+                    addProblem(problems, "Stopped after " + properties.getMaxImportEvents() + " events");
+                    break;
+                }
+
+                String problem = check(event, pendingSlots);
+                if (problem != null) {
+                    skipped++;
+                    addProblem(problems, problem);
+                    continue;
+                }
+                batch.add(toChore(event, householdId, user));
+                if (batch.size() == batchSize) {
+                    int inserted = insert(batch, householdId, userId, problems);
+                    imported += inserted;
+                    skipped += batch.size() - inserted;
+                    batch.clear();
+                    pendingSlots.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            int inserted = insert(batch, householdId, userId, problems);
+            imported += inserted;
+            skipped += batch.size() - inserted;
+        }
+        log.info("Imported {} chores for user {} ({} skipped)", imported, userId, skipped);
+        return new CalendarImportResult(imported, skipped, problems);
+    }
+
+    private String check(IcsEvent event, NavigableMap<Long, Long> pendingSlots) {
+        if (event.uid() != null && event.uid().endsWith(UID_SUFFIX)) {
+            return "Skipped '" + event.summary() + "' on " + event.date() + ": exported from this app";
+        }
+        if (event.summary() == null || event.summary().isBlank()) {
+            return "Skipped event on " + event.date() + ": no summary";
+        }
+        if (event.time() == null) {
+            return null;
+        }
+        long start = ChoreIntervalIndex.startMinute(event.date(), event.time());
+        long end = start + ChoreIntervalIndex.duration(event.durationMinutes());
+        Map.Entry<Long, Long> before = pendingSlots.lowerEntry(end);
+        if (before != null && before.getValue() > start) {
+            return "Skipped '" + event.summary() + "' on " + event.date() + " " + event.time()
+                    + ": overlaps another event in the file";
+        }
+        pendingSlots.put(start, end);
+        return null;
+    }
+
+    private static Chore toChore(IcsEvent event, String householdId, User user) {
+        String description = event.summary().trim();
+        Chore chore = new Chore();
+        chore.setHouseholdId(householdId);
+        chore.setDescription(description.length() > MAX_DESCRIPTION_LENGTH
+                ? description.substring(0, MAX_DESCRIPTION_LENGTH) : description);
+        chore.setDate(event.date());
+        chore.setTime(event.time());
+        chore.setDurationMinutes(event.time() != null ? event.durationMinutes() : null);
+        chore.setVersion(0L);
+        chore.setUser(user);
+        return chore;
+    }
+
+    /**
+     * Inserts a batch with one JDBC batch statement and accounts for it in the
+     * rollups, all in one transaction. Chores that overlap one of the user's
+     * chores, committed or being saved, are skipped; the others hold their
+     * slots until commit.
+     * @return Number of chores inserted
+     */
+    private int insert(List<Chore> batch, String householdId, Long userId, List<String> problems) {
+        return transactionTemplate.execute(status -> {
+            List<Chore> free = new ArrayList<>(batch.size());
+            for (Chore chore : batch) {
+                if (intervalIndex.tryReserve(householdId, chore)) {
+                    free.add(chore);
+                } else {
+                    addProblem(problems, "Skipped '" + chore.getDescription() + "' on " + chore.getDate() + " "
+                            + chore.getTime() + ": overlaps another chore");
+                }
+            }
+            if (free.isEmpty()) {
+                return 0;
+            }
+            choreRepository.insertAll(free);
+            statsService.choresAdded(userId, free.stream().map(Chore::getDate).toList());
+            free.forEach(chore -> eventPublisher.publishEvent(ChoreChangedEvent.upserted(chore)));
+            return free.size();
+        });
+    }
+
+    private static void addProblem(List<String> problems, String problem) {
+        if (problems.size() < MAX_PROBLEMS) {
+            problems.add(problem);
+        }
+    }
+
+    public record FeedVersion(String etag, long lastModified) {}
+
+    private record FeedRevision(long number, long changedAt) {}
+}
@@ -0,0 +1,167 @@
+package com.demo.cc.service;
+
+import com.demo.cc.config.ReadModelProperties;
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.CalendarDayViewRepository;
+import com.demo.cc.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronously projects committed chore/user changes into the
+ * {@code calendar_day_view} read model.
+ *
+ * Events are applied on a single projector thread, each in the household it
+ * was published for. Two transactions can publish in a different order than
+ * they committed, so an upsert only replaces an older version of the row, and
+ * an upsert of a chore deleted since is dropped. The lag
+ * is the age of the oldest event not yet applied; readers only use the
+ * projection while that lag stays within {@link ReadModelProperties#getMaxLag()}.
+ */
+@Service
+@Slf4j
+public class CalendarProjector {
+
+    private static final int RECENT_DELETES = 10_000;
+
+    private final CalendarDayViewRepository viewRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadModelProperties properties;
+    private final Timer applyTimer;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "calendar-projector");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Enqueue timestamps of pending events, oldest first (FIFO matches the single projector thread)
+    private final ConcurrentLinkedQueue<Long> pendingSince = new ConcurrentLinkedQueue<>();
+
+    // Only touched on the projector thread
+    private final RecentDeletes recentDeletes = new RecentDeletes(RECENT_DELETES);
+
+    private volatile boolean ready;
+
+    public CalendarProjector(CalendarDayViewRepository viewRepository, UserRepository userRepository,
+                             PlatformTransactionManager transactionManager, ReadModelProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.viewRepository = viewRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.applyTimer = Timer.builder("chore.read_model.apply")
+                .description("Time to apply one change event to the calendar read model")
+                .register(meterRegistry);
+        Gauge.builder("chore.read_model.lag", this, p -> p.lagMillis())
+                .description("Age in ms of the oldest change not yet visible in the read model")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("chore.read_model.pending", pendingSince, ConcurrentLinkedQueue::size)
+                .description("Change events waiting to be projected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the given endpoint should read from the projection right now.
+     */
+    public boolean canServe(String endpoint) {
+        return properties.isEnabledFor(endpoint) && ready
+                && lagMillis() <= properties.getMaxLag().toMillis();
+    }
+
+    public long lagMillis() {
+        Long oldest = pendingSince.peek();
+        return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        submit(HouseholdContext.ALL_HOUSEHOLDS, () -> {
+            recentDeletes.clear();
+            viewRepository.deleteAllInBatch();
+            int rows = viewRepository.rebuildFromChores();
+            ready = true;
+            log.info("Calendar read model rebuilt with {} rows", rows);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChoreChanged(ChoreChangedEvent event) {
+        submit(event.householdId(), () -> {
+            if (event.type() != ChangeType.UPSERTED) {
+                viewRepository.deleteByChoreId(event.choreId());
+                // An archived chore still exists; only a delete makes later upserts stale
+                if (event.type() == ChangeType.DELETED) {
+                    recentDeletes.add(event.choreId());
+                }
+                return;
+            }
+            if (recentDeletes.contains(event.choreId())) {
+                log.debug("Skipping change of chore {} deleted since", event.choreId());
+                return;
+            }
+            userRepository.findById(event.userId()).ifPresent(user -> {
+                if (viewRepository.upsertIfNewer(event.choreId(), event.householdId(), event.date(), event.time(),
+                        event.durationMinutes(), event.description(), user.getId(), user.getName(), user.getColor(),
+                        event.version(), event.completedAt()) == 0) {
+                    log.debug("Skipping out-of-order change of chore {} at version {}", event.choreId(),
+                            event.version());
+                }
+            });
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        submit(event.householdId(), () -> {
+            if (event.type() == ChangeType.DELETED) {
+                viewRepository.deleteByUserId(event.userId());
+            } else {
+                viewRepository.updateUser(event.userId(), event.name(), event.color());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void submit(String householdId, Runnable projection) {
+        long enqueuedAt = System.nanoTime();
+        pendingSince.add(enqueuedAt);
+        executor.execute(() -> {
+            try {
+                applyTimer.record(() -> HouseholdContext.runAs(householdId,
+                        () -> transactionTemplate.executeWithoutResult(status -> projection.run())));
+            } catch (RuntimeException e) {
+                log.error("Failed to apply change to calendar read model", e);
+                // The read model missed a change: stop serving from it and rebuild once
+                if (ready) {
+                    ready = false;
+                    rebuild();
+                }
+            } finally {
+                pendingSince.poll();
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.cc.service;
+
+import com.demo.cc.archive.ChoreArchiver;
+import com.demo.cc.config.ReadModelProperties;
+import com.demo.cc.domain.CalendarDayView;
+import com.demo.cc.domain.Chore;
+import com.demo.cc.dto.CalendarEntryDto;
+import com.demo.cc.repository.CalendarDayViewRepository;
+import com.demo.cc.repository.ChoreListRow;
+import com.demo.cc.repository.ChoreRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Calendar/dashboard reads. Served from the {@code calendar_day_view}
+ * projection when enabled and fresh enough, otherwise from the primary tables.
+ * Days the archiver reached also read the archive.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarService {
+
+    private final CalendarDayViewRepository viewRepository;
+    private final ChoreRepository choreRepository;
+    private final CalendarProjector projector;
+    private final ChoreArchiver archiver;
+    private final UserDirectory userDirectory;
+
+    @Transactional(readOnly = true)
+    public List<CalendarEntryDto> getCalendar(LocalDate date, Long userId) {
+        List<CalendarEntryDto> entries = getHotCalendar(date, userId);
+        List<ChoreListRow> archived = archiver.archivedOn(date, userId);
+        if (archived.isEmpty()) {
+            return entries;
+        }
+        List<CalendarEntryDto> all = new ArrayList<>(entries);
+        archived.forEach(row -> all.add(convertToDto(row)));
+        return all;
+    }
+
+    private List<CalendarEntryDto> getHotCalendar(LocalDate date, Long userId) {
+        if (projector.canServe(ReadModelProperties.CALENDAR)) {
+            log.debug("Fetching calendar for {} (user {}) from read model", date, userId);
+            List<CalendarDayView> rows = userId != null
+                    ? viewRepository.findByUserIdAndDateOrderByTimeAsc(userId, date)
+                    : viewRepository.findByDateOrderByTimeAsc(date);
+            return rows.stream().map(this::convertToDto).collect(Collectors.toList());
+        }
+
+        log.debug("Fetching calendar for {} (user {}) from primary tables", date, userId);
+        List<Chore> chores = userId != null
+                ? choreRepository.findWithUserByUserIdAndDate(userId, date)
+                : choreRepository.findWithUserByDate(date);
+        return chores.stream().map(this::convertToDto).collect(Collectors.toList());
+    }
+
+    private CalendarEntryDto convertToDto(CalendarDayView view) {
+        return new CalendarEntryDto(view.getChoreId(), view.getDescription(), view.getTime(),
+                view.getDurationMinutes(), view.getDate(), view.getUserId(), view.getUserName(), view.getUserColor());
+    }
+
+    private CalendarEntryDto convertToDto(ChoreListRow row) {
+        UserDirectory.Entry user = userDirectory.findById(row.userId()).orElse(null);
+        return new CalendarEntryDto(row.id(), row.description(), row.time(), row.durationMinutes(), row.date(),
+                row.userId(), user != null ? user.name() : null, user != null ? user.color() : null);
+    }
+
+    private CalendarEntryDto convertToDto(Chore chore) {
+        return new CalendarEntryDto(chore.getId(), chore.getDescription(), chore.getTime(),
+                chore.getDurationMinutes(), chore.getDate(), chore.getUser().getId(), chore.getUser().getName(),
+                chore.getUser().getColor());
+    }
+}
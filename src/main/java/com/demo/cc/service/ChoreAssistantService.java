@@ -1,47 +1,78 @@
 package com.demo.cc.service;
 
+import com.demo.cc.config.AssistantResilienceProperties;
+import com.demo.cc.household.HouseholdContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.AbstractChatMemoryAdvisor;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * AI-powered assistant service for managing chores using Spring AI. This
  * service helps users manage their daily chores through natural language
  * interactions.
+ *
+ * The ChatClient (and with it the Azure OpenAI model and the function beans)
+ * is built on the first chat request rather than at startup, so CRUD-only
+ * instances never pay for the AI stack.
+ *
+ * Model calls run on worker threads under an end-to-end deadline. Optionally
+ * a second, hedged call is sent when the first is slower than the recent p95
+ * latency. While hedging, each attempt keeps its exchange in a scratch copy
+ * of the conversation and only the winner's is added to the conversation
+ * memory. A circuit breaker stops calling a failing provider; while it is
+ * open, simple read requests are answered by {@link AssistantFallback}.
+ *
+ * Each prompt carries only the tools {@link ToolSelector} picks for the
+ * message. If the model asks for more, the turn is retried with all tools.
+ * {@link HouseholdSnapshotAdvisor} adds the family and the next two days as a
+ * message before the user's, so common questions need no lookup round trip.
+ *
+ * With routing enabled, {@link ModelRouter} picks the deployment a turn
+ * starts at. A turn whose tool call fails or whose reply sounds unsure is
+ * retried one tier up, as long as it has not changed any data.
  */
 @Service
 @Slf4j
 public class ChoreAssistantService {
 
-    private final ChatClient chat;
-
-    public ChoreAssistantService(ChatClient.Builder builder,
-            MessageChatMemoryAdvisor memoryAdvisor) {
-
-        this.chat = builder
-                .defaultSystem("""
+    private static final String SYSTEM_PROMPT = """
                                You are Suprada's chore chart maintaining AI assistant.
             You help users maintain their daily chores in the family calendar.
 
-            You have access to tools for managing users and chores:
-
-            User Management:
-            - createUser: Add new family members
-            - getUser: Get user details
-            - listUsers: See all family members
-            - updateUser: Update user information (name, color)
-            - deleteUser: Remove a user (WARNING: deletes all their chores)
-
-            Chore Management:
-            - createChore: Add a new chore for a user
-            - getChore: Get chore details
-            - listAllChores: See all chores
-            - listChoresByDate: Get chores for a specific date
-            - listChoresForUser: Get chores for a specific user
-            - updateChore: Modify chore details (description, date, time, reassign)
-            - deleteChore: Remove a chore
+            Use the provided tools to look up and change family members and chores.
+            Only the tools that look relevant to the message are provided; if none of
+            them can do what the user asked, call requestAllTools.
 
             Guidelines:
             - Always confirm before deleting users or chores
@@ -49,21 +80,394 @@ public class ChoreAssistantService {
             - Times should be in HH:MM format (e.g., 14:30)
             - Be friendly, helpful, and proactive in suggesting chore management
             - When creating chores, ask for necessary details if not provided
-            """)
-                .defaultAdvisors(memoryAdvisor)
-                .defaultFunctions("createUser", "getUser", "listUsers", "updateUser", "deleteUser",
-                        "createChore", "getChore", "listAllChores", "listChoresByDate",
-                        "listChoresForUser", "updateChore", "deleteChore")
-                .build();
+            - When the user doesn't say who should do a chore, use scheduleChores instead of picking someone
+            - To find specific chores by what they are, use searchChores instead of listing every chore
+            - For questions about who did how much, what is overdue or streaks, use getChoreStats instead of counting chores
+            - To create, change or delete several chores, use createChores, updateChores or deleteChores in one call
+              instead of one call per chore
+            - For a week or several days, use listChoresInRange instead of listing each day or user
+            - When you need several lookups, ask for them together in one response
+            - The household snapshot message already lists the family members and today's and tomorrow's
+              chores with their ids; answer from it and use its ids instead of looking them up again
+            """;
+
+    private static final String UNAVAILABLE_MESSAGE =
+            "Sorry, the assistant is not available right now. You can still ask me to list the family"
+            + " members or the chores for a day, or use the calendar directly. Please try again in a minute.";
+    private static final String TIMEOUT_MESSAGE =
+            "Sorry, that took too long and I had to stop. Please check the calendar before retrying,"
+            + " in case part of your request was already done.";
+    private static final int LATENCY_SAMPLES = 128;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    private static final int NO_TIER = -1;
+
+    private final ObjectProvider<ChatClient.Builder> builderProvider;
+    private final ObjectProvider<MessageChatMemoryAdvisor> memoryAdvisorProvider;
+    private final HouseholdSnapshotAdvisor snapshotAdvisor;
+    private final AssistantResilienceProperties properties;
+    private final AssistantFallback fallback;
+    private final CircuitBreaker circuitBreaker;
+    private final ToolSelector toolSelector;
+    private final ModelRouter router;
+    private final ObjectProvider<ChatMemory> chatMemoryProvider;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final Counter narrowedMisses;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "assistant-call-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    // Latencies of recent successful model calls, for the hedge delay
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyCount;
+    private int latencyNext;
+
+    private volatile ChatClient chat;
+
+    public ChoreAssistantService(ObjectProvider<ChatClient.Builder> builderProvider,
+            ObjectProvider<MessageChatMemoryAdvisor> memoryAdvisorProvider,
+            HouseholdSnapshotAdvisor snapshotAdvisor, ObjectProvider<ChatMemory> chatMemoryProvider, AssistantResilienceProperties properties,
+            AssistantFallback fallback, ToolSelector toolSelector, ModelRouter router, MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry) {
+        this.builderProvider = builderProvider;
+        this.memoryAdvisorProvider = memoryAdvisorProvider;
+        this.snapshotAdvisor = snapshotAdvisor;
+        this.chatMemoryProvider = chatMemoryProvider;
+        this.properties = properties;
+        this.fallback = fallback;
+        this.toolSelector = toolSelector;
+        this.router = router;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        this.narrowedMisses = Counter.builder("chore.assistant.tool_selection_misses")
+                .description("Turns retried with all tools because the narrowed set was not enough")
+                .register(meterRegistry);
+        AssistantResilienceProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        this.circuitBreaker = new CircuitBreaker(breaker.getWindowSize(), breaker.getMinimumCalls(),
+                breaker.getFailureRateThreshold(), breaker.getOpenDuration());
+        Gauge.builder("chore.assistant.circuit_open", circuitBreaker,
+                        cb -> cb.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("1 while the model circuit breaker is open or half-open")
+                .register(meterRegistry);
     }
 
+    /**
+     * Answers a chat message within the configured deadline
+     * @param sessionId Chat session, for conversation memory
+     * @param userMessage User message
+     * @return Assistant reply, or a fallback reply when the model is slow or unavailable
+     */
     public String step(String sessionId, String userMessage) {
-        return chat.prompt()
+        if (!circuitBreaker.tryAcquirePermission()) {
+            log.warn("Model circuit breaker is open, answering without the model");
+            return fallback.answer(userMessage).orElse(UNAVAILABLE_MESSAGE);
+        }
+
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        boolean hedging = properties.getHedge().isEnabled();
+        AssistantCallContext[] contexts = AssistantCallContext.forAttempts(deadline, hedging ? 2 : 1);
+        // Conversations are kept per household; tool calls run on worker threads and inherit the household
+        String householdId = HouseholdContext.current();
+        String conversationId = householdId + ":" + sessionId;
+        // Attempts that may race each other start from a copy of the history instead of the conversation itself
+        List<Message> history = hedging ? chatMemoryProvider.getObject().get(conversationId, Integer.MAX_VALUE) : null;
+
+        List<Future<?>> tasks = new ArrayList<>(2);
+        try {
+            CompletableFuture<Attempt> primary =
+                    start(contexts[0], householdId, conversationId, history, userMessage, tasks);
+            CompletableFuture<Attempt> result = primary;
+            if (hedging) {
+                long hedgeDelay = Math.min(hedgeDelayNanos(), contexts[0].remainingNanos());
+                try {
+                    return accept(conversationId, primary.get(hedgeDelay, TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    // Only hedge while the first attempt has not changed anything
+                    if (!contexts[0].hasWritten() && contexts[1].remainingNanos() > 0) {
+                        log.info("Model call slower than {} ms, sending a hedged request",
+                                TimeUnit.NANOSECONDS.toMillis(hedgeDelay));
+                        result = firstSuccess(primary,
+                                start(contexts[1], householdId, conversationId, history, userMessage, tasks));
+                    }
+                }
+            }
+            return accept(conversationId, result.get(Math.max(0, contexts[0].remainingNanos()), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            circuitBreaker.onFailure();
+            log.warn("Assistant request exceeded its {} deadline", properties.getTimeout());
+            return contexts[0].hasWritten() ? TIMEOUT_MESSAGE : fallback.answer(userMessage).orElse(TIMEOUT_MESSAGE);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            for (Throwable t = cause; t != null; t = t.getCause()) {
+                if (t instanceof IllegalArgumentException invalid) {
+                    // Bad tool input is the caller's problem, not the provider's
+                    circuitBreaker.onSuccess();
+                    throw invalid;
+                }
+            }
+            circuitBreaker.onFailure();
+            log.error("Model call failed", cause);
+            return contexts[0].hasWritten() ? TIMEOUT_MESSAGE : fallback.answer(userMessage).orElse(UNAVAILABLE_MESSAGE);
+        } catch (InterruptedException e) {
+            circuitBreaker.onFailure();
+            Thread.currentThread().interrupt();
+            return UNAVAILABLE_MESSAGE;
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Adds the exchange of the attempt that answered to the conversation
+     */
+    private String accept(String conversationId, Attempt attempt) {
+        if (!attempt.exchange().isEmpty()) {
+            chatMemoryProvider.getObject().add(conversationId, attempt.exchange());
+        }
+        circuitBreaker.onSuccess();
+        return attempt.reply();
+    }
+
+    /**
+     * Starts one attempt on a worker thread
+     * @param history Conversation to start a scratch copy from, or null to use the conversation memory directly
+     */
+    private CompletableFuture<Attempt> start(AssistantCallContext context, String householdId,
+                                             String conversationId, List<Message> history, String userMessage,
+                                             List<Future<?>> tasks) {
+        CompletableFuture<Attempt> result = new CompletableFuture<>();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Observation parent = observationRegistry.getCurrentObservation();
+        tasks.add(executor.submit(() -> {
+            long start = System.nanoTime();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            Observation.Scope scope = parent != null ? parent.openScope() : null;
+            ChatMemory memory = chatMemoryProvider.getObject();
+            String memoryId = history != null ? conversationId + "#" + UUID.randomUUID() : conversationId;
+            if (history != null && !history.isEmpty()) {
+                memory.add(memoryId, history);
+            }
+            try {
+                String reply = HouseholdContext.callAs(householdId,
+                        () -> context.call(() -> callModel(conversationId, memoryId, userMessage)));
+                recordLatency(System.nanoTime() - start);
+                List<Message> exchange = history != null
+                        ? newMessages(memory.get(memoryId, Integer.MAX_VALUE), history.size())
+                        : List.of();
+                result.complete(new Attempt(reply, exchange));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                if (history != null) {
+                    memory.clear(memoryId);
+                }
+                if (scope != null) {
+                    scope.close();
+                }
+                MDC.clear();
+            }
+        }));
+        return result;
+    }
+
+    private static List<Message> newMessages(List<Message> messages, int historySize) {
+        return new ArrayList<>(messages.subList(Math.min(historySize, messages.size()), messages.size()));
+    }
+
+    /**
+     * @param conversationId Conversation, for routing
+     * @param memoryId Chat memory the attempt reads and adds to
+     */
+    private String callModel(String conversationId, String memoryId, String userMessage) {
+        if (!router.isEnabled()) {
+            return callModel(memoryId, userMessage, NO_TIER);
+        }
+        AssistantCallContext context = AssistantCallContext.current();
+        int startTier = router.initialTier(conversationId, userMessage);
+        for (int tier = startTier; ; tier++) {
+            int mark = memoryMark(memoryId);
+            long start = System.nanoTime();
+            String reply = null;
+            RuntimeException failure = null;
+            String outcome = "ok";
+            try {
+                reply = callModel(memoryId, userMessage, tier);
+                if (router.isLowConfidence(reply)) {
+                    outcome = "low_confidence";
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+                outcome = context != null && context.hasToolError() ? "tool_error" : "error";
+            }
+            router.recordAttempt(tier, outcome, System.nanoTime() - start);
+
+            // Errors from the provider are for the circuit breaker; a write must not run twice
+            boolean escalate = !outcome.equals("ok") && !outcome.equals("error")
+                    && context != null && !context.hasWritten() && router.canEscalate(tier);
+            if (!escalate) {
+                router.finished(conversationId, startTier, tier);
+                if (failure != null) {
+                    throw failure;
+                }
+                return reply;
+            }
+            router.escalated(tier, outcome);
+            rollbackMemory(memoryId, mark);
+            context.resetForRetry();
+        }
+    }
+
+    /**
+     * One model call with the tools {@link ToolSelector} picks, retried with all tools if the model asks
+     * @param tier Routing tier, or {@link #NO_TIER} for the default deployment
+     */
+    private String callModel(String memoryId, String userMessage, int tier) {
+        List<String> tools = toolSelector.select(userMessage);
+        AssistantCallContext context = AssistantCallContext.current();
+        int mark = memoryMark(memoryId);
+        String reply = callModel(memoryId, userMessage, tools, tier);
+        if (context != null && context.isAllToolsRequested()) {
+            log.info("Narrowed tool set {} was not enough, retrying with all tools", tools);
+            narrowedMisses.increment();
+            rollbackMemory(memoryId, mark);
+            context.resetForRetry();
+            reply = callModel(memoryId, userMessage, ToolSelector.ALL_TOOLS, tier);
+        }
+        return reply;
+    }
+
+    private String callModel(String memoryId, String userMessage, List<String> tools, int tier) {
+        String selection = tools == ToolSelector.ALL_TOOLS ? "all" : "narrowed";
+        long start = System.nanoTime();
+        ChatClient.ChatClientRequestSpec request = chat().prompt()
                 .advisors(a -> a.param(
-                AbstractChatMemoryAdvisor.CHAT_MEMORY_CONVERSATION_ID_KEY, sessionId))
-                .user(userMessage)
-                .call()
-                .content();
+                AbstractChatMemoryAdvisor.CHAT_MEMORY_CONVERSATION_ID_KEY, memoryId))
+                .functions(tools.toArray(String[]::new))
+                .user(userMessage);
+        if (tier != NO_TIER) {
+            request.options(router.options(tier));
+        }
+        ChatResponse response = request.call().chatResponse();
+        long elapsed = System.nanoTime() - start;
+
+        Usage usage = response.getMetadata().getUsage();
+        Long promptTokens = usage.getPromptTokens();
+        turnTimer(selection).record(elapsed, TimeUnit.NANOSECONDS);
+        if (promptTokens != null) {
+            promptTokenSummary(selection).record(promptTokens);
+        }
+        if (tier != NO_TIER) {
+            router.recordUsage(tier, usage);
+        }
+        log.info("Model turn with {} tools ({}){}: {} prompt tokens, {} ms", tools.size(), selection,
+                tier != NO_TIER ? " on " + router.name(tier) : "", promptTokens,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return response.getResult().getOutput().getContent();
+    }
+
+    private int memoryMark(String memoryId) {
+        return chatMemoryProvider.getObject().get(memoryId, Integer.MAX_VALUE).size();
+    }
+
+    /**
+     * Drops what an attempt that is about to be retried added to the conversation: the user message, and
+     * the reply if there was one.
+     */
+    private void rollbackMemory(String memoryId, int mark) {
+        ChatMemory memory = chatMemoryProvider.getObject();
+        List<Message> messages = memory.get(memoryId, Integer.MAX_VALUE);
+        memory.clear(memoryId);
+        if (mark > 0) {
+            memory.add(memoryId, new ArrayList<>(messages.subList(0, Math.min(mark, messages.size()))));
+        }
+    }
+
+    private Timer turnTimer(String selection) {
+        return Timer.builder("chore.assistant.turn")
+                .description("Latency of one model call, by tool selection")
+                .tag("tools", selection)
+                .register(meterRegistry);
     }
 
+    private DistributionSummary promptTokenSummary(String selection) {
+        return DistributionSummary.builder("chore.assistant.prompt_tokens")
+                .description("Prompt tokens reported by the model, by tool selection")
+                .tag("tools", selection)
+                .register(meterRegistry);
+    }
+
+    private static CompletableFuture<Attempt> firstSuccess(CompletableFuture<Attempt> first,
+                                                           CompletableFuture<Attempt> second) {
+        CompletableFuture<Attempt> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        for (CompletableFuture<Attempt> attempt : List.of(first, second)) {
+            attempt.whenComplete((reply, error) -> {
+                if (error == null) {
+                    winner.complete(reply);
+                } else if (pending.decrementAndGet() == 0) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[latencyNext] = nanos;
+        latencyNext = (latencyNext + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+    }
+
+    /**
+     * p95 of recent model latencies, but at least the configured minimum delay
+     */
+    private synchronized long hedgeDelayNanos() {
+        long minDelay = properties.getHedge().getMinDelay().toNanos();
+        if (latencyCount < MIN_LATENCY_SAMPLES) {
+            return minDelay;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        return Math.max(minDelay, sorted[(int) Math.ceil(sorted.length * 0.95) - 1]);
+    }
+
+    private ChatClient chat() {
+        ChatClient client = chat;
+        if (client == null) {
+            synchronized (this) {
+                client = chat;
+                if (client == null) {
+                    long start = System.nanoTime();
+                    client = builderProvider.getObject()
+                            .defaultSystem(SYSTEM_PROMPT)
+                            .defaultAdvisors(memoryAdvisorProvider.getObject(), snapshotAdvisor)
+                            .build();
+                    chat = client;
+                    log.info("ChatClient initialized in {} ms", (System.nanoTime() - start) / 1_000_000);
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Reply of one attempt, and the messages it added to its scratch memory
+     */
+    private record Attempt(String reply, List<Message> exchange) {
+    }
 }
@@ -0,0 +1,411 @@
+package com.demo.cc.service;
+
+import com.demo.cc.domain.Chore;
+import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ChoreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory calendar index serving the day and user/day chore lookups
+ * without Hibernate.
+ *
+ * Chore fields live in struct-of-arrays primitive columns addressed by slot;
+ * each household's epochDays map to per-user arrays of slots through an
+ * int-keyed open-addressing map, so a lookup never boxes a day or touches
+ * another household's chores. The index is loaded from
+ * {@link ChoreRepository} once the application is ready and kept current by
+ * the change events published after each committed write. An event older
+ * than the version already indexed, or for a chore deleted since, is dropped.
+ */
+@Component
+@Slf4j
+public class ChoreCalendarIndex {
+
+    private static final int NO_TIME = -1;
+    // Sort key of untimed chores, after every second of the day
+    private static final long UNTIMED_LAST = 86_400;
+    private static final int NO_DURATION = -1;
+    private static final long NOT_COMPLETED = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int RECENT_DELETES = 10_000;
+
+    private final ChoreRepository choreRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Column storage, one entry per slot
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private int[] secondsOfDay = new int[INITIAL_CAPACITY];
+    private int[] durations = new int[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private long[] userIds = new long[INITIAL_CAPACITY];
+    private long[] completedAtMillis = new long[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private String[] householdIds = new String[INITIAL_CAPACITY];
+
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private final LongIntMap slotById = new LongIntMap(INITIAL_CAPACITY);
+    private final RecentDeletes recentDeletes = new RecentDeletes(RECENT_DELETES);
+    private final Map<String, IntObjectMap<DayEntry>> daysByHousehold = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public ChoreCalendarIndex(ChoreRepository choreRepository) {
+        this.choreRepository = choreRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            clear();
+            List<Chore> chores = HouseholdContext.callAs(HouseholdContext.ALL_HOUSEHOLDS, choreRepository::findAll);
+            for (Chore chore : chores) {
+                put(chore.getHouseholdId(), chore.getId(), chore.getDescription(), chore.getTime(),
+                        chore.getDurationMinutes(), chore.getDate(), chore.getUser().getId(), chore.getVersion(),
+                        chore.getCompletedAt());
+            }
+            ready = true;
+            log.info("Calendar index built with {} chores in {} ms", slotById.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChoreChanged(ChoreChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == ChangeType.DELETED) {
+                remove(event.choreId());
+                recentDeletes.add(event.choreId());
+            } else if (event.type() == ChangeType.ARCHIVED) {
+                // Reads of archived days go to the archive; the chore still exists, so no delete is recorded
+                remove(event.choreId());
+            } else if (isStale(event)) {
+                log.debug("Skipping out-of-order change of chore {} at version {}", event.choreId(), event.version());
+            } else {
+                put(event.householdId(), event.choreId(), event.description(), event.time(),
+                        event.durationMinutes(), event.date(), event.userId(), event.version(), event.completedAt());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            IntObjectMap<DayEntry> days = daysByHousehold.get(event.householdId());
+            if (days != null) {
+                // Collect first: removing a chore can drop its day from the map being iterated
+                List<Long> userChoreIds = new ArrayList<>();
+                days.forEachValue(day -> {
+                    int[] slots = day.slotsFor(event.userId());
+                    for (int i = 0; i < day.countFor(event.userId()); i++) {
+                        userChoreIds.add(ids[slots[i]]);
+                    }
+                });
+                userChoreIds.forEach(id -> {
+                    remove(id);
+                    recentDeletes.add(id);
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ChoreDto> findByDate(String householdId, LocalDate date) {
+        lock.readLock().lock();
+        try {
+            DayEntry day = dayOf(householdId, (int) date.toEpochDay());
+            if (day == null) {
+                return new ArrayList<>();
+            }
+            int total = 0;
+            for (int u = 0; u < day.userCount; u++) {
+                total += day.counts[u];
+            }
+            int[] slots = new int[total];
+            int n = 0;
+            for (int u = 0; u < day.userCount; u++) {
+                System.arraycopy(day.slots[u], 0, slots, n, day.counts[u]);
+                n += day.counts[u];
+            }
+            List<ChoreDto> result = new ArrayList<>(total);
+            appendInTimeOrder(result, slots, total);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ChoreDto> findByUserAndDate(String householdId, Long userId, LocalDate date) {
+        lock.readLock().lock();
+        try {
+            List<ChoreDto> result = new ArrayList<>();
+            DayEntry day = dayOf(householdId, (int) date.toEpochDay());
+            if (day != null && day.slotsFor(userId) != null) {
+                appendInTimeOrder(result, day.slotsFor(userId), day.countFor(userId));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether an upsert is older than what the index holds: the chore was deleted since, or a later version
+     * was applied first
+     */
+    private boolean isStale(ChoreChangedEvent event) {
+        if (recentDeletes.contains(event.choreId())) {
+            return true;
+        }
+        int slot = slotById.get(event.choreId());
+        return slot >= 0 && event.version() != null && event.version() < versions[slot];
+    }
+
+    private DayEntry dayOf(String householdId, int epochDay) {
+        IntObjectMap<DayEntry> days = daysByHousehold.get(householdId);
+        return days == null ? null : days.get(epochDay);
+    }
+
+    /**
+     * Appends the slots by time of day with untimed chores last, then by id, the order the database and the
+     * calendar read model return
+     */
+    private void appendInTimeOrder(List<ChoreDto> result, int[] slots, int count) {
+        // Time in the high bits, position in the low bits, so one primitive sort orders the slots
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            int seconds = secondsOfDay[slots[i]];
+            keys[i] = (seconds == NO_TIME ? UNTIMED_LAST : seconds) << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] ordered = new int[count];
+        for (int i = 0; i < count; i++) {
+            int slot = slots[(int) keys[i]];
+            // Chores at the same time are few: insert each by id among them
+            int j = i;
+            while (j > 0 && keys[j - 1] >>> 32 == keys[i] >>> 32 && ids[ordered[j - 1]] > ids[slot]) {
+                ordered[j] = ordered[j - 1];
+                j--;
+            }
+            ordered[j] = slot;
+        }
+        for (int slot : ordered) {
+            result.add(new ChoreDto(
+                    ids[slot],
+                    descriptions[slot],
+                    secondsOfDay[slot] == NO_TIME ? null : LocalTime.ofSecondOfDay(secondsOfDay[slot]),
+                    LocalDate.ofEpochDay(epochDays[slot]),
+                    userIds[slot],
+                    durations[slot] == NO_DURATION ? null : durations[slot],
+                    versions[slot],
+                    completedAtMillis[slot] == NOT_COMPLETED ? null : Instant.ofEpochMilli(completedAtMillis[slot])));
+        }
+    }
+
+    // ===== Mutation (callers hold the write lock) =====
+
+    private void put(String householdId, long id, String description, LocalTime time, Integer durationMinutes,
+                     LocalDate date, long userId, Long version, Instant completedAt) {
+        int slot = slotById.get(id);
+        if (slot >= 0) {
+            // Existing chore: detach it from its old day/user before rewriting the columns
+            detach(slot);
+        } else {
+            slot = allocateSlot();
+            slotById.put(id, slot);
+        }
+        ids[slot] = id;
+        descriptions[slot] = description;
+        secondsOfDay[slot] = time == null ? NO_TIME : time.toSecondOfDay();
+        durations[slot] = durationMinutes == null ? NO_DURATION : durationMinutes;
+        versions[slot] = version == null ? 0 : version;
+        epochDays[slot] = (int) date.toEpochDay();
+        userIds[slot] = userId;
+        completedAtMillis[slot] = completedAt == null ? NOT_COMPLETED : completedAt.toEpochMilli();
+        householdIds[slot] = householdId;
+        IntObjectMap<DayEntry> days = daysByHousehold.computeIfAbsent(householdId, h -> new IntObjectMap<>(16));
+        DayEntry day = days.get(epochDays[slot]);
+        if (day == null) {
+            day = new DayEntry();
+            days.put(epochDays[slot], day);
+        }
+        day.addSlot(userId, slot);
+    }
+
+    private void remove(long id) {
+        int slot = slotById.remove(id);
+        if (slot < 0) {
+            return;
+        }
+        detach(slot);
+        descriptions[slot] = null;
+        householdIds[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void detach(int slot) {
+        IntObjectMap<DayEntry> days = daysByHousehold.get(householdIds[slot]);
+        DayEntry day = days.get(epochDays[slot]);
+        day.removeSlot(userIds[slot], slot);
+        if (day.isEmpty()) {
+            days.remove(epochDays[slot]);
+            if (days.isEmpty()) {
+                daysByHousehold.remove(householdIds[slot]);
+            }
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            secondsOfDay = Arrays.copyOf(secondsOfDay, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            completedAtMillis = Arrays.copyOf(completedAtMillis, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            householdIds = Arrays.copyOf(householdIds, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void clear() {
+        Arrays.fill(descriptions, 0, slotCount, null);
+        Arrays.fill(householdIds, 0, slotCount, null);
+        slotCount = 0;
+        freeCount = 0;
+        slotById.clear();
+        recentDeletes.clear();
+        daysByHousehold.clear();
+    }
+
+    /**
+     * Chores of one day, grouped into one slot array per user.
+     */
+    private static final class DayEntry {
+        private long[] users = new long[4];
+        private int[][] slots = new int[4][];
+        private int[] counts = new int[4];
+        private int userCount;
+
+        int[] slotsFor(long userId) {
+            int u = indexOf(userId);
+            return u < 0 ? null : slots[u];
+        }
+
+        int countFor(long userId) {
+            int u = indexOf(userId);
+            return u < 0 ? 0 : counts[u];
+        }
+
+        boolean isEmpty() {
+            return userCount == 0;
+        }
+
+        void addSlot(long userId, int slot) {
+            int u = indexOf(userId);
+            if (u < 0) {
+                if (userCount == users.length) {
+                    users = Arrays.copyOf(users, userCount * 2);
+                    slots = Arrays.copyOf(slots, userCount * 2);
+                    counts = Arrays.copyOf(counts, userCount * 2);
+                }
+                u = userCount++;
+                users[u] = userId;
+                slots[u] = new int[4];
+                counts[u] = 0;
+            }
+            if (counts[u] == slots[u].length) {
+                slots[u] = Arrays.copyOf(slots[u], counts[u] * 2);
+            }
+            slots[u][counts[u]++] = slot;
+        }
+
+        void removeSlot(long userId, int slot) {
+            int u = indexOf(userId);
+            if (u < 0) {
+                return;
+            }
+            int[] userSlots = slots[u];
+            for (int i = 0; i < counts[u]; i++) {
+                if (userSlots[i] == slot) {
+                    System.arraycopy(userSlots, i + 1, userSlots, i, counts[u] - i - 1);
+                    counts[u]--;
+                    break;
+                }
+            }
+            if (counts[u] == 0) {
+                // Drop the user by moving the last user into its place
+                int last = --userCount;
+                users[u] = users[last];
+                slots[u] = slots[last];
+                counts[u] = counts[last];
+                slots[last] = null;
+            }
+        }
+
+        private int indexOf(long userId) {
+            for (int u = 0; u < userCount; u++) {
+                if (users[u] == userId) {
+                    return u;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.demo.cc.service;
+
+import com.demo.cc.domain.Chore;
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ChoreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Per-user interval index over timed chores, used for O(log n) overlap checks
+ * and for the per-user daily load that drives auto-scheduling.
+ *
+ * Intervals are kept in minutes since the epoch, ordered by start. Chores
+ * without a time are all-day and never conflict. The intervals reflect
+ * committed state only: they are built at startup and updated by the change
+ * events.
+ *
+ * Writes {@link #reserve} their slot before saving. The check and the hold
+ * are one step under the index lock, and the hold lasts until the write rolls
+ * back or its change event has been applied, so two concurrent writes cannot
+ * both take the same slot of a user.
+ */
+@Component
+@Slf4j
+public class ChoreIntervalIndex {
+
+    public static final int DEFAULT_DURATION_MINUTES = 30;
+
+    private final ChoreRepository choreRepository;
+
+    private final Map<UserKey, TreeSet<Interval>> intervalsByUser = new HashMap<>();
+    private final Map<Long, Interval> intervalsByChore = new HashMap<>();
+    // Scheduled minutes per user and epochDay
+    private final Map<UserKey, Map<Long, Integer>> loadByUser = new HashMap<>();
+    // Slots held by writes that have not committed yet, or whose change event is still pending
+    private final Map<UserKey, List<Hold>> holdsByUser = new HashMap<>();
+
+    public ChoreIntervalIndex(ChoreRepository choreRepository) {
+        this.choreRepository = choreRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        intervalsByUser.clear();
+        intervalsByChore.clear();
+        loadByUser.clear();
+        List<Chore> chores = HouseholdContext.callAs(HouseholdContext.ALL_HOUSEHOLDS, choreRepository::findAll);
+        for (Chore chore : chores) {
+            put(chore.getHouseholdId(), chore.getId(), chore.getUser().getId(), chore.getDate(), chore.getTime(),
+                    chore.getDurationMinutes());
+        }
+        log.info("Interval index built with {} timed chores", intervalsByChore.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onChoreChanged(ChoreChangedEvent event) {
+        remove(event.choreId());
+        if (event.type() == ChangeType.UPSERTED) {
+            put(event.householdId(), event.choreId(), event.userId(), event.date(), event.time(),
+                    event.durationMinutes());
+        }
+        // The committed interval now stands in for the hold
+        holdsByUser.values().removeIf(holds -> {
+            holds.removeIf(hold -> event.choreId().equals(hold.choreId()));
+            return holds.isEmpty();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        UserKey key = new UserKey(event.householdId(), event.userId());
+        TreeSet<Interval> intervals = intervalsByUser.remove(key);
+        if (intervals != null) {
+            intervals.forEach(interval -> intervalsByChore.remove(interval.choreId()));
+        }
+        loadByUser.remove(key);
+    }
+
+    /**
+     * Holds the slot of an existing chore for the current transaction.
+     * @param choreId Chore being updated; its own committed slot is ignored in the check
+     * @throws IllegalArgumentException if the slot overlaps another chore of the user, committed or held
+     */
+    public void reserve(String householdId, Long userId, Long choreId,
+                        LocalDate date, LocalTime time, Integer durationMinutes) {
+        reserve(householdId, userId, choreId, Set.of(choreId), date, time, durationMinutes);
+    }
+
+    /**
+     * Holds the slot of an existing chore updated together with others in the current transaction.
+     * @param batchChoreIds Chores of the batch; their committed slots are ignored in the check since they
+     *                      move too, so overlaps within the batch are the caller's to check
+     * @throws IllegalArgumentException if the slot overlaps a chore outside the batch, committed or held
+     */
+    public void reserve(String householdId, Long userId, Long choreId, Set<Long> batchChoreIds,
+                        LocalDate date, LocalTime time, Integer durationMinutes) {
+        String conflict = hold(new UserKey(householdId, userId), choreId, null, batchChoreIds, date, time,
+                durationMinutes);
+        if (conflict != null) {
+            throw new IllegalArgumentException("User " + userId + " already has " + conflict
+                    + " overlapping " + date + " " + time);
+        }
+    }
+
+    /**
+     * Holds the slot of a chore about to be saved, with its user, date, time
+     * and duration set, for the current transaction. New chores get their id
+     * on save; the hold reads it then.
+     * @throws IllegalArgumentException if the slot overlaps another chore of the user, committed or held
+     */
+    public void reserve(String householdId, Chore chore) {
+        Long userId = chore.getUser().getId();
+        String conflict = hold(new UserKey(householdId, userId), chore.getId(), chore, excluding(chore.getId()),
+                chore.getDate(), chore.getTime(), chore.getDurationMinutes());
+        if (conflict != null) {
+            throw new IllegalArgumentException("User " + userId + " already has " + conflict
+                    + " overlapping " + chore.getDate() + " " + chore.getTime());
+        }
+    }
+
+    /**
+     * Like {@link #reserve(String, Chore)}, for callers that try another user or skip the chore on a conflict
+     * @return Whether the slot was free and is now held
+     */
+    public boolean tryReserve(String householdId, Chore chore) {
+        return hold(new UserKey(householdId, chore.getUser().getId()), chore.getId(), chore,
+                excluding(chore.getId()), chore.getDate(), chore.getTime(), chore.getDurationMinutes()) == null;
+    }
+
+    private static Set<Long> excluding(Long choreId) {
+        return choreId != null ? Set.of(choreId) : Set.of();
+    }
+
+    /**
+     * Finds a committed chore of the user that overlaps the slot.
+     * @param excludeChoreIds Chores being updated, ignored in the check
+     * @return Id of the first conflicting chore, if any
+     */
+    private Optional<Long> findConflict(UserKey key, Set<Long> excludeChoreIds, long start, long end) {
+        TreeSet<Interval> intervals = intervalsByUser.get(key);
+        if (intervals == null) {
+            return Optional.empty();
+        }
+        // Committed intervals of a user never overlap, so only the last one starting before
+        // our end can reach into our slot; skip over the chores being updated themselves
+        Interval probe = new Interval(end, end, Long.MIN_VALUE);
+        for (Interval candidate = intervals.lower(probe); candidate != null; candidate = intervals.lower(candidate)) {
+            if (excludeChoreIds.contains(candidate.choreId())) {
+                continue;
+            }
+            return candidate.end() > start ? Optional.of(candidate.choreId()) : Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks the slot against committed chores and other holds, and holds it if free
+     * @return Description of the conflicting chore, or null if the slot is now held
+     */
+    private synchronized String hold(UserKey key, Long choreId, Chore chore, Set<Long> excludeChoreIds,
+                                     LocalDate date, LocalTime time, Integer durationMinutes) {
+        if (time == null || date == null) {
+            return null;
+        }
+        long start = startMinute(date, time);
+        long end = start + duration(durationMinutes);
+        Optional<Long> committed = findConflict(key, excludeChoreIds, start, end);
+        if (committed.isPresent()) {
+            return "chore " + committed.get();
+        }
+        List<Hold> holds = holdsByUser.getOrDefault(key, List.of());
+        for (Hold other : holds) {
+            if (!other.isSameChore(choreId, chore) && other.start() < end && start < other.end()) {
+                return other.choreId() != null ? "chore " + other.choreId() + " being saved" : "a chore being saved";
+            }
+        }
+        // Outside a transaction the chore is committed as soon as it is saved, so there is nothing to hold
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Hold hold = new Hold(start, end, choreId, chore, key);
+            List<Hold> userHolds = holdsByUser.computeIfAbsent(key, k -> new ArrayList<>());
+            // A second write to the same chore moves its hold
+            userHolds.removeIf(other -> other.isSameChore(choreId, chore));
+            userHolds.add(hold);
+            transactionHolds().holds.add(hold);
+        }
+        return null;
+    }
+
+    private TransactionHolds transactionHolds() {
+        TransactionHolds holds = (TransactionHolds) TransactionSynchronizationManager.getResource(this);
+        if (holds == null) {
+            holds = new TransactionHolds();
+            TransactionSynchronizationManager.bindResource(this, holds);
+            TransactionSynchronizationManager.registerSynchronization(holds);
+        }
+        return holds;
+    }
+
+    private synchronized void release(List<Hold> holds, boolean committed) {
+        for (Hold hold : holds) {
+            // A committed chore keeps its hold until onChoreChanged has put its interval
+            if (committed && hold.choreId() != null) {
+                continue;
+            }
+            List<Hold> userHolds = holdsByUser.get(hold.owner());
+            if (userHolds != null) {
+                userHolds.remove(hold);
+                if (userHolds.isEmpty()) {
+                    holdsByUser.remove(hold.owner());
+                }
+            }
+        }
+    }
+
+    /**
+     * Minutes of timed chores already scheduled for the user on the date.
+     */
+    public synchronized int loadOn(String householdId, Long userId, LocalDate date) {
+        Map<Long, Integer> load = loadByUser.get(new UserKey(householdId, userId));
+        return load == null ? 0 : load.getOrDefault(date.toEpochDay(), 0);
+    }
+
+    public static int duration(Integer durationMinutes) {
+        return durationMinutes != null && durationMinutes > 0 ? durationMinutes : DEFAULT_DURATION_MINUTES;
+    }
+
+    public static long startMinute(LocalDate date, LocalTime time) {
+        return date.toEpochDay() * 24 * 60 + time.getHour() * 60L + time.getMinute();
+    }
+
+    private void put(String householdId, long choreId, long userId, LocalDate date, LocalTime time,
+                     Integer durationMinutes) {
+        if (time == null) {
+            return;
+        }
+        UserKey key = new UserKey(householdId, userId);
+        long start = startMinute(date, time);
+        Interval interval = new Interval(start, start + duration(durationMinutes), choreId, key);
+        intervalsByUser.computeIfAbsent(key, k -> new TreeSet<>(Interval.ORDER)).add(interval);
+        intervalsByChore.put(choreId, interval);
+        loadByUser.computeIfAbsent(key, k -> new HashMap<>())
+                .merge(date.toEpochDay(), (int) (interval.end() - interval.start()), Integer::sum);
+    }
+
+    private void remove(long choreId) {
+        Interval interval = intervalsByChore.remove(choreId);
+        if (interval == null) {
+            return;
+        }
+        TreeSet<Interval> intervals = intervalsByUser.get(interval.owner());
+        intervals.remove(interval);
+        if (intervals.isEmpty()) {
+            intervalsByUser.remove(interval.owner());
+        }
+        Map<Long, Integer> load = loadByUser.get(interval.owner());
+        long epochDay = Math.floorDiv(interval.start(), 24 * 60);
+        load.computeIfPresent(epochDay, (day, minutes) -> {
+            int remaining = minutes - (int) (interval.end() - interval.start());
+            return remaining > 0 ? remaining : null;
+        });
+        if (load.isEmpty()) {
+            loadByUser.remove(interval.owner());
+        }
+    }
+
+    private record UserKey(String householdId, long userId) {}
+
+    /**
+     * A slot held by an uncommitted write. New chores are held by entity, whose id is set on save.
+     * Holds compare by identity; the entity's own equals would touch its lazy user.
+     */
+    private static final class Hold {
+        private final long start;
+        private final long end;
+        private final Long id;
+        private final Chore chore;
+        private final UserKey owner;
+
+        Hold(long start, long end, Long id, Chore chore, UserKey owner) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.chore = chore;
+            this.owner = owner;
+        }
+
+        long start() {
+            return start;
+        }
+
+        long end() {
+            return end;
+        }
+
+        UserKey owner() {
+            return owner;
+        }
+
+        Long choreId() {
+            return id != null ? id : chore != null ? chore.getId() : null;
+        }
+
+        boolean isSameChore(Long otherId, Chore otherChore) {
+            return (chore != null && chore == otherChore) || (otherId != null && otherId.equals(choreId()));
+        }
+    }
+
+    /**
+     * The holds of one transaction, released when it completes.
+     */
+    private final class TransactionHolds implements TransactionSynchronization {
+        private final List<Hold> holds = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChoreIntervalIndex.this);
+            release(holds, status == STATUS_COMMITTED);
+        }
+    }
+
+    private record Interval(long start, long end, long choreId, UserKey owner) {
+
+        static final Comparator<Interval> ORDER = Comparator.comparingLong(Interval::start)
+                .thenComparingLong(Interval::choreId);
+
+        Interval(long start, long end, long choreId) {
+            this(start, end, choreId, null);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.demo.cc.service;
+
+import com.demo.cc.domain.Chore;
+import com.demo.cc.domain.User;
+import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ChoreRepository;
+import com.demo.cc.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Spreads unassigned chores across users by load.
+ *
+ * Each chore goes to the least-loaded user (scheduled minutes on the chore's
+ * date, taken from {@link ChoreIntervalIndex}) whose calendar has no
+ * overlapping chore. The chosen slot is held in the index until commit, so
+ * it also counts against the rest of the batch and concurrent writes. Loads are kept in one min-heap per date and updated as
+ * chores are assigned, so a batch costs O(chores * log users) plus the users
+ * skipped for conflicts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChoreSchedulingService {
+
+    private final ChoreRepository choreRepository;
+    private final UserRepository userRepository;
+    private final ChoreIntervalIndex intervalIndex;
+    private final ChoreStatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Assigns and creates the given chores.
+     * @param chores Chores to schedule; userId is ignored, date defaults to today
+     * @param userIds Users to spread the chores across, or empty for every user of the household
+     * @return Created chores with their assigned users
+     */
+    @Transactional
+    public List<ChoreDto> schedule(List<ChoreDto> chores, List<Long> userIds) {
+        String householdId = HouseholdContext.current();
+        List<User> users = userIds == null || userIds.isEmpty()
+                ? userRepository.findAll()
+                : userRepository.findAllById(userIds);
+        if (users.isEmpty()) {
+            throw new IllegalArgumentException("No users available to schedule chores for");
+        }
+        log.debug("Scheduling {} chores across {} users", chores.size(), users.size());
+
+        // Date and time order, so earlier slots are filled first and untimed chores last each day
+        List<ChoreDto> ordered = new ArrayList<>(chores);
+        ordered.sort(Comparator.comparing((ChoreDto c) -> c.getDate() != null ? c.getDate() : LocalDate.now())
+                .thenComparing(ChoreDto::getTime, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Map<LocalDate, PriorityQueue<UserLoad>> loadsByDate = new HashMap<>();
+        List<ChoreDto> result = new ArrayList<>();
+
+        for (ChoreDto request : ordered) {
+            if (request.getDescription() == null || request.getDescription().isBlank()) {
+                throw new IllegalArgumentException("Chore description is required");
+            }
+            LocalDate date = request.getDate() != null ? request.getDate() : LocalDate.now();
+            PriorityQueue<UserLoad> loads = loadsByDate.computeIfAbsent(date, d -> initialLoads(householdId, users, d));
+
+            Chore chore = new Chore();
+            chore.setDescription(request.getDescription().trim());
+            chore.setDate(date);
+            chore.setTime(request.getTime());
+            chore.setDurationMinutes(request.getDurationMinutes());
+
+            List<UserLoad> skipped = new ArrayList<>();
+            UserLoad chosen = null;
+            while (!loads.isEmpty()) {
+                UserLoad candidate = loads.poll();
+                chore.setUser(candidate.user());
+                if (intervalIndex.tryReserve(householdId, chore)) {
+                    chosen = candidate;
+                    break;
+                }
+                skipped.add(candidate);
+            }
+            loads.addAll(skipped);
+            if (chosen == null) {
+                throw new IllegalArgumentException("No user is free for '" + request.getDescription() + "' on "
+                        + date + (request.getTime() != null ? " at " + request.getTime() : ""));
+            }
+
+            Chore saved = choreRepository.save(chore);
+            statsService.choreAdded(chosen.user().getId(), date, false);
+            eventPublisher.publishEvent(ChoreChangedEvent.upserted(saved));
+
+            int minutes = ChoreIntervalIndex.duration(request.getDurationMinutes());
+            loads.add(new UserLoad(chosen.user(), chosen.minutes() + minutes));
+
+            result.add(new ChoreDto(saved.getId(), saved.getDescription(), saved.getTime(), saved.getDate(),
+                    chosen.user().getId(), saved.getDurationMinutes(), saved.getVersion(), null));
+        }
+        return result;
+    }
+
+    private PriorityQueue<UserLoad> initialLoads(String householdId, List<User> users, LocalDate date) {
+        PriorityQueue<UserLoad> loads = new PriorityQueue<>(Comparator.comparingInt(UserLoad::minutes)
+                .thenComparing(load -> load.user().getId()));
+        for (User user : users) {
+            loads.add(new UserLoad(user, intervalIndex.loadOn(householdId, user.getId(), date)));
+        }
+        return loads;
+    }
+
+    private record UserLoad(User user, int minutes) {}
+}
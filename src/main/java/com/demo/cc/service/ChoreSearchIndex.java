@@ -0,0 +1,508 @@
+package com.demo.cc.service;
+
+import com.demo.cc.domain.ArchivedChore;
+import com.demo.cc.domain.Chore;
+import com.demo.cc.dto.ChoreSearchHit;
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ArchivedChoreRepository;
+import com.demo.cc.repository.ChoreRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text index over chore descriptions.
+ *
+ * Each household has a token index (whole words) and a trigram index (every
+ * three-letter run of every word). A query term matches a chore that has it
+ * as a whole word or inside a word ("gutter" finds "gutters"). Substring
+ * candidates come from intersecting the term's trigram posting lists and are
+ * confirmed against the description. All terms must match. Hits are ranked by
+ * idf-weighted term matches, whole words counting double, then by date, newest
+ * first.
+ *
+ * Postings are ascending int arrays of document ids. An update adds a new
+ * document and marks the old one dead, so postings stay sorted; dead documents
+ * are skipped at query time and dropped when the index is compacted. The index
+ * is loaded at startup and kept current by the change events. An event older
+ * than the version already indexed, or for a chore deleted since, is dropped.
+ * Archived chores stay in the index, so search covers the whole history.
+ */
+@Component
+@Slf4j
+public class ChoreSearchIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_TIME = -1;
+    private static final int RECENT_DELETES = 10_000;
+
+    private final ChoreRepository choreRepository;
+    private final ArchivedChoreRepository archivedChoreRepository;
+    private final Timer queryTimer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Document columns, one entry per document id
+    private long[] choreIds = new long[INITIAL_CAPACITY];
+    private long[] userIds = new long[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private int[] secondsOfDay = new int[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private String[] normalized = new String[INITIAL_CAPACITY];
+    private String[] householdIds = new String[INITIAL_CAPACITY];
+    private boolean[] live = new boolean[INITIAL_CAPACITY];
+    private int docCount;
+    private int liveCount;
+
+    private final LongIntMap docByChoreId = new LongIntMap(INITIAL_CAPACITY);
+    private final RecentDeletes recentDeletes = new RecentDeletes(RECENT_DELETES);
+    private final Map<String, HouseholdPostings> postingsByHousehold = new HashMap<>();
+
+    public ChoreSearchIndex(ChoreRepository choreRepository, ArchivedChoreRepository archivedChoreRepository,
+                            MeterRegistry meterRegistry) {
+        this.choreRepository = choreRepository;
+        this.archivedChoreRepository = archivedChoreRepository;
+        this.queryTimer = Timer.builder("chore.search.query")
+                .description("Full-text chore search latency")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Chore> chores = HouseholdContext.callAs(HouseholdContext.ALL_HOUSEHOLDS, choreRepository::findAll);
+        List<ArchivedChore> archived = HouseholdContext.callAs(HouseholdContext.ALL_HOUSEHOLDS,
+                archivedChoreRepository::findAll);
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            clear();
+            recentDeletes.clear();
+            for (ArchivedChore chore : archived) {
+                add(chore.getHouseholdId(), chore.getId(), chore.getDescription(), chore.getDate(),
+                        chore.getTime(), chore.getUserId(), chore.getVersion());
+            }
+            for (Chore chore : chores) {
+                add(chore.getHouseholdId(), chore.getId(), chore.getDescription(), chore.getDate(),
+                        chore.getTime(), chore.getUser().getId(), chore.getVersion());
+            }
+            log.info("Search index built with {} chores in {} ms", liveCount,
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChoreChanged(ChoreChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == ChangeType.UPSERTED) {
+                if (isStale(event)) {
+                    log.debug("Skipping out-of-order change of chore {} at version {}", event.choreId(),
+                            event.version());
+                    return;
+                }
+                remove(event.choreId());
+                add(event.householdId(), event.choreId(), event.description(), event.date(), event.time(),
+                        event.userId(), event.version());
+            } else if (event.type() == ChangeType.DELETED) {
+                remove(event.choreId());
+                recentDeletes.add(event.choreId());
+            }
+            // An archived chore stays searchable as it was; archived rows do not change
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (int doc = 0; doc < docCount; doc++) {
+                if (live[doc] && userIds[doc] == event.userId() && event.householdId().equals(householdIds[doc])) {
+                    remove(choreIds[doc]);
+                    recentDeletes.add(choreIds[doc]);
+                }
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the chores of a household
+     * @param householdId Household to search in
+     * @param query Free text; every word must match
+     * @param userId Only chores of this user, or null
+     * @param from Earliest chore date, or null
+     * @param to Latest chore date, or null
+     * @param limit Maximum number of hits
+     * @return Hits, best first
+     */
+    public List<ChoreSearchHit> search(String householdId, String query, Long userId, LocalDate from,
+                                       LocalDate to, int limit) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            HouseholdPostings postings = postingsByHousehold.get(householdId);
+            List<String> terms = new ArrayList<>(tokenize(query));
+            if (postings == null || terms.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            int fromDay = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+            int toDay = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+
+            // Most selective term first, so the candidate set starts small
+            DocList[] candidates = new DocList[terms.size()];
+            for (int t = 0; t < terms.size(); t++) {
+                candidates[t] = postings.candidates(terms.get(t));
+                if (candidates[t].size() == 0) {
+                    return List.of();
+                }
+            }
+            Integer[] order = new Integer[terms.size()];
+            for (int t = 0; t < order.length; t++) {
+                order[t] = t;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(candidates[a].size(), candidates[b].size()));
+            DocList docs = candidates[order[0]];
+            for (int t = 1; t < order.length && docs.size() > 0; t++) {
+                docs = intersect(docs, candidates[order[t]]);
+            }
+
+            // Postings keep dead documents until compaction; only live ones count towards a term's frequency
+            double[] idf = new double[terms.size()];
+            for (int t = 0; t < terms.size(); t++) {
+                idf[t] = Math.log(1 + (double) postings.liveDocs / Math.max(1, liveCount(candidates[t])));
+            }
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, Scored.WORST_FIRST);
+            for (int i = 0; i < docs.size(); i++) {
+                int doc = docs.docs()[i];
+                if (!live[doc] || epochDays[doc] < fromDay || epochDays[doc] > toDay
+                        || (userId != null && userIds[doc] != userId)) {
+                    continue;
+                }
+                double score = score(doc, terms, idf);
+                if (score > 0) {
+                    top.add(new Scored(doc, score, epochDays[doc]));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<ChoreSearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                hits.add(toHit(top.poll()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int liveCount(DocList docs) {
+        int count = 0;
+        for (int i = 0; i < docs.size(); i++) {
+            if (live[docs.docs()[i]]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Whether an upsert is older than what the index holds: the chore was deleted since, or a later version
+     * was applied first
+     */
+    private boolean isStale(ChoreChangedEvent event) {
+        if (recentDeletes.contains(event.choreId())) {
+            return true;
+        }
+        int doc = docByChoreId.get(event.choreId());
+        return doc >= 0 && event.version() != null && event.version() < versions[doc];
+    }
+
+    private double score(int doc, List<String> terms, double[] idf) {
+        String text = normalized[doc];
+        double score = 0;
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            int at = text.indexOf(term);
+            if (at < 0) {
+                // Trigram candidates can be false positives; every term must really occur
+                return 0;
+            }
+            boolean wholeWord = isWordStart(text, at) && isWordEnd(text, at + term.length());
+            score += idf[t] * (wholeWord ? 2 : 1);
+        }
+        return score;
+    }
+
+    private ChoreSearchHit toHit(Scored scored) {
+        int doc = scored.doc();
+        return new ChoreSearchHit(choreIds[doc], descriptions[doc],
+                secondsOfDay[doc] == NO_TIME ? null : LocalTime.ofSecondOfDay(secondsOfDay[doc]),
+                LocalDate.ofEpochDay(epochDays[doc]), userIds[doc], Math.round(scored.score() * 1000) / 1000.0);
+    }
+
+    private void add(String householdId, long choreId, String description, LocalDate date, LocalTime time,
+                     long userId, Long version) {
+        if (docCount == choreIds.length) {
+            grow();
+        }
+        int doc = docCount++;
+        choreIds[doc] = choreId;
+        userIds[doc] = userId;
+        epochDays[doc] = (int) date.toEpochDay();
+        secondsOfDay[doc] = time != null ? time.toSecondOfDay() : NO_TIME;
+        versions[doc] = version == null ? 0 : version;
+        descriptions[doc] = description;
+        normalized[doc] = description != null ? description.toLowerCase(Locale.ROOT) : "";
+        householdIds[doc] = householdId;
+        live[doc] = true;
+        liveCount++;
+        docByChoreId.put(choreId, doc);
+
+        HouseholdPostings postings = postingsByHousehold.computeIfAbsent(householdId, h -> new HouseholdPostings());
+        postings.liveDocs++;
+        for (String token : tokenize(description)) {
+            postings.tokens.computeIfAbsent(token, k -> new Postings()).add(doc);
+            for (String trigram : trigrams(token)) {
+                postings.trigrams.computeIfAbsent(trigram, k -> new Postings()).add(doc);
+            }
+        }
+    }
+
+    private void remove(long choreId) {
+        int doc = docByChoreId.remove(choreId);
+        if (doc < 0) {
+            return;
+        }
+        live[doc] = false;
+        liveCount--;
+        postingsByHousehold.get(householdIds[doc]).liveDocs--;
+        descriptions[doc] = null;
+        normalized[doc] = null;
+    }
+
+    /**
+     * Rebuilds the postings without dead documents once they make up half of the index.
+     */
+    private void compactIfSparse() {
+        if (docCount < INITIAL_CAPACITY || liveCount * 2 > docCount) {
+            return;
+        }
+        long start = System.nanoTime();
+        int oldCount = docCount;
+        long[] oldChoreIds = choreIds;
+        long[] oldUserIds = userIds;
+        int[] oldEpochDays = epochDays;
+        int[] oldSeconds = secondsOfDay;
+        long[] oldVersions = versions;
+        String[] oldDescriptions = descriptions;
+        String[] oldHouseholds = householdIds;
+        boolean[] oldLive = live;
+        clear();
+        for (int doc = 0; doc < oldCount; doc++) {
+            if (oldLive[doc]) {
+                add(oldHouseholds[doc], oldChoreIds[doc], oldDescriptions[doc], LocalDate.ofEpochDay(oldEpochDays[doc]),
+                        oldSeconds[doc] == NO_TIME ? null : LocalTime.ofSecondOfDay(oldSeconds[doc]), oldUserIds[doc],
+                        oldVersions[doc]);
+            }
+        }
+        log.debug("Search index compacted from {} to {} documents in {} ms", oldCount, docCount,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void clear() {
+        choreIds = new long[INITIAL_CAPACITY];
+        userIds = new long[INITIAL_CAPACITY];
+        epochDays = new int[INITIAL_CAPACITY];
+        secondsOfDay = new int[INITIAL_CAPACITY];
+        versions = new long[INITIAL_CAPACITY];
+        descriptions = new String[INITIAL_CAPACITY];
+        normalized = new String[INITIAL_CAPACITY];
+        householdIds = new String[INITIAL_CAPACITY];
+        live = new boolean[INITIAL_CAPACITY];
+        docCount = 0;
+        liveCount = 0;
+        docByChoreId.clear();
+        postingsByHousehold.clear();
+    }
+
+    private void grow() {
+        int capacity = choreIds.length * 2;
+        choreIds = Arrays.copyOf(choreIds, capacity);
+        userIds = Arrays.copyOf(userIds, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        secondsOfDay = Arrays.copyOf(secondsOfDay, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        normalized = Arrays.copyOf(normalized, capacity);
+        householdIds = Arrays.copyOf(householdIds, capacity);
+        live = Arrays.copyOf(live, capacity);
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> trigrams(String token) {
+        List<String> trigrams = new ArrayList<>(Math.max(0, token.length() - 2));
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            trigrams.add(token.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static DocList intersect(DocList left, DocList right) {
+        int[] a = left.docs();
+        int[] b = right.docs();
+        int[] out = new int[Math.min(left.size(), right.size())];
+        int n = 0;
+        for (int i = 0, j = 0; i < left.size() && j < right.size(); ) {
+            if (a[i] == b[j]) {
+                out[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new DocList(out, n);
+    }
+
+    private static boolean isWordStart(String text, int at) {
+        return at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1));
+    }
+
+    private static boolean isWordEnd(String text, int end) {
+        return end == text.length() || !Character.isLetterOrDigit(text.charAt(end));
+    }
+
+    private static final class HouseholdPostings {
+        final Map<String, Postings> tokens = new HashMap<>();
+        final Map<String, Postings> trigrams = new HashMap<>();
+        int liveDocs;
+
+        /**
+         * Documents that may contain the term: the word postings for short terms,
+         * otherwise the intersection of its trigram postings.
+         */
+        DocList candidates(String term) {
+            if (term.length() < 3) {
+                Postings exact = tokens.get(term);
+                return exact != null ? exact.view() : DocList.EMPTY;
+            }
+            List<String> grams = trigrams(term);
+            DocList[] lists = new DocList[grams.size()];
+            for (int i = 0; i < grams.size(); i++) {
+                Postings postings = trigrams.get(grams.get(i));
+                if (postings == null) {
+                    return DocList.EMPTY;
+                }
+                lists[i] = postings.view();
+            }
+            Arrays.sort(lists, Comparator.comparingInt(DocList::size));
+            DocList docs = lists[0];
+            for (int i = 1; i < lists.length && docs.size() > 0; i++) {
+                docs = intersect(docs, lists[i]);
+            }
+            return docs;
+        }
+    }
+
+    /**
+     * Growable ascending list of document ids.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        /** No copy; only valid while the read lock is held */
+        DocList view() {
+            return new DocList(docs, size);
+        }
+    }
+
+    private record DocList(int[] docs, int size) {
+
+        static final DocList EMPTY = new DocList(new int[0], 0);
+    }
+
+    private record Scored(int doc, double score, int epochDay) {
+
+        static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::score)
+                .thenComparingInt(Scored::epochDay);
+    }
+}
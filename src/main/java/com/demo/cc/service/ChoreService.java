@@ -1,18 +1,40 @@
 package com.demo.cc.service;
 
+import com.demo.cc.archive.ChoreArchiver;
+import com.demo.cc.codec.CompactFormat;
+import com.demo.cc.codec.CompactWriter;
+import com.demo.cc.config.ReadModelProperties;
+import com.demo.cc.config.UserContent;
+import com.demo.cc.domain.CalendarDayView;
 import com.demo.cc.domain.Chore;
 import com.demo.cc.domain.User;
 import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.dto.ChoreSearchHit;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.CalendarDayViewRepository;
+import com.demo.cc.repository.ChoreListRow;
 import com.demo.cc.repository.ChoreRepository;
-import com.demo.cc.repository.UserRepository;
+import com.demo.cc.repository.ChoreSelection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,7 +42,15 @@ import java.util.stream.Collectors;
 public class ChoreService {
 
     private final ChoreRepository choreRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final ChoreCalendarIndex calendarIndex;
+    private final ChoreIntervalIndex intervalIndex;
+    private final ChoreSearchIndex searchIndex;
+    private final ChoreStatsService statsService;
+    private final CalendarDayViewRepository viewRepository;
+    private final CalendarProjector projector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChoreArchiver archiver;
 
     @Transactional(readOnly = true)
     public List<ChoreDto> getAllChores() {
@@ -30,22 +60,147 @@ public class ChoreService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
+    // Served from the read model when enabled for this endpoint, else from the calendar index;
+    // JPA only until either is available
     public List<ChoreDto> getChoresByDate(LocalDate date) {
         log.debug("Fetching chores for date: {}", date);
+        return withArchived(hotChoresByDate(date), date, null);
+    }
+
+    private List<ChoreDto> hotChoresByDate(LocalDate date) {
+        if (projector.canServe(ReadModelProperties.CHORES_BY_DATE)) {
+            return viewRepository.findByDateOrderByTimeAsc(date).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        }
+        if (calendarIndex.isReady()) {
+            return calendarIndex.findByDate(HouseholdContext.current(), date);
+        }
         return choreRepository.findByDate(date).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public List<ChoreDto> getChoresByUserAndDate(Long userId, LocalDate date) {
         log.debug("Fetching chores for user {} on date: {}", userId, date);
+        return withArchived(hotChoresByUserAndDate(userId, date), date, userId);
+    }
+
+    private List<ChoreDto> hotChoresByUserAndDate(Long userId, LocalDate date) {
+        if (projector.canServe(ReadModelProperties.CHORES_BY_USER_AND_DATE)) {
+            return viewRepository.findByUserIdAndDateOrderByTimeAsc(userId, date).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        }
+        if (calendarIndex.isReady()) {
+            return calendarIndex.findByUserAndDate(HouseholdContext.current(), userId, date);
+        }
         return choreRepository.findByUserIdAndDate(userId, date).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Appends the archived chores of a date, if the archive reaches back that far
+     */
+    private List<ChoreDto> withArchived(List<ChoreDto> chores, LocalDate date, Long userId) {
+        List<ChoreListRow> archived = archiver.archivedOn(date, userId);
+        if (archived.isEmpty()) {
+            return chores;
+        }
+        List<ChoreDto> all = new ArrayList<>(chores);
+        archived.forEach(row -> all.add(convertToDto(row)));
+        return all;
+    }
+
+    /**
+     * Get the selected fields of chores, optionally filtered, without loading entities
+     * @param date Optional date filter
+     * @param userId Optional user filter; requires a date
+     * @return One map per chore, from field name to value, in response order
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getSelectedChores(ChoreSelection selection, LocalDate date, Long userId) {
+        log.debug("Fetching {} for user {} on date {}", selection, userId, date);
+        List<CompactWriter.Column<Object[]>> columns = CompactWriter.choreColumns(selection);
+        try (Stream<Object[]> rows = selectedRows(selection, date, userId)) {
+            return rows.map(row -> {
+                Map<String, Object> chore = new LinkedHashMap<>();
+                columns.forEach(column -> chore.put(column.name(), column.value().apply(row)));
+                return chore;
+            }).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Streams chores from the chores table to a compact response, optionally filtered
+     * @param date Optional date filter
+     * @param userId Optional user filter; requires a date
+     * @param selection Fields to write and whether to embed the user
+     * @return Number of chores written
+     */
+    @Transactional(readOnly = true)
+    public int writeChores(LocalDate date, Long userId, ChoreSelection selection, CompactFormat format,
+                           OutputStream out) throws IOException {
+        log.debug("Writing chores for user {} on date {} as {}", userId, date, format);
+        if (!selection.isDefault()) {
+            try (Stream<Object[]> rows = selectedRows(selection, date, userId)) {
+                return CompactWriter.write(rows, CompactWriter.choreColumns(selection), format, out);
+            }
+        }
+        Stream<ChoreListRow> hot = userId != null
+                ? choreRepository.streamRowsByUserIdAndDate(userId, date)
+                : date != null ? choreRepository.streamRowsByDate(date) : choreRepository.streamRows();
+        if (date != null) {
+            hot = Stream.concat(hot, archiver.archivedOn(date, userId).stream());
+        }
+        try (Stream<ChoreListRow> rows = hot) {
+            return CompactWriter.write(rows, CompactWriter.CHORE_COLUMNS, format, out);
+        }
+    }
+
+    /**
+     * Selected rows of the hot table, followed by those of the archive if it holds the date.
+     * Archived chores get their user from the directory.
+     */
+    private Stream<Object[]> selectedRows(ChoreSelection selection, LocalDate date, Long userId) {
+        Stream<Object[]> hot = choreRepository.streamSelected(selection, date, userId);
+        if (date == null || !archiver.holds(date)) {
+            return hot;
+        }
+        List<Object[]> archived = choreRepository.findArchivedSelected(selection, date, userId);
+        if (selection.user()) {
+            int userIndex = selection.fields().size();
+            for (Object[] row : archived) {
+                userDirectory.findById((Long) row[userIndex]).ifPresent(user -> {
+                    row[userIndex + 1] = user.name();
+                    row[userIndex + 2] = user.color();
+                });
+            }
+        }
+        return Stream.concat(hot, archived.stream());
+    }
+
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    /**
+     * Full-text search over chore descriptions of the current household.
+     * @param query Free text; every word must occur in the description
+     * @param limit Maximum number of hits, capped at {@value #MAX_SEARCH_RESULTS}
+     * @return Hits, best match first, newer chores first among equal matches
+     */
+    public List<ChoreSearchHit> searchChores(String query, Long userId, LocalDate from, LocalDate to, int limit) {
+        log.debug("Searching chores for '{}'", UserContent.of(query));
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return searchIndex.search(HouseholdContext.current(), query, userId, from, to, cappedLimit);
+    }
+
     @Transactional(readOnly = true)
     public ChoreDto getChoreById(Long id) {
         log.debug("Fetching chore with id: {}", id);
@@ -57,16 +212,19 @@ public class ChoreService {
     @Transactional
     public ChoreDto createChore(ChoreDto choreDto) {
         log.debug("Creating new chore for user: {}", choreDto.getUserId());
-        User user = userRepository.findById(choreDto.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + choreDto.getUserId()));
+        User user = userDirectory.reference(choreDto.getUserId());
 
         Chore chore = new Chore();
         chore.setDescription(choreDto.getDescription());
         chore.setTime(choreDto.getTime());
+        chore.setDurationMinutes(choreDto.getDurationMinutes());
         chore.setDate(choreDto.getDate());
         chore.setUser(user);
+        intervalIndex.reserve(HouseholdContext.current(), chore);
 
         Chore savedChore = choreRepository.save(chore);
+        statsService.choreAdded(user.getId(), savedChore.getDate(), false);
+        eventPublisher.publishEvent(ChoreChangedEvent.upserted(savedChore));
         return convertToDto(savedChore);
     }
 
@@ -75,28 +233,107 @@ public class ChoreService {
         log.debug("Updating chore with id: {}", id);
         Chore chore = choreRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Chore not found with id: " + id));
+        if (choreDto.getVersion() != null && !choreDto.getVersion().equals(chore.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Chore.class, id);
+        }
+        Long oldUserId = chore.getUser().getId();
+        LocalDate oldDate = chore.getDate();
 
         chore.setDescription(choreDto.getDescription());
         chore.setTime(choreDto.getTime());
+        chore.setDurationMinutes(choreDto.getDurationMinutes());
         chore.setDate(choreDto.getDate());
 
         if (choreDto.getUserId() != null && !chore.getUser().getId().equals(choreDto.getUserId())) {
-            User user = userRepository.findById(choreDto.getUserId())
-                    .orElseThrow(() -> new RuntimeException("User not found with id: " + choreDto.getUserId()));
-            chore.setUser(user);
+            chore.setUser(userDirectory.reference(choreDto.getUserId()));
         }
+        intervalIndex.reserve(HouseholdContext.current(), chore);
 
-        Chore updatedChore = choreRepository.save(chore);
+        // Flush so the change event carries the version this transaction commits
+        Chore updatedChore = choreRepository.saveAndFlush(chore);
+        statsService.choreMoved(oldUserId, oldDate, updatedChore.getUser().getId(), updatedChore.getDate(),
+                updatedChore.getCompletedAt() != null);
+        eventPublisher.publishEvent(ChoreChangedEvent.upserted(updatedChore));
         return convertToDto(updatedChore);
     }
 
+    /**
+     * Applies the non-null fields of {@code changes} with one conditional UPDATE
+     * guarded by {@code changes.version}.
+     * @throws ObjectOptimisticLockingFailureException if the chore was modified since that version
+     */
+    @Transactional
+    public ChoreDto patchChore(Long id, ChoreDto changes) {
+        log.debug("Patching chore with id: {} at version {}", id, changes.getVersion());
+        if (changes.getVersion() == null) {
+            throw new IllegalArgumentException("version is required to patch a chore");
+        }
+        String householdId = HouseholdContext.current();
+        if (changes.getUserId() != null && !userDirectory.exists(changes.getUserId())) {
+            throw new RuntimeException("User not found with id: " + changes.getUserId());
+        }
+        // The rollups only need the old user and date when one of them changes
+        Chore before = changes.getUserId() != null || changes.getDate() != null
+                ? choreRepository.findById(id).orElse(null)
+                : null;
+        Long oldUserId = before != null ? before.getUser().getId() : null;
+        LocalDate oldDate = before != null ? before.getDate() : null;
+
+        int updated = choreRepository.patch(id, householdId, changes.getVersion(), changes.getDescription(),
+                changes.getTime(), changes.getDate(), changes.getDurationMinutes(), changes.getUserId());
+        if (updated == 0) {
+            if (!choreRepository.existsById(id)) {
+                throw new RuntimeException("Chore not found with id: " + id);
+            }
+            throw new ObjectOptimisticLockingFailureException(Chore.class, id);
+        }
+
+        // Re-read the new state for the response; an overlap rolls the update back
+        Chore chore = choreRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Chore not found with id: " + id));
+        intervalIndex.reserve(householdId, chore);
+        if (before != null) {
+            statsService.choreMoved(oldUserId, oldDate, chore.getUser().getId(), chore.getDate(),
+                    chore.getCompletedAt() != null);
+        }
+        eventPublisher.publishEvent(ChoreChangedEvent.upserted(chore));
+        return convertToDto(chore);
+    }
+
+    /**
+     * Marks a chore as done. Completing a chore twice, also concurrently, keeps the first
+     * completion and returns it to both callers.
+     */
+    @Transactional
+    public ChoreDto completeChore(Long id) {
+        log.debug("Completing chore with id: {}", id);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        // Only the completion that sets completedAt moves the counters; a concurrent one waits for its row lock
+        boolean completed = choreRepository.complete(id, HouseholdContext.current(), now) == 1;
+        Chore chore = choreRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Chore not found with id: " + id));
+        if (completed) {
+            statsService.choreCompleted(chore, LocalDate.ofInstant(now, ZoneId.systemDefault()));
+            eventPublisher.publishEvent(ChoreChangedEvent.upserted(chore));
+        }
+        return convertToDto(chore);
+    }
+
+    /**
+     * @throws ObjectOptimisticLockingFailureException if the chore changed or was deleted concurrently
+     */
     @Transactional
     public void deleteChore(Long id) {
         log.debug("Deleting chore with id: {}", id);
-        if (!choreRepository.existsById(id)) {
-            throw new RuntimeException("Chore not found with id: " + id);
+        Chore chore = choreRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Chore not found with id: " + id));
+        Long userId = chore.getUser().getId();
+        // Versioned, so the counters below are adjusted for the chore that was actually deleted
+        if (choreRepository.deleteChore(id, HouseholdContext.current(), chore.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Chore.class, id);
         }
-        choreRepository.deleteById(id);
+        statsService.choreRemoved(userId, chore.getDate(), chore.getCompletedAt() != null);
+        eventPublisher.publishEvent(ChoreChangedEvent.deleted(HouseholdContext.current(), id));
     }
 
     private ChoreDto convertToDto(Chore chore) {
@@ -106,6 +343,19 @@ public class ChoreService {
         dto.setTime(chore.getTime());
         dto.setDate(chore.getDate());
         dto.setUserId(chore.getUser().getId());
+        dto.setDurationMinutes(chore.getDurationMinutes());
+        dto.setVersion(chore.getVersion());
+        dto.setCompletedAt(chore.getCompletedAt());
         return dto;
     }
+
+    private static ChoreDto convertToDto(ChoreListRow row) {
+        return new ChoreDto(row.id(), row.description(), row.time(), row.date(), row.userId(),
+                row.durationMinutes(), row.version(), row.completedAt());
+    }
+
+    private ChoreDto convertToDto(CalendarDayView view) {
+        return new ChoreDto(view.getChoreId(), view.getDescription(), view.getTime(), view.getDate(), view.getUserId(),
+                view.getDurationMinutes(), view.getChoreVersion(), view.getCompletedAt());
+    }
 }
@@ -0,0 +1,249 @@
+package com.demo.cc.service;
+
+import com.demo.cc.domain.Chore;
+import com.demo.cc.domain.ChoreStats;
+import com.demo.cc.domain.StatsPeriod;
+import com.demo.cc.domain.User;
+import com.demo.cc.domain.UserStreak;
+import com.demo.cc.dto.UserStatsDto;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ChoreRepository;
+import com.demo.cc.repository.ChoreStatsRepository;
+import com.demo.cc.repository.UserRepository;
+import com.demo.cc.repository.UserStreakRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-user chore rollups (assigned and completed counts per day,
+ * week and month of the chores' dates) and completion streaks.
+ *
+ * Every chore write path reports its change here inside its own transaction,
+ * so the counters commit or roll back together with the chore. A change is a
+ * single-row MERGE per period, which creates the row on first use. Reading the
+ * stats of a period costs one rollup row per user plus, for the period
+ * containing today, one day row per user and elapsed day to count overdue
+ * chores, and never scans the chores table.
+ */
+@Service
+@Slf4j
+public class ChoreStatsService {
+
+    private final ChoreStatsRepository statsRepository;
+    private final UserStreakRepository streakRepository;
+    private final UserRepository userRepository;
+    private final ChoreRepository choreRepository;
+    // Only for the backfill, which writes each household in its own transaction
+    private final TransactionTemplate transaction;
+
+    public ChoreStatsService(ChoreStatsRepository statsRepository, UserStreakRepository streakRepository,
+                             UserRepository userRepository, ChoreRepository choreRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.streakRepository = streakRepository;
+        this.userRepository = userRepository;
+        this.choreRepository = choreRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    // ===== Write side, called inside the chore write's transaction =====
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void choreAdded(Long userId, LocalDate date, boolean completed) {
+        apply(HouseholdContext.current(), userId, date, 1, completed ? 1 : 0);
+    }
+
+    /**
+     * Counts a batch of new, open chores of one user with one UPDATE per distinct period.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void choresAdded(Long userId, List<LocalDate> dates) {
+        Map<RollupKey, Integer> counts = new HashMap<>();
+        for (LocalDate date : dates) {
+            for (StatsPeriod period : StatsPeriod.values()) {
+                counts.merge(new RollupKey(period, period.start(date), userId), 1, Integer::sum);
+            }
+        }
+        String householdId = HouseholdContext.current();
+        counts.forEach((key, count) -> applyTo(householdId, key.period(), key.periodStart(), userId, count, 0));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void choreRemoved(Long userId, LocalDate date, boolean completed) {
+        apply(HouseholdContext.current(), userId, date, -1, completed ? -1 : 0);
+    }
+
+    /**
+     * Moves a chore's counts when it was reassigned or rescheduled; no-op otherwise.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void choreMoved(Long oldUserId, LocalDate oldDate, Long newUserId, LocalDate newDate, boolean completed) {
+        if (oldUserId.equals(newUserId) && oldDate.equals(newDate)) {
+            return;
+        }
+        choreRemoved(oldUserId, oldDate, completed);
+        choreAdded(newUserId, newDate, completed);
+    }
+
+    /**
+     * Counts a completion against the chore's date and extends the user's streak.
+     * @param completedOn Day the chore was done, which drives the streak
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void choreCompleted(Chore chore, LocalDate completedOn) {
+        String householdId = HouseholdContext.current();
+        Long userId = chore.getUser().getId();
+        apply(householdId, userId, chore.getDate(), 0, 1);
+
+        UserStreak streak = streakRepository.findForUpdate(userId).orElse(null);
+        if (streak == null) {
+            streakRepository.createIfMissing(userId, householdId);
+            streak = streakRepository.findForUpdate(userId)
+                    .orElseThrow(() -> new IllegalStateException("Streak row missing for user " + userId));
+        }
+        LocalDate last = streak.getLastCompletedOn();
+        if (last == null || completedOn.isAfter(last)) {
+            boolean consecutive = last != null && last.plusDays(1).equals(completedOn);
+            streak.setCurrentStreak(consecutive ? streak.getCurrentStreak() + 1 : 1);
+            streak.setBestStreak(Math.max(streak.getBestStreak(), streak.getCurrentStreak()));
+            streak.setLastCompletedOn(completedOn);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userDeleted(Long userId) {
+        String householdId = HouseholdContext.current();
+        statsRepository.deleteByUser(userId, householdId);
+        streakRepository.deleteByUser(userId, householdId);
+    }
+
+    private void apply(String householdId, Long userId, LocalDate date, int assigned, int completed) {
+        for (StatsPeriod period : StatsPeriod.values()) {
+            applyTo(householdId, period, period.start(date), userId, assigned, completed);
+        }
+    }
+
+    private void applyTo(String householdId, StatsPeriod period, LocalDate start, Long userId, int assigned,
+                         int completed) {
+        statsRepository.increment(householdId, period.name(), start, userId, assigned, completed);
+    }
+
+    // ===== Read side =====
+
+    /**
+     * Get the stats of every user, or one user, for the period containing a date
+     * @param period WEEK or MONTH (DAY also works)
+     * @param date Any date in the period
+     * @param userId Optional user filter
+     * @return Stats per user, most completed chores first
+     */
+    @Transactional(readOnly = true)
+    public List<UserStatsDto> getStats(StatsPeriod period, LocalDate date, Long userId) {
+        LocalDate start = period.start(date);
+        LocalDate end = period.end(start);
+        LocalDate today = LocalDate.now();
+        log.debug("Fetching {} stats from {} to {}", period, start, end);
+
+        List<User> users = userId != null
+                ? List.of(userRepository.findById(userId)
+                        .orElseThrow(() -> new RuntimeException("User not found with id: " + userId)))
+                : userRepository.findAll();
+        Map<Long, ChoreStats> rollups = statsRepository.findByPeriodAndPeriodStart(period, start).stream()
+                .collect(Collectors.toMap(ChoreStats::getUserId, Function.identity()));
+        Map<Long, UserStreak> streaks = streakRepository.findAllById(users.stream().map(User::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(UserStreak::getUserId, Function.identity()));
+
+        // Open chores dated before today are overdue: all of them for a past period,
+        // only those of the elapsed days for the current one
+        Map<Long, Integer> overdue = new HashMap<>();
+        if (!end.isBefore(today)) {
+            if (start.isBefore(today) && period != StatsPeriod.DAY) {
+                for (ChoreStats day : statsRepository.findByPeriodAndPeriodStartBetween(StatsPeriod.DAY, start,
+                        today.minusDays(1))) {
+                    overdue.merge(day.getUserId(), day.getAssigned() - day.getCompleted(), Integer::sum);
+                }
+            }
+        } else {
+            rollups.values().forEach(r -> overdue.put(r.getUserId(), r.getAssigned() - r.getCompleted()));
+        }
+
+        List<UserStatsDto> result = new ArrayList<>(users.size());
+        for (User user : users) {
+            ChoreStats rollup = rollups.get(user.getId());
+            UserStreak streak = streaks.get(user.getId());
+            result.add(new UserStatsDto(
+                    user.getId(),
+                    user.getName(),
+                    period,
+                    start,
+                    end,
+                    rollup != null ? rollup.getAssigned() : 0,
+                    rollup != null ? rollup.getCompleted() : 0,
+                    overdue.getOrDefault(user.getId(), 0),
+                    streak != null ? currentStreak(streak, today) : 0,
+                    streak != null ? streak.getBestStreak() : 0));
+        }
+        result.sort(Comparator.comparingInt(UserStatsDto::getCompleted).reversed()
+                .thenComparing(UserStatsDto::getUserId));
+        return result;
+    }
+
+    private static int currentStreak(UserStreak streak, LocalDate today) {
+        // A streak survives until the end of the day after the last completion
+        LocalDate last = streak.getLastCompletedOn();
+        return last != null && !last.isBefore(today.minusDays(1)) ? streak.getCurrentStreak() : 0;
+    }
+
+    /**
+     * Fills the rollups from the chores table once, when they are empty but
+     * chores exist (a database that predates the rollups). Streaks start empty.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        HouseholdContext.runAs(HouseholdContext.ALL_HOUSEHOLDS, () -> {
+            if (statsRepository.count() > 0 || choreRepository.count() == 0) {
+                return;
+            }
+            Map<String, Map<RollupKey, int[]>> byHousehold = new HashMap<>();
+            for (Chore chore : choreRepository.findAll()) {
+                Map<RollupKey, int[]> counts = byHousehold.computeIfAbsent(chore.getHouseholdId(),
+                        h -> new HashMap<>());
+                for (StatsPeriod period : StatsPeriod.values()) {
+                    int[] count = counts.computeIfAbsent(
+                            new RollupKey(period, period.start(chore.getDate()), chore.getUser().getId()),
+                            k -> new int[2]);
+                    count[0]++;
+                    if (chore.getCompletedAt() != null) {
+                        count[1]++;
+                    }
+                }
+            }
+            byHousehold.forEach((householdId, counts) -> HouseholdContext.runAs(householdId,
+                    () -> transaction.executeWithoutResult(status -> statsRepository.saveAll(
+                            counts.entrySet().stream()
+                                    .map(e -> new ChoreStats(null, householdId, e.getKey().period(),
+                                            e.getKey().periodStart(), e.getKey().userId(), e.getValue()[0],
+                                            e.getValue()[1]))
+                                    .toList()))));
+            log.info("Backfilled chore stats for {} households", byHousehold.size());
+        });
+    }
+
+    private record RollupKey(StatsPeriod period, LocalDate periodStart, Long userId) {}
+}
@@ -0,0 +1,90 @@
+package com.demo.cc.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit in the style of the gradient algorithm.
+ *
+ * The lowest recent latency serves as the no-load baseline. It creeps up by
+ * a small fraction per sample, so a lasting slowdown of the backend is
+ * accepted after a few thousand requests. An average would not work here:
+ * under sustained overload every sample includes queueing, the average
+ * follows it up and the limit never comes down.
+ * Each completed request compares its latency with that baseline. When
+ * latency rises, the gradient (baseline / sample) drops below 1 and the limit
+ * shrinks. When latency is at the baseline, the limit grows by a
+ * sqrt(limit) queue allowance. Requests over the limit are rejected at once
+ * instead of queueing.
+ */
+public class GradientConcurrencyLimiter {
+
+    // Per-sample upward drift of the baseline
+    private static final double BASELINE_CREEP = 1e-4;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    // Latency within this factor of the baseline counts as no queueing
+    private static final double TOLERANCE = 1.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double baselineNanos;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Reserves a slot if the current limit allows it; every successful call must be
+     * paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot and feeds the request latency into the limit.
+     * @param latencyNanos Time the request took
+     * @param sample Whether the latency is representative (false for errors that returned early)
+     */
+    public void release(long latencyNanos, boolean sample) {
+        inFlight.decrementAndGet();
+        if (sample && latencyNanos > 0) {
+            update(latencyNanos);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long latencyNanos) {
+        if (baselineNanos == 0) {
+            baselineNanos = latencyNanos;
+        } else {
+            baselineNanos = Math.min(latencyNanos, baselineNanos * (1 + BASELINE_CREEP));
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * baselineNanos / latencyNanos));
+        double queueAllowance = Math.sqrt(limit);
+        double target = limit * gradient + queueAllowance;
+        double next = limit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,197 @@
+package com.demo.cc.service;
+
+import com.demo.cc.config.AssistantPrefetchProperties;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.HouseholdSnapshotRow;
+import com.demo.cc.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.advisor.api.AdvisedRequest;
+import org.springframework.ai.chat.client.advisor.api.AdvisedResponse;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisorChain;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adds a snapshot of the household to the prompt: the family members and
+ * today's and tomorrow's chores, with their ids. Most questions are about
+ * those, so the model can answer them, or go straight to the write tool,
+ * without first calling listUsers and listChoresByDate.
+ *
+ * The snapshot is read with one query and cached per household until the
+ * next committed user or chore change, or until the date changes. It is a
+ * system message of its own after the conversation history, right before the
+ * user message, so the system prompt and the history stay a stable prefix
+ * that the model's prompt cache can reuse while the snapshot changes. Being
+ * a plain message, chore descriptions are never parsed as template syntax.
+ */
+@Component
+@Slf4j
+public class HouseholdSnapshotAdvisor implements CallAroundAdvisor, StreamAroundAdvisor {
+
+    private final UserRepository userRepository;
+    private final AssistantPrefetchProperties properties;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Bumped by every change, so a snapshot read while a write commits is not cached
+    private final AtomicLong changes = new AtomicLong();
+
+    public HouseholdSnapshotAdvisor(UserRepository userRepository, AssistantPrefetchProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public String getName() {
+        return "householdSnapshot";
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after the conversation memory
+        return Advisor.DEFAULT_CHAT_MEMORY_PRECEDENCE_ORDER + 1;
+    }
+
+    @Override
+    public AdvisedResponse aroundCall(AdvisedRequest advisedRequest, CallAroundAdvisorChain chain) {
+        return chain.nextAroundCall(withSnapshot(advisedRequest));
+    }
+
+    @Override
+    public Flux<AdvisedResponse> aroundStream(AdvisedRequest advisedRequest, StreamAroundAdvisorChain chain) {
+        return chain.nextAroundStream(withSnapshot(advisedRequest));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChoreChanged(ChoreChangedEvent event) {
+        changes.incrementAndGet();
+        snapshots.remove(event.householdId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        changes.incrementAndGet();
+        snapshots.remove(event.householdId());
+    }
+
+    private AdvisedRequest withSnapshot(AdvisedRequest request) {
+        if (!properties.isEnabled()) {
+            return request;
+        }
+        // The memory advisor ran first, so the messages are the history; the snapshot is not stored in the memory.
+        // The system prompt moves into the messages, so the order does not depend on how the client assembles them
+        List<Message> messages = new ArrayList<>(request.messages().size() + 2);
+        String system = request.systemText();
+        if (system != null && !system.isBlank()) {
+            if (!request.systemParams().isEmpty()) {
+                system = new PromptTemplate(system, request.systemParams()).render();
+            }
+            messages.add(new SystemMessage(system));
+        }
+        messages.addAll(request.messages());
+        messages.add(new SystemMessage(snapshot()));
+        return AdvisedRequest.from(request)
+                .withSystemText("")
+                .withMessages(messages)
+                .build();
+    }
+
+    /**
+     * Get the snapshot text of the current household
+     */
+    String snapshot() {
+        String householdId = HouseholdContext.current();
+        LocalDate today = LocalDate.now();
+        Snapshot cached = snapshots.get(householdId);
+        if (cached != null && cached.today().equals(today)) {
+            return cached.text();
+        }
+        long changesBefore = changes.get();
+        long start = System.nanoTime();
+        String text = format(today, userRepository.findSnapshotRows(today, today.plusDays(1)));
+        if (changes.get() == changesBefore) {
+            snapshots.put(householdId, new Snapshot(today, text));
+        }
+        log.debug("Household snapshot of {} loaded in {} µs", householdId, (System.nanoTime() - start) / 1_000);
+        return text;
+    }
+
+    private String format(LocalDate today, List<HouseholdSnapshotRow> rows) {
+        Map<Long, String> users = new TreeMap<>();
+        for (HouseholdSnapshotRow row : rows) {
+            users.putIfAbsent(row.userId(), row.userName());
+        }
+
+        StringBuilder text = new StringBuilder()
+                .append("Household snapshot at the start of this message; use the tools for other dates,")
+                .append(" and trust tool results over it.\n")
+                .append("Today is ").append(today).append(" (")
+                .append(today.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH)).append(").\n")
+                .append("Family members (id name):");
+        if (users.isEmpty()) {
+            text.append(" none");
+        }
+        users.forEach((id, name) -> text.append(' ').append(id).append(' ').append(name).append(','));
+        if (!users.isEmpty()) {
+            text.setLength(text.length() - 1);
+        }
+        text.append('\n');
+
+        appendDay(text, "today", today, rows, users);
+        appendDay(text, "tomorrow", today.plusDays(1), rows, users);
+        return text.toString();
+    }
+
+    private void appendDay(StringBuilder text, String label, LocalDate date, List<HouseholdSnapshotRow> rows,
+                           Map<Long, String> users) {
+        text.append("Chores ").append(label).append(", ").append(date).append(" (id time minutes description user):");
+        int listed = 0;
+        int skipped = 0;
+        for (HouseholdSnapshotRow row : rows) {
+            if (row.choreId() == null || !date.equals(row.date())) {
+                continue;
+            }
+            if (listed == properties.getMaxChores()) {
+                skipped++;
+                continue;
+            }
+            listed++;
+            text.append("\n- ").append(row.choreId())
+                    .append(' ').append(row.time() != null ? row.time() : "anytime")
+                    .append(' ').append(row.durationMinutes() != null ? row.durationMinutes() + "m" : "-")
+                    .append(' ').append(row.description())
+                    .append(" (").append(users.get(row.userId())).append(')');
+            if (row.completedAt() != null) {
+                text.append(" done");
+            }
+        }
+        if (listed == 0) {
+            text.append(" none");
+        }
+        if (skipped > 0) {
+            text.append("\n- and ").append(skipped).append(" more; use listChoresByDate");
+        }
+        text.append('\n');
+    }
+
+    private record Snapshot(LocalDate today, String text) {}
+}
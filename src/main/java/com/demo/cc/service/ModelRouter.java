@@ -0,0 +1,230 @@
+package com.demo.cc.service;
+
+import com.demo.cc.config.ModelRoutingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.azure.openai.AzureOpenAiChatOptions;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the chat model deployment tier a turn starts at, from local signals
+ * only: message length, how many household users it names, date ranges and
+ * multi-step wording. Each tier is {@code pointsPerTier} complexity points
+ * above the previous one.
+ *
+ * A session whose turn had to be escalated starts its next
+ * {@code stickyTurns} turns at the tier that answered it. The escalation
+ * itself is up to {@link ChoreAssistantService}; this class keeps the
+ * routing state and the per-tier latency and cost metrics.
+ */
+@Component
+@Slf4j
+public class ModelRouter {
+
+    private static final Pattern DATE = Pattern.compile("\\b\\d{4}-\\d{2}-\\d{2}\\b");
+    private static final Pattern RANGE =
+            Pattern.compile("\\b(week|weekend|weekdays?|every|each|daily|month|between|until|through)\\b");
+    private static final Pattern STEPS = Pattern.compile("\\b(then|also|after that|afterwards)\\b|;");
+
+    private final ModelRoutingProperties properties;
+    private final UserDirectory userDirectory;
+    private final MeterRegistry meterRegistry;
+
+    // Sessions whose last escalation still applies, least recently used first
+    private final Map<String, Sticky> sessions;
+
+    public ModelRouter(ModelRoutingProperties properties, UserDirectory userDirectory, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.userDirectory = userDirectory;
+        this.meterRegistry = meterRegistry;
+        int maxSessions = properties.getMaxSessions();
+        this.sessions = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Sticky> eldest) {
+                return size() > maxSessions;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && !properties.getTiers().isEmpty();
+    }
+
+    /**
+     * Get the tier a turn starts at
+     * @param conversationId Conversation the turn belongs to
+     * @param message User message
+     * @return Index into the configured tiers
+     */
+    public int initialTier(String conversationId, String message) {
+        int tier = Math.min(complexity(message) / Math.max(1, properties.getPointsPerTier()), lastTier());
+        Sticky sticky = sessions.get(conversationId);
+        return sticky != null ? Math.max(tier, sticky.tier()) : tier;
+    }
+
+    public boolean canEscalate(int tier) {
+        return tier < lastTier();
+    }
+
+    public String name(int tier) {
+        return properties.getTiers().get(tier).getName();
+    }
+
+    /**
+     * Options that send a model call to the deployment of a tier
+     */
+    public ChatOptions options(int tier) {
+        return AzureOpenAiChatOptions.builder()
+                .withDeploymentName(properties.getTiers().get(tier).getDeployment())
+                .build();
+    }
+
+    /**
+     * Whether a reply reads like the model could not handle the request
+     */
+    public boolean isLowConfidence(String reply) {
+        if (reply == null || reply.isBlank()) {
+            return true;
+        }
+        String lower = reply.toLowerCase(Locale.ROOT);
+        for (String phrase : properties.getLowConfidencePhrases()) {
+            if (lower.contains(phrase.toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records the latency of one attempt at a tier
+     * @param outcome ok, low_confidence, tool_error or error
+     */
+    public void recordAttempt(int tier, String outcome, long nanos) {
+        Timer.builder("chore.assistant.tier.latency")
+                .description("Latency of assistant turns by model tier and outcome")
+                .tag("tier", name(tier))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds the estimated price of a model call's tokens to the tier's cost
+     */
+    public void recordUsage(int tier, Usage usage) {
+        ModelRoutingProperties.Tier config = properties.getTiers().get(tier);
+        double cost = (tokens(usage.getPromptTokens()) * config.getPromptTokenCost()
+                + tokens(usage.getGenerationTokens()) * config.getCompletionTokenCost()) / 1_000_000;
+        Counter.builder("chore.assistant.tier.cost")
+                .description("Estimated model cost by tier, from reported token usage and configured prices")
+                .tag("tier", config.getName())
+                .register(meterRegistry)
+                .increment(cost);
+    }
+
+    public void escalated(int from, String reason) {
+        log.info("Escalating assistant turn from tier {} to {} ({})", name(from), name(from + 1), reason);
+        Counter.builder("chore.assistant.escalations")
+                .description("Assistant turns retried on a larger model tier")
+                .tag("from", name(from))
+                .tag("to", name(from + 1))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Updates the session's routing state once a turn is answered
+     * @param startTier Tier the turn started at
+     * @param finalTier Tier that answered it
+     */
+    public void finished(String conversationId, int startTier, int finalTier) {
+        if (finalTier > startTier) {
+            if (properties.getStickyTurns() > 0) {
+                sessions.put(conversationId, new Sticky(finalTier, properties.getStickyTurns()));
+            }
+            return;
+        }
+        sessions.computeIfPresent(conversationId,
+                (id, sticky) -> sticky.turns() > 1 ? new Sticky(sticky.tier(), sticky.turns() - 1) : null);
+    }
+
+    /**
+     * Complexity points of a message; one point per signal, two for strong ones
+     */
+    int complexity(String message) {
+        String lower = message.toLowerCase(Locale.ROOT);
+        int points = 0;
+        if (message.length() > 2 * properties.getLongMessageChars()) {
+            points += 2;
+        } else if (message.length() > properties.getLongMessageChars()) {
+            points++;
+        }
+        int named = namedUsers(lower);
+        if (named >= 3) {
+            points += 2;
+        } else if (named == 2) {
+            points++;
+        }
+        if (RANGE.matcher(lower).find() || count(DATE.matcher(lower)) >= 2) {
+            points++;
+        }
+        if (STEPS.matcher(lower).find()) {
+            points++;
+        }
+        return points;
+    }
+
+    private int namedUsers(String lower) {
+        int named = 0;
+        List<UserDirectory.Entry> users = userDirectory.findAll();
+        for (UserDirectory.Entry user : users) {
+            String key = UserDirectory.nameKey(user.name());
+            int at = lower.indexOf(key);
+            while (at >= 0 && !isWord(lower, at, key.length())) {
+                at = lower.indexOf(key, at + 1);
+            }
+            if (at >= 0) {
+                named++;
+            }
+        }
+        return named;
+    }
+
+    private static boolean isWord(String text, int start, int length) {
+        int end = start + length;
+        return (start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1)))
+                && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)));
+    }
+
+    private static int count(Matcher matcher) {
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private int lastTier() {
+        return properties.getTiers().size() - 1;
+    }
+
+    private static long tokens(Long count) {
+        return count != null ? count : 0;
+    }
+
+    private record Sticky(int tier, int turns) {}
+}
@@ -0,0 +1,43 @@
+package com.demo.cc.service;
+
+import java.util.Arrays;
+
+/**
+ * The most recently deleted chore ids of an in-memory index, oldest evicted
+ * first. Change events are delivered on the committing threads, so an update
+ * that committed before a delete can still arrive after it; ids are never
+ * reused, so such an update is dropped instead of bringing the chore back.
+ */
+final class RecentDeletes {
+    private final long[] ring;
+    private final LongIntMap ids;
+    private int next;
+
+    RecentDeletes(int capacity) {
+        ring = new long[capacity];
+        ids = new LongIntMap(capacity);
+    }
+
+    boolean contains(long choreId) {
+        return ids.get(choreId) >= 0;
+    }
+
+    void add(long choreId) {
+        if (contains(choreId)) {
+            return;
+        }
+        long evicted = ring[next];
+        if (evicted != 0) {
+            ids.remove(evicted);
+        }
+        ring[next] = choreId;
+        ids.put(choreId, next);
+        next = (next + 1) % ring.length;
+    }
+
+    void clear() {
+        Arrays.fill(ring, 0);
+        ids.clear();
+        next = 0;
+    }
+}
@@ -0,0 +1,312 @@
+package com.demo.cc.service;
+
+import com.demo.cc.config.ToolExecutionProperties;
+import com.demo.cc.config.UserContent;
+import com.demo.cc.household.HouseholdContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.ai.chat.messages.AssistantMessage.ToolCall;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage.ToolResponse;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs the tool calls of one model response.
+ *
+ * Calls are split into lanes. All writes share one lane, since a write can
+ * reach entities its arguments do not name (reassigning a chore changes two
+ * users' chore counts). A read that may see one of the writes, before or
+ * after it, joins that lane; other reads get a lane of their own. Whether a
+ * read may see a write is decided from the chore and user ids anywhere in
+ * their arguments. Lanes run concurrently on a bounded pool, calls within a
+ * lane run in order, and the responses are returned in the order the model
+ * asked for them.
+ */
+@Component
+@Slf4j
+public class ToolCallExecutor {
+
+    private static final String SHARED_WRITE_LANE = "writes";
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final ToolExecutionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
+    private final ExecutorService executor;
+    private final Map<String, Class<?>> inputTypes = new ConcurrentHashMap<>();
+    private final Timer batchTimer;
+    private final DistributionSummary savedMillis;
+
+    public ToolCallExecutor(ConfigurableListableBeanFactory beanFactory, ToolExecutionProperties properties,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            ObservationRegistry observationRegistry) {
+        this.beanFactory = beanFactory;
+        this.properties = properties;
+        this.observationRegistry = observationRegistry;
+        this.objectMapper = objectMapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getThreads(), r -> {
+            Thread thread = new Thread(r, "assistant-tool-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchTimer = Timer.builder("chore.assistant.tool_batch")
+                .description("Wall-clock time to run the tool calls of one model response")
+                .register(meterRegistry);
+        this.savedMillis = DistributionSummary.builder("chore.assistant.tool_batch.saved")
+                .description("Sum of tool call times minus batch wall-clock time")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes the tool calls of a model response
+     * @param toolCalls Tool calls in the order the model sent them
+     * @return Tool responses in the same order
+     */
+    public ToolResponseMessage execute(List<ToolCall> toolCalls) {
+        long start = System.nanoTime();
+        long[] durations = new long[toolCalls.size()];
+        String[] results = new String[toolCalls.size()];
+
+        Map<String, List<Integer>> lanes = lanes(toolCalls);
+        if (!properties.isParallel() || lanes.size() == 1) {
+            for (int i = 0; i < toolCalls.size(); i++) {
+                results[i] = timed(toolCalls.get(i), durations, i);
+            }
+        } else {
+            runLanes(toolCalls, lanes, results, durations);
+        }
+
+        long wall = System.nanoTime() - start;
+        long total = 0;
+        for (long duration : durations) {
+            total += duration;
+        }
+        batchTimer.record(wall, TimeUnit.NANOSECONDS);
+        savedMillis.record(TimeUnit.NANOSECONDS.toMillis(Math.max(0, total - wall)));
+        log.info("Ran {} tool calls in {} lanes: {} ms wall, {} ms summed", toolCalls.size(), lanes.size(),
+                TimeUnit.NANOSECONDS.toMillis(wall), TimeUnit.NANOSECONDS.toMillis(total));
+
+        List<ToolResponse> responses = new ArrayList<>(toolCalls.size());
+        for (int i = 0; i < toolCalls.size(); i++) {
+            responses.add(new ToolResponse(toolCalls.get(i).id(), toolCalls.get(i).name(), results[i]));
+        }
+        return new ToolResponseMessage(responses, Map.of());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runLanes(List<ToolCall> toolCalls, Map<String, List<Integer>> lanes, String[] results,
+                          long[] durations) {
+        // Tool calls need the household and the deadline/write claim of the calling attempt
+        String householdId = HouseholdContext.current();
+        AssistantCallContext context = AssistantCallContext.current();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Observation parent = observationRegistry.getCurrentObservation();
+        List<Future<?>> futures = new ArrayList<>(lanes.size());
+        for (List<Integer> lane : lanes.values()) {
+            futures.add(executor.submit(() -> HouseholdContext.runAs(householdId, () -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                Observation.Scope scope = parent != null ? parent.openScope() : null;
+                try {
+                    for (int i : lane) {
+                        results[i] = context != null
+                                ? context.call(() -> timed(toolCalls.get(i), durations, i))
+                                : timed(toolCalls.get(i), durations, i);
+                    }
+                } finally {
+                    if (scope != null) {
+                        scope.close();
+                    }
+                    MDC.clear();
+                }
+            })));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running tool calls", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Tool call failed", e.getCause());
+        }
+    }
+
+    /**
+     * Indexes of the calls in each lane, in call order
+     */
+    Map<String, List<Integer>> lanes(List<ToolCall> toolCalls) {
+        List<Set<String>> entities = new ArrayList<>(toolCalls.size());
+        List<Set<String>> written = new ArrayList<>();
+        for (ToolCall call : toolCalls) {
+            Set<String> touched = entitiesOf(call);
+            entities.add(touched);
+            if (!isRead(call)) {
+                written.add(touched);
+            }
+        }
+
+        Map<String, List<Integer>> lanes = new LinkedHashMap<>();
+        for (int i = 0; i < toolCalls.size(); i++) {
+            Set<String> touched = entities.get(i);
+            boolean ordered = !isRead(toolCalls.get(i)) || written.stream().anyMatch(w -> overlaps(touched, w));
+            lanes.computeIfAbsent(ordered ? SHARED_WRITE_LANE : "read-" + i, k -> new ArrayList<>()).add(i);
+        }
+        return lanes;
+    }
+
+    private static boolean isRead(ToolCall call) {
+        return AssistantToolGuard.READ_TOOLS.contains(call.name());
+    }
+
+    /**
+     * Chore and user ids anywhere in the arguments, as "chore:5" and "user:2"; empty when there are none,
+     * which means the call reads or writes across the household
+     */
+    private Set<String> entitiesOf(ToolCall call) {
+        Set<String> entities = new HashSet<>();
+        try {
+            JsonNode arguments = objectMapper.readTree(call.arguments());
+            if (arguments != null) {
+                collectEntities(arguments, entities);
+            }
+        } catch (Exception e) {
+            log.debug("Unreadable arguments for {}: {}", call.name(), UserContent.of(call.arguments()));
+            entities.clear();
+        }
+        return entities;
+    }
+
+    private static void collectEntities(JsonNode node, Set<String> entities) {
+        if (node.isArray()) {
+            node.forEach(element -> collectEntities(element, entities));
+            return;
+        }
+        node.properties().forEach(field -> {
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "choreId", "choreIds" -> addIds("chore:", value, entities);
+                case "userId", "userIds" -> addIds("user:", value, entities);
+                default -> {
+                    if (value.isContainerNode()) {
+                        collectEntities(value, entities);
+                    }
+                }
+            }
+        });
+    }
+
+    private static void addIds(String prefix, JsonNode value, Set<String> entities) {
+        if (value.isArray()) {
+            value.forEach(id -> entities.add(prefix + id.asText()));
+        } else if (!value.isNull()) {
+            entities.add(prefix + value.asText());
+        }
+    }
+
+    /**
+     * Whether a read of one entity set may see a write to the other. Ids do not tell which user a chore
+     * belongs to, so a chore and a user are assumed to overlap.
+     */
+    private static boolean overlaps(Set<String> read, Set<String> write) {
+        if (read.isEmpty() || write.isEmpty()) {
+            return true;
+        }
+        String kind = kindOf(read);
+        if (kind == null || !kind.equals(kindOf(write))) {
+            return true;
+        }
+        return !Collections.disjoint(read, write);
+    }
+
+    /**
+     * "chore:" or "user:" when all entities are of that kind, otherwise null
+     */
+    private static String kindOf(Set<String> entities) {
+        String kind = null;
+        for (String entity : entities) {
+            String prefix = entity.substring(0, entity.indexOf(':') + 1);
+            if (kind != null && !kind.equals(prefix)) {
+                return null;
+            }
+            kind = prefix;
+        }
+        return kind;
+    }
+
+    private String timed(ToolCall call, long[] durations, int index) {
+        long start = System.nanoTime();
+        try {
+            return invoke(call);
+        } catch (RuntimeException e) {
+            AssistantCallContext context = AssistantCallContext.current();
+            if (context != null) {
+                context.toolFailed(e);
+            }
+            throw e;
+        } finally {
+            durations[index] = System.nanoTime() - start;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String invoke(ToolCall call) {
+        Function<Object, Object> function = (Function<Object, Object>) beanFactory.getBean(call.name(), Function.class);
+        Class<?> inputType = inputTypes.computeIfAbsent(call.name(), this::inputType);
+        try {
+            Object input = inputType == Void.class || call.arguments() == null || call.arguments().isBlank()
+                    ? null
+                    : objectMapper.readValue(call.arguments(), inputType);
+            return objectMapper.writeValueAsString(function.apply(input));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid arguments for " + call.name() + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private Class<?> inputType(String name) {
+        ResolvableType type = beanFactory.getMergedBeanDefinition(name).getResolvableType();
+        Class<?> input = type.as(Function.class).getGeneric(0).resolve();
+        return input != null ? input : Void.class;
+    }
+}
@@ -0,0 +1,88 @@
+package com.demo.cc.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the function beans a chat message is likely to need, using keyword
+ * rules only, so each prompt carries a few tool schemas instead of all of
+ * them.
+ *
+ * Messages that match no rule, and short follow-ups such as "yes" whose
+ * meaning depends on the conversation, get the full set. Narrowed sets always
+ * include {@link #REQUEST_ALL_TOOLS}, which the model calls when it needs a
+ * tool that is missing.
+ */
+@Component
+public class ToolSelector {
+
+    public static final String REQUEST_ALL_TOOLS = "requestAllTools";
+
+    public static final List<String> ALL_TOOLS = List.of(
+            "createUser", "getUser", "listUsers", "updateUser", "deleteUser",
+            "createChore", "createChores", "getChore", "listAllChores", "listChoresByDate",
+            "listChoresForUser", "listChoresInRange", "searchChores", "updateChore", "updateChores",
+            "deleteChore", "deleteChores", "scheduleChores", "completeChore", "getChoreStats");
+
+    private static final Pattern FOLLOW_UP =
+            Pattern.compile("^\\W*(yes|yeah|yep|no|nope|ok|okay|sure|confirm|do it|go ahead|please)\\b.{0,20}$");
+
+    private static final List<Rule> RULES = List.of(
+            new Rule("\\b(users?|members?|family|person|people|colou?rs?|rename)\\b",
+                    "listUsers", "getUser", "createUser", "updateUser"),
+            new Rule("\\b(delete|remove)\\b.*\\b(user|member|person)\\b",
+                    "listUsers", "deleteUser"),
+            new Rule("\\b(what|show|list|see|check|any|today|tomorrow|tonight|\\d{4}-\\d{2}-\\d{2})\\b",
+                    "listChoresByDate", "listChoresForUser", "listAllChores", "getChore", "listUsers"),
+            new Rule("\\b(week|weekend|weekdays?|days|every|each|daily|month|next|until)\\b",
+                    "listChoresInRange", "createChores", "listUsers"),
+            new Rule("\\b(search|find|look for|when|last|ever|mention\\w*)\\b",
+                    "searchChores", "getChore", "listUsers"),
+            new Rule("\\b(add|create|new|assign|needs? to|has to|should)\\b",
+                    "createChore", "createChores", "listUsers", "scheduleChores"),
+            new Rule("\\b(move|change|update|reschedule|reassign|swap|edit|later|earlier)\\b",
+                    "updateChore", "updateChores", "getChore", "listChoresByDate", "listChoresForUser", "listUsers"),
+            new Rule("\\b(delete|remove|cancel|drop)\\b",
+                    "deleteChore", "deleteChores", "listChoresByDate", "listChoresForUser", "getChore"),
+            new Rule("\\b(done|did|finished|completed?|mark)\\b",
+                    "completeChore", "listChoresByDate", "listChoresForUser", "searchChores", "listUsers"),
+            new Rule("\\b(stats|statistics|most|least|how many|overdue|streaks?|progress|leaderboard)\\b",
+                    "getChoreStats", "listUsers"),
+            new Rule("\\b(schedule|split|spread|distribute|divide|share|fair|fairly|anyone|someone)\\b",
+                    "scheduleChores", "listUsers"));
+
+    /**
+     * Selects the tools for a message
+     * @param message User message
+     * @return Function bean names, or {@link #ALL_TOOLS} when no rule is confident
+     */
+    public List<String> select(String message) {
+        String text = message.toLowerCase(Locale.ROOT).trim();
+        if (FOLLOW_UP.matcher(text).matches()) {
+            return ALL_TOOLS;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (Rule rule : RULES) {
+            if (rule.pattern().matcher(text).find()) {
+                selected.addAll(rule.tools());
+            }
+        }
+        if (selected.isEmpty() || selected.size() >= ALL_TOOLS.size()) {
+            return ALL_TOOLS;
+        }
+        selected.add(REQUEST_ALL_TOOLS);
+        return List.copyOf(selected);
+    }
+
+    private record Rule(Pattern pattern, List<String> tools) {
+
+        Rule(String regex, String... tools) {
+            this(Pattern.compile(regex), List.of(tools));
+        }
+    }
+}
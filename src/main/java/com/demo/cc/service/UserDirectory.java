@@ -0,0 +1,203 @@
+package com.demo.cc.service;
+
+import com.demo.cc.domain.User;
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory directory of each household's users by id and by lower-cased
+ * name, so existence checks, name lookups and user lists need no query.
+ *
+ * A household's users are loaded on first use in a transaction of their own,
+ * so the directory never sees another transaction's uncommitted changes, and
+ * are kept current by the committed user change events. Name checks here are
+ * a fast path only: the unique key on {@code (household_id, name_key)} makes
+ * them atomic, and {@link #save} turns a violation into the same error.
+ */
+@Component
+@Slf4j
+public class UserDirectory {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate loadTransaction;
+
+    private final Map<String, Household> households = new ConcurrentHashMap<>();
+
+    public UserDirectory(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    public static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Optional<Entry> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(household().byId.get(id));
+    }
+
+    /**
+     * Get a user by name, ignoring case
+     */
+    public Optional<Entry> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(household().byName.get(nameKey(name)));
+    }
+
+    public boolean exists(Long id) {
+        return id != null && household().byId.containsKey(id);
+    }
+
+    /**
+     * Get a user that must exist
+     * @throws RuntimeException if there is no such user in the current household
+     */
+    public Entry require(Long id) {
+        return findById(id).orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+    }
+
+    /**
+     * Get a reference to an existing user for setting associations; no query runs unless it is read
+     * @throws RuntimeException if there is no such user in the current household
+     */
+    public User reference(Long id) {
+        require(id);
+        return userRepository.getReferenceById(id);
+    }
+
+    /**
+     * Get all users of the current household, ordered by id
+     */
+    public List<Entry> findAll() {
+        return household().byId.values().stream()
+                .sorted(Comparator.comparing(Entry::id))
+                .toList();
+    }
+
+    /**
+     * Get the names of the given users; unknown ids are left out
+     */
+    public Map<Long, String> namesOf(Collection<Long> ids) {
+        Household household = household();
+        Map<Long, String> names = new HashMap<>();
+        for (Long id : ids) {
+            Entry entry = id != null ? household.byId.get(id) : null;
+            if (entry != null) {
+                names.put(id, entry.name());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Checks that no other user of the current household has the name, ignoring case
+     * @param userId The user being renamed, or null for a new user
+     * @throws IllegalArgumentException if the name is taken
+     */
+    public void checkNameAvailable(String name, Long userId) {
+        Entry owner = household().byName.get(nameKey(name));
+        if (owner != null && !owner.id().equals(userId)) {
+            throw nameTaken(name);
+        }
+    }
+
+    /**
+     * Inserts or updates a user and flushes, so a concurrent insert of the same name
+     * fails here rather than at commit
+     * @throws IllegalArgumentException if another user of the household has the name
+     */
+    public User save(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!violatesNameKey(e)) {
+                throw e;
+            }
+            log.warn("User name already taken in household {}", HouseholdContext.current());
+            throw nameTaken(user.getName());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Households not loaded yet read committed state when they are
+        households.computeIfPresent(event.householdId(), (id, household) -> {
+            Entry previous = household.byId.remove(event.userId());
+            if (previous != null) {
+                household.byName.remove(nameKey(previous.name()), previous);
+            }
+            if (event.type() == ChangeType.UPSERTED) {
+                Entry entry = new Entry(event.userId(), event.name(), event.color());
+                household.byId.put(entry.id(), entry);
+                household.byName.put(nameKey(entry.name()), entry);
+            }
+            return household;
+        });
+    }
+
+    private Household household() {
+        return households.computeIfAbsent(HouseholdContext.current(), this::load);
+    }
+
+    private Household load(String householdId) {
+        Household household = new Household();
+        List<User> users = loadTransaction.execute(status -> userRepository.findAll());
+        for (User user : users) {
+            Entry entry = new Entry(user.getId(), user.getName(), user.getColor());
+            household.byId.put(entry.id(), entry);
+            household.byName.put(nameKey(entry.name()), entry);
+        }
+        log.debug("Loaded {} users of household {} into the directory", users.size(), householdId);
+        return household;
+    }
+
+    /**
+     * Whether the violation is of the household's unique name key, rather than e.g. a missing column value
+     */
+    private static boolean violatesNameKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                // H2 reports the key upper-cased and with its index name appended; without a parsed name,
+                // the driver message still names it
+                String constraint = violation.getConstraintName() != null
+                        ? violation.getConstraintName() : violation.getSQLException().getMessage();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(User.NAME_UNIQUE_KEY);
+            }
+        }
+        return false;
+    }
+
+    private static IllegalArgumentException nameTaken(String name) {
+        return new IllegalArgumentException("User with name '" + name.trim() + "' already exists");
+    }
+
+    /**
+     * A user as of the last committed change.
+     */
+    public record Entry(Long id, String name, String color) {}
+
+    private static final class Household {
+        final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+        final Map<String, Entry> byName = new ConcurrentHashMap<>();
+    }
+}
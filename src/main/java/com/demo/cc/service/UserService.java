@@ -1,15 +1,27 @@
 package com.demo.cc.service;
 
+import com.demo.cc.codec.CompactFormat;
+import com.demo.cc.codec.CompactWriter;
+import com.demo.cc.config.UserContent;
 import com.demo.cc.domain.User;
 import com.demo.cc.dto.UserDto;
+import com.demo.cc.event.UserChangedEvent;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ArchivedChoreRepository;
+import com.demo.cc.repository.ChoreRepository;
 import com.demo.cc.repository.UserRepository;
+import com.demo.cc.repository.UserRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -17,65 +29,89 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final ChoreRepository choreRepository;
+    private final ArchivedChoreRepository archivedChoreRepository;
+    private final ChoreStatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
         log.debug("Fetching all users");
-        return userRepository.findAll().stream()
+        return userDirectory.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Streams all users to a compact response
+     * @return Number of users written
+     */
     @Transactional(readOnly = true)
+    public int writeUsers(CompactFormat format, OutputStream out) throws IOException {
+        log.debug("Writing all users as {}", format);
+        try (Stream<UserRow> rows = userRepository.streamRows()) {
+            return CompactWriter.write(rows, CompactWriter.USER_COLUMNS, format, out);
+        }
+    }
+
     public UserDto getUserById(Long id) {
         log.debug("Fetching user with id: {}", id);
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
-        return convertToDto(user);
+        return convertToDto(userDirectory.require(id));
     }
 
     @Transactional
     public UserDto createUser(UserDto userDto) {
-        log.debug("Creating new user: {}", userDto.getName());
-
-        // Check if user with same name already exists (case-insensitive)
-        if (userRepository.existsByNameIgnoreCase(userDto.getName())) {
-            log.error("User with name '{}' already exists", userDto.getName());
-            throw new IllegalArgumentException("User with name '" + userDto.getName() + "' already exists");
-        }
+        log.debug("Creating new user: {}", UserContent.of(userDto.getName()));
+        requireName(userDto.getName());
+        // Fast path; the unique name key catches concurrent creates in save()
+        userDirectory.checkNameAvailable(userDto.getName(), null);
 
         User user = new User();
         user.setName(userDto.getName());
         user.setColor(userDto.getColor());
-        User savedUser = userRepository.save(user);
+        User savedUser = userDirectory.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.upserted(savedUser));
         return convertToDto(savedUser);
     }
 
     @Transactional
     public UserDto updateUser(Long id, UserDto userDto) {
         log.debug("Updating user with id: {}", id);
+        requireName(userDto.getName());
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
-
-        // Check if the new name is already taken by another user (case-insensitive)
-        if (!user.getName().equalsIgnoreCase(userDto.getName()) && userRepository.existsByNameIgnoreCase(userDto.getName())) {
-            log.error("Cannot update: User with name '{}' already exists", userDto.getName());
-            throw new IllegalArgumentException("User with name '" + userDto.getName() + "' already exists");
-        }
+        userDirectory.checkNameAvailable(userDto.getName(), id);
 
         user.setName(userDto.getName());
         user.setColor(userDto.getColor());
-        User updatedUser = userRepository.save(user);
+        User updatedUser = userDirectory.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.upserted(updatedUser));
         return convertToDto(updatedUser);
     }
 
     @Transactional
     public void deleteUser(Long id) {
         log.debug("Deleting user with id: {}", id);
-        if (!userRepository.existsById(id)) {
+        String householdId = HouseholdContext.current();
+        // Chores go in one bulk statement instead of row-by-row orphan removal
+        int deletedChores = choreRepository.deleteByUser(id, householdId);
+        archivedChoreRepository.deleteByUser(id, householdId);
+        if (userRepository.deleteUser(id, householdId) == 0) {
             throw new RuntimeException("User not found with id: " + id);
         }
-        userRepository.deleteById(id);
+        statsService.userDeleted(id);
+        log.debug("Deleted user {} with {} chores", id, deletedChores);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(householdId, id));
+    }
+
+    private static void requireName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("User name is required");
+        }
+    }
+
+    private UserDto convertToDto(UserDirectory.Entry entry) {
+        return new UserDto(entry.id(), entry.name(), entry.color());
     }
 
     private UserDto convertToDto(User user) {
@@ -0,0 +1,102 @@
+package com.demo.cc.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * JDK proxies around the DataSource, its connections and statements that
+ * observe every statement execution as a chore.jdbc.statement span.
+ *
+ * Statements only get a span inside an existing observation (a request, a
+ * chat turn or a tool call), so startup and background work add no overhead
+ * beyond the proxy call.
+ */
+final class ObservedDataSource {
+
+    private static final int MAX_SQL_LENGTH = 500;
+
+    private ObservedDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource, Supplier<ObservationRegistry> registry) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection, registry) : result;
+        });
+    }
+
+    private static Connection wrapConnection(Connection connection, Supplier<ObservationRegistry> registry) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            return switch (method.getName()) {
+                case "createStatement" -> wrapStatement(Statement.class, (Statement) result, null, registry);
+                case "prepareStatement" -> wrapStatement(PreparedStatement.class, (PreparedStatement) result, sql, registry);
+                case "prepareCall" -> wrapStatement(CallableStatement.class, (CallableStatement) result, sql, registry);
+                default -> result;
+            };
+        });
+    }
+
+    private static <T extends Statement> T wrapStatement(Class<T> type, T statement, String preparedSql,
+                                                         Supplier<ObservationRegistry> registry) {
+        return proxy(type, statement, (target, method, args) -> {
+            ObservationRegistry observationRegistry = registry.get();
+            if (!method.getName().startsWith("execute") || observationRegistry.getCurrentObservation() == null) {
+                return invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            Observation observation = Observation.createNotStarted("chore.jdbc.statement", observationRegistry)
+                    .contextualName("jdbc " + method.getName())
+                    .lowCardinalityKeyValue("method", method.getName())
+                    .highCardinalityKeyValue("sql", truncate(sql))
+                    .start();
+            try {
+                return invoke(target, method, args);
+            } catch (Throwable t) {
+                observation.error(t);
+                throw t;
+            } finally {
+                observation.stop();
+            }
+        });
+    }
+
+    private static String truncate(String sql) {
+        if (sql == null) {
+            return "batch";
+        }
+        return sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, TargetHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface TargetHandler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,30 @@
+package com.demo.cc.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint listing the slowest recent traces with their spans:
+ * GET /actuator/slowtraces?limit=10
+ */
+@Component
+@Endpoint(id = "slowtraces")
+public class SlowTracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final TraceRecorder traceRecorder;
+
+    public SlowTracesEndpoint(TraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
+    @ReadOperation
+    public List<TraceRecorder.TraceView> slowest(@Nullable Integer limit) {
+        return traceRecorder.slowest(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,197 @@
+package com.demo.cc.tracing;
+
+import com.demo.cc.config.RequestLogFilter;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Observation handler that assembles observations into traces in memory.
+ *
+ * An observation without a parent starts a trace, which takes the request's
+ * trace id from the MDC when there is one. Child observations become spans of
+ * their parent's trace, also when they run on worker threads that opened the
+ * parent's scope. When the root stops, the trace joins a ring of recent
+ * traces that {@link SlowTracesEndpoint} reads.
+ */
+@Component
+public class TraceRecorder implements ObservationHandler<Observation.Context> {
+
+    private final TracingProperties properties;
+    private final Deque<Trace> recent = new ArrayDeque<>();
+
+    public TraceRecorder(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        Span parent = parentSpan(context);
+        Trace trace = parent != null ? parent.trace : new Trace(traceId(), Instant.now(), System.nanoTime());
+        Span span = new Span(trace, trace.spanIds.incrementAndGet(), parent != null ? parent.id : 0,
+                System.nanoTime(), Thread.currentThread().getName());
+        context.put(Span.class, span);
+    }
+
+    @Override
+    public void onError(Observation.Context context) {
+        Span span = context.get(Span.class);
+        if (span != null && context.getError() != null) {
+            span.error = context.getError().getClass().getSimpleName() + ": " + context.getError().getMessage();
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Span span = context.get(Span.class);
+        if (span == null) {
+            return;
+        }
+        span.durationNanos = System.nanoTime() - span.startNanos;
+        span.name = context.getContextualName() != null ? context.getContextualName() : context.getName();
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (KeyValue keyValue : context.getAllKeyValues()) {
+            tags.put(keyValue.getKey(), keyValue.getValue());
+        }
+        span.tags = tags;
+        span.trace.add(span, properties.getMaxSpansPerTrace());
+
+        if (span.parentId == 0 && !isActuatorRequest(tags)) {
+            synchronized (recent) {
+                recent.addFirst(span.trace);
+                while (recent.size() > properties.getCapacity()) {
+                    recent.removeLast();
+                }
+            }
+        }
+    }
+
+    /**
+     * Slowest of the recently completed traces
+     * @param limit Maximum number of traces
+     * @return Traces by descending duration, spans in start order
+     */
+    public List<TraceView> slowest(int limit) {
+        List<Trace> traces;
+        synchronized (recent) {
+            traces = new ArrayList<>(recent);
+        }
+        return traces.stream()
+                .sorted(Comparator.comparingLong(Trace::durationNanos).reversed())
+                .limit(limit)
+                .map(Trace::view)
+                .toList();
+    }
+
+    private static Span parentSpan(Observation.Context context) {
+        ObservationView parent = context.getParentObservation();
+        return parent != null ? parent.getContextView().get(Span.class) : null;
+    }
+
+    private static String traceId() {
+        String traceId = MDC.get(RequestLogFilter.MDC_TRACE_ID);
+        if (traceId != null) {
+            return traceId;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+
+    private static boolean isActuatorRequest(Map<String, String> tags) {
+        String uri = tags.get("uri");
+        return uri != null && uri.startsWith("/actuator");
+    }
+
+    public record SpanView(int id, int parentId, String name, String thread, double startOffsetMs,
+                           double durationMs, Map<String, String> tags, String error) {}
+
+    public record TraceView(String traceId, String name, Instant startedAt, double durationMs, int spanCount,
+                            int droppedSpans, List<SpanView> spans) {}
+
+    private static final class Trace {
+
+        final String traceId;
+        final Instant startedAt;
+        final long startNanos;
+        final AtomicInteger spanIds = new AtomicInteger();
+        final List<Span> spans = new ArrayList<>();
+        int dropped;
+        volatile Span root;
+
+        Trace(String traceId, Instant startedAt, long startNanos) {
+            this.traceId = traceId;
+            this.startedAt = startedAt;
+            this.startNanos = startNanos;
+        }
+
+        synchronized void add(Span span, int maxSpans) {
+            if (span.parentId == 0) {
+                root = span;
+            }
+            if (spans.size() < maxSpans || span.parentId == 0) {
+                spans.add(span);
+            } else {
+                dropped++;
+            }
+        }
+
+        long durationNanos() {
+            Span rootSpan = root;
+            return rootSpan != null ? rootSpan.durationNanos : 0;
+        }
+
+        synchronized TraceView view() {
+            List<SpanView> views = spans.stream()
+                    .sorted(Comparator.comparingLong(span -> span.startNanos))
+                    .map(span -> new SpanView(span.id, span.parentId, span.name, span.thread,
+                            millis(span.startNanos - startNanos), millis(span.durationNanos), span.tags, span.error))
+                    .toList();
+            return new TraceView(traceId, root != null ? root.name : null, startedAt, millis(durationNanos()),
+                    spans.size() + dropped, dropped, views);
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+
+    private static final class Span {
+
+        final Trace trace;
+        final int id;
+        final int parentId;
+        final long startNanos;
+        final String thread;
+        volatile String name;
+        volatile long durationNanos;
+        volatile Map<String, String> tags = Map.of();
+        volatile String error;
+
+        Span(Trace trace, int id, int parentId, long startNanos, String thread) {
+            this.trace = trace;
+            this.id = id;
+            this.parentId = parentId;
+            this.startNanos = startNanos;
+            this.thread = thread;
+        }
+    }
+}
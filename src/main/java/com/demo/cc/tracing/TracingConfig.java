@@ -0,0 +1,44 @@
+package com.demo.cc.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource so JDBC statements show up as spans.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    static BeanPostProcessor observedDataSource(ObjectProvider<ObservationRegistry> registryProvider,
+                                                ObjectProvider<TracingProperties> propertiesProvider) {
+        return new BeanPostProcessor() {
+            private volatile ObservationRegistry registry;
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && propertiesProvider.getObject().isEnabled()) {
+                    return ObservedDataSource.wrap(dataSource, this::registry);
+                }
+                return bean;
+            }
+
+            private ObservationRegistry registry() {
+                ObservationRegistry current = registry;
+                if (current == null) {
+                    current = registryProvider.getIfAvailable();
+                    if (current == null) {
+                        return ObservationRegistry.NOOP;
+                    }
+                    registry = current;
+                }
+                return current;
+            }
+        };
+    }
+}
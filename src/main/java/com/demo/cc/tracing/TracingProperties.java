@@ -0,0 +1,22 @@
+package com.demo.cc.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory trace recording (chore.tracing.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "chore.tracing")
+@Data
+public class TracingProperties {
+
+    private boolean enabled = true;
+
+    /** Completed traces kept for the slowtraces endpoint */
+    private int capacity = 500;
+
+    /** Spans recorded per trace; later spans are counted but dropped */
+    private int maxSpansPerTrace = 200;
+}
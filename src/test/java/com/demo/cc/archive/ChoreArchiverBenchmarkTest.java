@@ -0,0 +1,155 @@
+package com.demo.cc.archive;
+
+import com.demo.cc.domain.Chore;
+import com.demo.cc.domain.User;
+import com.demo.cc.dto.UserDto;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ArchivedChoreRepository;
+import com.demo.cc.repository.ChoreRepository;
+import com.demo.cc.repository.UserRepository;
+import com.demo.cc.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures what archiving buys the hot path: seeds one household with years
+ * of past chores and a few weeks of upcoming ones, times the queries that
+ * read the whole chore set or a user's chores, archives everything past the
+ * horizon and times them again. Reports the hot set before and after and the
+ * median latency of each query. Run with {@code mvn -Pbenchmark test}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@Slf4j
+class ChoreArchiverBenchmarkTest {
+
+    private static final String HOUSEHOLD = "archive-benchmark";
+    private static final int USERS = 5;
+    private static final int CHORES_PER_DAY = 20;
+    private static final int PAST_DAYS = 3 * 365;
+    private static final int FUTURE_DAYS = 28;
+    private static final int REPETITIONS = 20;
+    private static final String[] DESCRIPTIONS = {"Take out the trash", "Vacuum the living room", "Water the plants",
+            "Clean the bathroom", "Walk the dog", "Do the dishes", "Laundry", "Mow the lawn", "Grocery shopping",
+            "Feed the cat"};
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ChoreRepository choreRepository;
+    @Autowired
+    private ArchivedChoreRepository archivedChoreRepository;
+    @Autowired
+    private ChoreArchiver archiver;
+    @Autowired
+    private ArchiveProperties properties;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void archivingShrinksTheHotSet() {
+        HouseholdContext.runAs(HOUSEHOLD, () -> {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            LocalDate today = LocalDate.now();
+            long[] userIds = seed(today);
+            long seeded = choreRepository.count();
+
+            Long userId = userIds[0];
+            Map<String, IntSupplier> queries = new LinkedHashMap<>();
+            queries.put("all chores", () -> choreRepository.findAll().size());
+            queries.put("chore counts by user", () -> choreRepository.countChoresByUser().size());
+            queries.put("user's chores", () -> userRepository.findById(userId).orElseThrow().getChores().size());
+            queries.put("user's chores today", () -> choreRepository.findByUserIdAndDate(userId, today).size());
+            queries.put("chores today", () -> choreRepository.findByDate(today).size());
+
+            Map<String, Long> before = measure(queries, readOnly);
+            long archiveStart = System.nanoTime();
+            int archived = archiver.archive();
+            long archiveMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - archiveStart);
+            long hot = choreRepository.count();
+            Map<String, Long> after = measure(queries, readOnly);
+
+            List<String> report = new ArrayList<>();
+            report.add(String.format("%-24s %14s %14s %10s", "query", "before µs", "after µs", "speedup"));
+            for (String query : queries.keySet()) {
+                report.add(String.format("%-24s %14d %14d %9.1fx", query, before.get(query), after.get(query),
+                        (double) before.get(query) / Math.max(1, after.get(query))));
+            }
+            log.info("Archived {} chores in {} ms; hot set {} -> {} chores, archive {} chores; median of {} runs:\n{}",
+                    archived, archiveMillis, seeded, hot, archivedChoreRepository.count(), REPETITIONS,
+                    String.join("\n", report));
+
+            LocalDate cutoff = today.minus(properties.getHorizon());
+            long keptDays = cutoff.until(today.plusDays(FUTURE_DAYS + 1), ChronoUnit.DAYS);
+            assertThat(hot).isEqualTo(keptDays * CHORES_PER_DAY);
+            assertThat(archived).isEqualTo((int) (seeded - hot));
+            assertThat(archiver.holds(cutoff.minusDays(1))).isTrue();
+            assertThat(archiver.holds(cutoff)).isFalse();
+        });
+    }
+
+    private long[] seed(LocalDate today) {
+        long[] userIds = new long[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = userService.createUser(new UserDto(null, "User " + i, "#3498db")).getId();
+        }
+        Random random = new Random(42);
+        List<Chore> batch = new ArrayList<>();
+        for (LocalDate date = today.minusDays(PAST_DAYS); !date.isAfter(today.plusDays(FUTURE_DAYS));
+             date = date.plusDays(1)) {
+            for (int i = 0; i < CHORES_PER_DAY; i++) {
+                User user = new User();
+                user.setId(userIds[random.nextInt(USERS)]);
+                batch.add(new Chore(null, HOUSEHOLD, DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                        LocalTime.of(7 + random.nextInt(14), 0), 30, date, 0L, null, user));
+            }
+            if (batch.size() >= 1000) {
+                choreRepository.insertAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            choreRepository.insertAll(batch);
+        }
+        return userIds;
+    }
+
+    private static Map<String, Long> measure(Map<String, IntSupplier> queries, TransactionTemplate transaction) {
+        Map<String, Long> medians = new LinkedHashMap<>();
+        queries.forEach((name, query) -> {
+            long[] micros = new long[REPETITIONS];
+            for (int i = 0; i < REPETITIONS; i++) {
+                long start = System.nanoTime();
+                transaction.execute(status -> query.getAsInt());
+                micros[i] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            }
+            Arrays.sort(micros);
+            medians.put(name, micros[REPETITIONS / 2]);
+        });
+        return medians;
+    }
+}
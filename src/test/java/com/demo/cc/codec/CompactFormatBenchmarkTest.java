@@ -0,0 +1,139 @@
+package com.demo.cc.codec;
+
+import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.repository.ChoreListRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the size and serialization cost of a chore list in plain JSON
+ * (the DTO path of the JSON API) and in each {@link CompactFormat}, before
+ * and after gzip. Runs on synthetic rows resembling a household calendar.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@Slf4j
+class CompactFormatBenchmarkTest {
+
+    private static final int CHORES = 10_000;
+    private static final int ITERATIONS = 50;
+    private static final String[] DESCRIPTIONS = {"Take out the trash", "Vacuum the living room", "Water the plants",
+            "Clean the bathroom", "Walk the dog", "Do the dishes", "Laundry", "Mow the lawn", "Grocery shopping",
+            "Feed the cat"};
+
+    // Configured like the application's mapper: ISO dates and times
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void compactFormatsAreSmallerThanJson() throws IOException {
+        List<ChoreListRow> rows = rows(CHORES);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-14s %12s %12s %14s %14s", "format", "bytes/chore", "gzip b/chore",
+                "cpu ns/chore", "gzip ns/chore"));
+        Result json = measure("json", threads, () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            List<ChoreDto> dtos = rows.stream()
+                    .map(row -> new ChoreDto(row.id(), row.description(), row.time(), row.date(), row.userId(),
+                            row.durationMinutes(), row.version(), row.completedAt()))
+                    .toList();
+            objectMapper.writeValue(out, dtos);
+            return out.toByteArray();
+        });
+        report.add(json.line());
+        List<Result> compact = new ArrayList<>();
+        for (CompactFormat format : CompactFormat.values()) {
+            Result result = measure(format.getMediaType().getSubtype(), threads, () -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                CompactWriter.write(rows.stream(), CompactWriter.CHORE_COLUMNS, format, out);
+                return out.toByteArray();
+            });
+            report.add(result.line());
+            compact.add(result);
+        }
+        log.info("Serialized {} chores, {} iterations each:\n{}", CHORES, ITERATIONS, String.join("\n", report));
+
+        for (Result result : compact) {
+            assertThat(result.bytesPerChore()).as(result.name()).isLessThan(json.bytesPerChore());
+        }
+    }
+
+    private static Result measure(String name, ThreadMXBean threads, Encoder encoder) throws IOException {
+        byte[] encoded = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoded = encoder.encode();
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoded = encoder.encode();
+        }
+        long encodeNanos = threads.getCurrentThreadCpuTime() - start;
+
+        byte[] compressed = null;
+        start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            compressed = gzip(encoded);
+        }
+        long gzipNanos = threads.getCurrentThreadCpuTime() - start;
+
+        long perChore = (long) ITERATIONS * CHORES;
+        return new Result(name, (double) encoded.length / CHORES, (double) compressed.length / CHORES,
+                encodeNanos / perChore, gzipNanos / perChore);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<ChoreListRow> rows(int count) {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.now();
+        Instant now = Instant.now();
+        List<ChoreListRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean timed = random.nextInt(3) > 0;
+            rows.add(new ChoreListRow((long) i + 1, DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                    timed ? LocalTime.of(7 + random.nextInt(14), random.nextInt(4) * 15) : null,
+                    start.plusDays(random.nextInt(90)), 1L + random.nextInt(5),
+                    timed ? 15 * (1 + random.nextInt(4)) : null, (long) random.nextInt(3),
+                    random.nextInt(4) == 0 ? now.minusSeconds(random.nextInt(86_400 * 30)) : null));
+        }
+        return rows;
+    }
+
+    private record Result(String name, double bytesPerChore, double gzipBytesPerChore, long cpuNanosPerChore,
+                          long gzipNanosPerChore) {
+
+        String line() {
+            return String.format("%-14s %12.1f %12.1f %14d %14d", name, bytesPerChore, gzipBytesPerChore,
+                    cpuNanosPerChore, gzipNanosPerChore);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        byte[] encode() throws IOException;
+    }
+}
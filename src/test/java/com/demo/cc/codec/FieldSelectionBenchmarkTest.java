@@ -0,0 +1,180 @@
+package com.demo.cc.codec;
+
+import com.demo.cc.domain.Chore;
+import com.demo.cc.domain.User;
+import com.demo.cc.dto.UserDto;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ChoreRepository;
+import com.demo.cc.repository.ChoreSelection;
+import com.demo.cc.service.ChoreService;
+import com.demo.cc.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares field selections on the chore list: the full DTO list, the DTO
+ * list plus the user list calendar clients fetch to join names and colors,
+ * and sparse {@code ?fields=} / {@code ?include=user} projections. For each
+ * it reports the JSON payload per chore before and after gzip, the median
+ * server time of query and serialization, and the SQL statements and
+ * entities Hibernate loaded for one request. Runs against a seeded
+ * household; run with {@code mvn -Pbenchmark test}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@Slf4j
+class FieldSelectionBenchmarkTest {
+
+    private static final String HOUSEHOLD = "fields-benchmark";
+    private static final int CHORES = 10_000;
+    private static final int USERS = 5;
+    private static final int REPETITIONS = 20;
+    private static final String CALENDAR_FIELDS = "id,description,time,date,durationMinutes";
+    private static final String[] DESCRIPTIONS = {"Take out the trash", "Vacuum the living room", "Water the plants",
+            "Clean the bathroom", "Walk the dog", "Do the dishes", "Laundry", "Mow the lawn", "Grocery shopping",
+            "Feed the cat"};
+    private static final String[] COLORS = {"#e74c3c", "#3498db", "#2ecc71", "#f1c40f", "#9b59b6"};
+
+    @Autowired
+    private ChoreService choreService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ChoreRepository choreRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void selectionsAreOneProjectionWithoutEntities() {
+        HouseholdContext.runAs(HOUSEHOLD, () -> {
+            seed();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+
+            Map<String, Supplier<List<?>>> cases = new LinkedHashMap<>();
+            cases.put("dto", choreService::getAllChores);
+            cases.put("dto + users", () -> List.of(choreService.getAllChores(), userService.getAllUsers()));
+            cases.put("id,description", selected("id,description", null));
+            cases.put("calendar fields", selected(CALENDAR_FIELDS, null));
+            cases.put("include=user", selected(null, "user"));
+            cases.put("calendar + user", selected(CALENDAR_FIELDS, "user"));
+
+            Map<String, Result> results = new LinkedHashMap<>();
+            cases.forEach((name, request) -> results.put(name, measure(request, statistics)));
+
+            List<String> report = new ArrayList<>();
+            report.add(String.format("%-16s %12s %12s %12s %11s %9s", "selection", "bytes/chore",
+                    "gzip b/chore", "median ms", "statements", "entities"));
+            results.forEach((name, result) -> report.add(String.format("%-16s %12.1f %12.1f %12.2f %11d %9d",
+                    name, result.bytesPerChore(), result.gzipBytesPerChore(), result.medianMillis(),
+                    result.statements(), result.entities())));
+            log.info("Field selection benchmark on {} chores of {} users, median of {} runs:\n{}", CHORES, USERS,
+                    REPETITIONS, String.join("\n", report));
+
+            assertThat(results.get("dto").entities()).isGreaterThanOrEqualTo(CHORES);
+            for (String selection : List.of("id,description", "calendar fields", "include=user",
+                    "calendar + user")) {
+                assertThat(results.get(selection).statements()).as(selection).isEqualTo(1);
+                assertThat(results.get(selection).entities()).as(selection).isZero();
+            }
+            assertThat(results.get("id,description").bytesPerChore())
+                    .isLessThan(results.get("dto").bytesPerChore());
+        });
+    }
+
+    private Supplier<List<?>> selected(String fields, String include) {
+        ChoreSelection selection = ChoreSelection.parse(fields, include);
+        return () -> choreService.getSelectedChores(selection, null, null);
+    }
+
+    private Result measure(Supplier<List<?>> request, Statistics statistics) {
+        statistics.clear();
+        byte[] json = json(request.get());
+        long statements = statistics.getPrepareStatementCount();
+        long entities = statistics.getEntityLoadCount();
+
+        long[] nanos = new long[REPETITIONS];
+        for (int i = 0; i < REPETITIONS; i++) {
+            long start = System.nanoTime();
+            json(request.get());
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new Result((double) json.length / CHORES, (double) gzip(json).length / CHORES,
+                nanos[REPETITIONS / 2] / 1e6, statements, entities);
+    }
+
+    private void seed() {
+        long[] userIds = new long[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = userService.createUser(new UserDto(null, "User " + i, COLORS[i % COLORS.length])).getId();
+        }
+        Random random = new Random(42);
+        LocalDate start = LocalDate.now();
+        List<Chore> batch = new ArrayList<>();
+        for (int i = 0; i < CHORES; i++) {
+            boolean timed = random.nextInt(3) > 0;
+            User user = new User();
+            user.setId(userIds[random.nextInt(USERS)]);
+            batch.add(new Chore(null, HOUSEHOLD, DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                    timed ? LocalTime.of(7 + random.nextInt(14), random.nextInt(4) * 15) : null,
+                    timed ? 15 * (1 + random.nextInt(4)) : null, start.plusDays(random.nextInt(90)), 0L, null,
+                    user));
+            if (batch.size() == 1000) {
+                choreRepository.insertAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            choreRepository.insertAll(batch);
+        }
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Result(double bytesPerChore, double gzipBytesPerChore, double medianMillis, long statements,
+                          long entities) {}
+}
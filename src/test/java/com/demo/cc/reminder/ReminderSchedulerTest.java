@@ -0,0 +1,81 @@
+package com.demo.cc.reminder;
+
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import com.demo.cc.repository.ChoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReminderSchedulerTest {
+
+    private static final String HOUSEHOLD = "default";
+
+    private final BlockingQueue<Reminder> sent = new LinkedBlockingQueue<>();
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void start() {
+        ChoreRepository choreRepository = mock(ChoreRepository.class);
+        when(choreRepository.streamOpenTimedBetween(any(), any())).thenAnswer(invocation -> Stream.empty());
+        scheduler = new ReminderScheduler(choreRepository, sent::add, new ReminderProperties(),
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        scheduler.start();
+    }
+
+    @AfterEach
+    void stop() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void editingARemindedChoreDoesNotRemindAgain() throws InterruptedException {
+        // Inside the 15 minute lead time, so the reminder is sent right away
+        LocalDateTime dueAt = LocalDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.MINUTES);
+        scheduler.onChoreChanged(upserted(1L, "Dishes", dueAt, 1L, 0L));
+        assertThat(sent.poll(5, TimeUnit.SECONDS)).extracting(Reminder::dueAt).isEqualTo(dueAt);
+
+        scheduler.onChoreChanged(upserted(1L, "Dishes and pans", dueAt, 1L, 1L));
+        LocalDateTime moved = dueAt.plusMinutes(1);
+        scheduler.onChoreChanged(upserted(1L, "Dishes and pans", moved, 1L, 2L));
+        scheduler.onChoreChanged(upserted(1L, "Dishes and pans", moved, 2L, 3L));
+
+        // One notifier thread sends in order, so a duplicate would arrive first
+        assertThat(sent.poll(5, TimeUnit.SECONDS)).extracting(Reminder::dueAt).isEqualTo(moved);
+        assertThat(sent.poll(5, TimeUnit.SECONDS)).extracting(Reminder::userId).isEqualTo(2L);
+        assertThat(sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void unchangedSlotKeepsItsScheduledReminder() {
+        LocalDateTime dueAt = LocalDateTime.now().plusHours(2).truncatedTo(ChronoUnit.MINUTES);
+        scheduler.onChoreChanged(upserted(1L, "Dishes", dueAt, 1L, 0L));
+        scheduler.onChoreChanged(upserted(1L, "Dishes and pans", dueAt, 1L, 1L));
+        scheduler.onChoreChanged(upserted(2L, "Laundry", dueAt, 1L, 0L));
+        assertThat(scheduler.size()).isEqualTo(2);
+
+        scheduler.onChoreChanged(ChoreChangedEvent.deleted(HOUSEHOLD, 1L));
+        assertThat(scheduler.size()).isEqualTo(1);
+        assertThat(sent).isEmpty();
+    }
+
+    private static ChoreChangedEvent upserted(Long choreId, String description, LocalDateTime dueAt, Long userId,
+                                              Long version) {
+        return new ChoreChangedEvent(ChangeType.UPSERTED, HOUSEHOLD, choreId, description, dueAt.toLocalTime(), 30,
+                dueAt.toLocalDate(), userId, version, null);
+    }
+}
@@ -0,0 +1,92 @@
+package com.demo.cc.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load check for the timing wheel in real time: schedules a large number of
+ * synthetic reminders spread over a short span, cancels a share of them, and
+ * drives the wheel at the default tick. Reports scheduling time, heap used by
+ * the scheduled entries, and how late the rest fired. Run with
+ * {@code mvn -Pbenchmark test}; count and span can be changed with
+ * {@code -Dbenchmark.reminders.count} and {@code -Dbenchmark.reminders.span-seconds}.
+ */
+@Tag("benchmark")
+@Slf4j
+class TimingWheelBenchmarkTest {
+
+    private static final int COUNT = Integer.getInteger("benchmark.reminders.count", 1_000_000);
+    private static final long SPAN_MILLIS = TimeUnit.SECONDS.toMillis(
+            Integer.getInteger("benchmark.reminders.span-seconds", 60));
+    private static final double CANCEL_RATE = 0.1;
+
+    @Test
+    void firesReminderLoadOnTime() throws InterruptedException {
+        ReminderProperties properties = new ReminderProperties();
+        long tickMillis = properties.getTick().toMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime dueAt = LocalDateTime.now();
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long start = System.currentTimeMillis();
+        TimingWheel<Reminder> wheel = new TimingWheel<>(tickMillis, properties.getLevels(), start);
+        @SuppressWarnings("unchecked")
+        TimingWheel.Timeout<Reminder>[] timeouts = new TimingWheel.Timeout[COUNT];
+        long scheduleStart = System.nanoTime();
+        for (int i = 0; i < COUNT; i++) {
+            long deadline = start + tickMillis + random.nextLong(SPAN_MILLIS);
+            timeouts[i] = wheel.schedule(new Reminder("benchmark", (long) i, 1L, "Chore " + i, dueAt), deadline);
+        }
+        long scheduleNanos = System.nanoTime() - scheduleStart;
+        System.gc();
+        long heapAfter = usedHeap();
+
+        long cancelStart = System.nanoTime();
+        int cancelled = 0;
+        for (TimingWheel.Timeout<Reminder> timeout : timeouts) {
+            if (random.nextDouble() < CANCEL_RATE && wheel.cancel(timeout)) {
+                cancelled++;
+            }
+        }
+        long cancelNanos = System.nanoTime() - cancelStart;
+        log.info("Scheduled {} reminders in {} ms ({} bytes each), cancelled {} in {} ms",
+                COUNT, TimeUnit.NANOSECONDS.toMillis(scheduleNanos), (heapAfter - heapBefore) / COUNT,
+                cancelled, TimeUnit.NANOSECONDS.toMillis(cancelNanos));
+        Arrays.fill(timeouts, null);
+        assertThat(wheel.size()).isEqualTo(COUNT - cancelled);
+
+        long[] lateness = new long[wheel.size()];
+        int[] fired = new int[1];
+        long maxTickNanos = 0;
+        while (wheel.size() > 0) {
+            Thread.sleep(tickMillis - System.currentTimeMillis() % tickMillis);
+            long tickStart = System.nanoTime();
+            long now = System.currentTimeMillis();
+            wheel.advance(now, timeout -> lateness[fired[0]++] = now - timeout.deadlineMillis());
+            maxTickNanos = Math.max(maxTickNanos, System.nanoTime() - tickStart);
+        }
+        Arrays.sort(lateness, 0, fired[0]);
+        log.info("Fired {} reminders; lateness p50 {} ms, p99 {} ms, max {} ms; slowest tick {} ms",
+                fired[0], lateness[fired[0] / 2], lateness[(int) (fired[0] * 0.99)],
+                lateness[fired[0] - 1], TimeUnit.NANOSECONDS.toMillis(maxTickNanos));
+
+        assertThat(fired[0]).isEqualTo(COUNT - cancelled);
+        assertThat(lateness[0]).as("earliest firing relative to its deadline").isGreaterThanOrEqualTo(0);
+        // Sleep jitter aside, a reminder fires on the first tick at or after its deadline
+        assertThat(lateness[(int) (fired[0] * 0.99)]).isLessThan(2 * tickMillis);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,78 @@
+package com.demo.cc.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the wheel in virtual time, one tick per {@link TimingWheel#advance},
+ * so every firing can be checked against the exact tick of its deadline.
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final int LEVELS = 4;
+    // Aligned to the top level, so the first rotation is a full one
+    private static final long START = (1L << (LEVELS * 6)) * TICK * 101;
+
+    @Test
+    void millionTimersFireOnceInTheTickOfTheirDeadline() {
+        int count = 1_000_000;
+        int overflowing = 1_000;
+        Random random = new Random(42);
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, LEVELS, START);
+        @SuppressWarnings("unchecked")
+        TimingWheel.Timeout<Integer>[] timeouts = new TimingWheel.Timeout[count + overflowing];
+        long span = TimeUnit.DAYS.toMillis(2);
+        for (int i = 0; i < count; i++) {
+            timeouts[i] = wheel.schedule(i, START + TICK + random.nextLong(span));
+        }
+        // Past the 194 days four levels cover, so these wait in the overflow list first
+        long topLevel = (1L << (LEVELS * 6)) * TICK;
+        for (int i = count; i < count + overflowing; i++) {
+            timeouts[i] = wheel.schedule(i, START + topLevel + random.nextLong(TimeUnit.DAYS.toMillis(10)));
+        }
+        BitSet cancelled = new BitSet();
+        for (int i = 0; i < timeouts.length; i += 10) {
+            assertThat(wheel.cancel(timeouts[i])).isTrue();
+            assertThat(wheel.cancel(timeouts[i])).isFalse();
+            cancelled.set(i);
+        }
+        int live = timeouts.length - cancelled.cardinality();
+        assertThat(wheel.size()).isEqualTo(live);
+
+        BitSet fired = new BitSet();
+        int[] misplaced = new int[1];
+        long now = START;
+        while (wheel.size() > 0) {
+            now += TICK;
+            long tick = now / TICK;
+            wheel.advance(now, timeout -> {
+                int id = timeout.item();
+                if (fired.get(id) || cancelled.get(id)
+                        || Math.floorDiv(timeout.deadlineMillis() + TICK - 1, TICK) != tick) {
+                    misplaced[0]++;
+                }
+                fired.set(id);
+            });
+        }
+
+        assertThat(misplaced[0]).isZero();
+        assertThat(fired.cardinality()).isEqualTo(live);
+        assertThat(wheel.cancel(timeouts[1])).isFalse();
+    }
+
+    @Test
+    void deadlineInTheCurrentTickIsNotScheduled() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, LEVELS, START);
+
+        assertThat(wheel.schedule(1, START)).isNull();
+        assertThat(wheel.schedule(2, START - TICK)).isNull();
+        assertThat(wheel.schedule(3, START + 1)).isNotNull();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,49 @@
+package com.demo.cc.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * A recorded assistant conversation, read from a transcripts/*.json file.
+ *
+ * The household is seeded with the users and chores first. Each turn sends
+ * the user message through the assistant and answers its model calls with
+ * the recorded responses, in order. Strings in seed data, user messages and
+ * tool call arguments may use the placeholders {{today}}, {{today+N}},
+ * {{user:Name}} and {{chore:Description}}, resolved per replay.
+ */
+public record Transcript(
+        String name,
+        String description,
+        List<SeedUser> users,
+        List<SeedChore> chores,
+        List<Turn> turns,
+        Budget budget) {
+
+    public record SeedUser(String name, String color) {}
+
+    public record SeedChore(String description, String user, String date, String time, Integer durationMinutes) {}
+
+    public record Turn(String user, List<Response> responses) {}
+
+    /**
+     * One recorded model response: tool calls, or the final reply when there are none.
+     * A model, when given, is the deployment the call must be routed to.
+     */
+    public record Response(String content, List<ToolCall> toolCalls, String model) {
+
+        public boolean hasToolCalls() {
+            return toolCalls != null && !toolCalls.isEmpty();
+        }
+    }
+
+    public record ToolCall(String name, JsonNode arguments) {}
+
+    /**
+     * Limits for the whole conversation; null means unchecked.
+     * Prompt tokens are summed over every model call, as the provider bills them.
+     */
+    public record Budget(Integer promptTokens, Integer completionTokens, Integer toolRoundTrips,
+                         Integer serverMillis) {}
+}
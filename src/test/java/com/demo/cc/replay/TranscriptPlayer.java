@@ -0,0 +1,195 @@
+package com.demo.cc.replay;
+
+import org.springframework.ai.azure.openai.AzureOpenAiChatOptions;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.ResolvableType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Answers model calls with the recorded responses of a transcript turn and
+ * counts what a real provider would have billed.
+ *
+ * Tokens are estimated at about four characters each, as the rate limiter
+ * does: every message of the prompt, plus the name, description and JSON
+ * schema of every tool the prompt offers, which is what the provider
+ * receives. Time spent here is tracked so it can be left out of server time.
+ * Calls routed to another deployment than the recorded one are reported as
+ * problems rather than failed, so the turn still plays out.
+ */
+public class TranscriptPlayer {
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final Map<String, Integer> toolTokens = new ConcurrentHashMap<>();
+
+    private final Deque<Transcript.Response> responses = new ArrayDeque<>();
+    private final List<String> problems = new ArrayList<>();
+    private UnaryOperator<String> placeholders = UnaryOperator.identity();
+    private long promptTokens;
+    private long completionTokens;
+    private int toolRoundTrips;
+    private int modelCalls;
+    private long modelNanos;
+
+    public TranscriptPlayer(ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * Queues the recorded responses of the next turn
+     * @param turnResponses Responses in the order the model gave them
+     * @param resolver Resolves placeholders in tool call arguments
+     */
+    public synchronized void play(List<Transcript.Response> turnResponses, UnaryOperator<String> resolver) {
+        responses.clear();
+        responses.addAll(turnResponses);
+        placeholders = resolver;
+    }
+
+    /**
+     * Recorded responses of the current turn that the assistant did not ask for
+     */
+    public synchronized int remaining() {
+        return responses.size();
+    }
+
+    /**
+     * Get the problems since the last call and forget them
+     */
+    public synchronized List<String> takeProblems() {
+        List<String> taken = List.copyOf(problems);
+        problems.clear();
+        return taken;
+    }
+
+    /**
+     * Get the counts since the last call and start new ones
+     */
+    public synchronized Usage takeUsage() {
+        Usage usage = new Usage(promptTokens, completionTokens, toolRoundTrips, modelCalls, modelNanos);
+        promptTokens = 0;
+        completionTokens = 0;
+        toolRoundTrips = 0;
+        modelCalls = 0;
+        modelNanos = 0;
+        return usage;
+    }
+
+    public synchronized ChatResponse respond(Prompt prompt) {
+        long start = System.nanoTime();
+        try {
+            Transcript.Response recorded = responses.poll();
+            if (recorded == null) {
+                throw new IllegalStateException("Assistant made more model calls than the transcript recorded");
+            }
+            String deployment = prompt.getOptions() instanceof AzureOpenAiChatOptions azure
+                    ? azure.getDeploymentName() : null;
+            if (recorded.model() != null && !recorded.model().equals(deployment)) {
+                problems.add("model call " + (modelCalls + 1) + " went to " + deployment + ", recorded on "
+                        + recorded.model());
+            }
+            int prompted = promptTokens(prompt);
+            AssistantMessage output = recorded.hasToolCalls() ? toolCalls(recorded) : new AssistantMessage(
+                    placeholders.apply(recorded.content() != null ? recorded.content() : ""));
+            int completed = completionTokens(output);
+
+            promptTokens += prompted;
+            completionTokens += completed;
+            modelCalls++;
+            if (recorded.hasToolCalls()) {
+                toolRoundTrips++;
+            }
+            ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+                    .withUsage(new DefaultUsage((long) prompted, (long) completed))
+                    .build();
+            return new ChatResponse(List.of(new Generation(output)), metadata);
+        } finally {
+            modelNanos += System.nanoTime() - start;
+        }
+    }
+
+    private AssistantMessage toolCalls(Transcript.Response recorded) {
+        List<AssistantMessage.ToolCall> calls = new ArrayList<>();
+        for (Transcript.ToolCall call : recorded.toolCalls()) {
+            String arguments = call.arguments() != null ? placeholders.apply(call.arguments().toString()) : "{}";
+            calls.add(new AssistantMessage.ToolCall("call-" + (modelCalls + 1) + "-" + calls.size(), "function",
+                    call.name(), arguments));
+        }
+        return new AssistantMessage("", Map.of(), calls);
+    }
+
+    private int promptTokens(Prompt prompt) {
+        int tokens = 0;
+        for (Message message : prompt.getInstructions()) {
+            tokens += MESSAGE_OVERHEAD_TOKENS + chars(message) / CHARS_PER_TOKEN;
+        }
+        if (prompt.getOptions() instanceof FunctionCallingOptions options && options.getFunctions() != null) {
+            for (String function : options.getFunctions()) {
+                tokens += toolTokens.computeIfAbsent(function, this::toolDefinitionTokens);
+            }
+        }
+        return tokens;
+    }
+
+    private static int completionTokens(AssistantMessage output) {
+        int chars = output.getContent() != null ? output.getContent().length() : 0;
+        for (AssistantMessage.ToolCall call : output.getToolCalls()) {
+            chars += call.name().length() + call.arguments().length();
+        }
+        return MESSAGE_OVERHEAD_TOKENS + chars / CHARS_PER_TOKEN;
+    }
+
+    private static int chars(Message message) {
+        int chars = message.getContent() != null ? message.getContent().length() : 0;
+        if (message instanceof AssistantMessage assistant) {
+            for (AssistantMessage.ToolCall call : assistant.getToolCalls()) {
+                chars += call.id().length() + call.name().length() + call.arguments().length();
+            }
+        } else if (message instanceof ToolResponseMessage toolResponses) {
+            for (ToolResponseMessage.ToolResponse response : toolResponses.getResponses()) {
+                chars += response.id().length() + response.name().length() + response.responseData().length();
+            }
+        }
+        return chars;
+    }
+
+    /**
+     * Size of a tool as the provider sees it: name, description and input schema
+     */
+    private int toolDefinitionTokens(String function) {
+        Description description = beanFactory.findAnnotationOnBean(function, Description.class);
+        ResolvableType type = beanFactory.getMergedBeanDefinition(function).getResolvableType();
+        Class<?> input = type.as(Function.class).getGeneric(0).resolve();
+        int chars = function.length()
+                + (description != null ? description.value().length() : 0)
+                + (input != null && input != Void.class ? ModelOptionsUtils.getJsonSchema(input, false).length() : 0);
+        return chars / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Model usage of one or more turns.
+     */
+    public record Usage(long promptTokens, long completionTokens, int toolRoundTrips, int modelCalls,
+                        long modelNanos) {}
+}
@@ -0,0 +1,274 @@
+package com.demo.cc.replay;
+
+import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.dto.UserDto;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.service.ChoreAssistantService;
+import com.demo.cc.service.ChoreService;
+import com.demo.cc.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Budget check for the assistant: replays the recorded conversations under
+ * transcripts/ through {@link ChoreAssistantService} against a
+ * {@link TranscriptPlayer} instead of Azure OpenAI, and compares prompt
+ * tokens, completion tokens, tool round trips and server time without the
+ * model against each transcript's budget.
+ *
+ * Every transcript is one test, and every replay runs in a fresh household.
+ * Tokens and round trips are the largest of the measured runs, server time
+ * their median. A transcript fails when its replay diverges from the
+ * recording or exceeds its budget.
+ */
+@SpringBootTest(properties = {
+        "spring.ai.azure.openai.chat.enabled=false",
+        // One model attempt per turn, so every recorded response is used once
+        "chore.assistant.resilience.hedge.enabled=false",
+        // Stub tiers, so transcripts can check which deployment each model call is routed to
+        "chore.assistant.routing.enabled=true",
+        "chore.assistant.routing.tiers[0].name=small",
+        "chore.assistant.routing.tiers[0].deployment=replay-small",
+        "chore.assistant.routing.tiers[0].prompt-token-cost=0.40",
+        "chore.assistant.routing.tiers[0].completion-token-cost=1.60",
+        "chore.assistant.routing.tiers[1].name=large",
+        "chore.assistant.routing.tiers[1].deployment=replay-large",
+        "chore.assistant.routing.tiers[1].prompt-token-cost=2.00",
+        "chore.assistant.routing.tiers[1].completion-token-cost=8.00"
+})
+@ActiveProfiles("test")
+@Slf4j
+class TranscriptReplayTest {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(?:(today)([+-]\\d+)?|(user|chore):([^}]+))}}");
+    private static final String LOCATION = "classpath:transcripts/*.json";
+    private static final int WARMUP = 2;
+    private static final int REPETITIONS = 5;
+    private static final String REPORT_FORMAT = "%-28s %16s %16s %12s %14s  %s";
+
+    private static final List<String> report = new ArrayList<>();
+    private static final AtomicInteger runs = new AtomicInteger();
+
+    @Autowired
+    private ChoreAssistantService assistant;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ChoreService choreService;
+    @Autowired
+    private TranscriptPlayer player;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TestConfiguration
+    static class StubModel {
+
+        @Bean
+        TranscriptPlayer transcriptPlayer(ConfigurableListableBeanFactory beanFactory) {
+            return new TranscriptPlayer(beanFactory);
+        }
+
+        @Bean
+        @Primary
+        ChatModel transcriptReplayChatModel(TranscriptPlayer player) {
+            return new ChatModel() {
+                @Override
+                public ChatResponse call(Prompt prompt) {
+                    return player.respond(prompt);
+                }
+
+                @Override
+                public ChatOptions getDefaultOptions() {
+                    // The ChatClient only passes function names on when the options can carry them
+                    return FunctionCallingOptions.builder().build();
+                }
+            };
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> transcriptsStayWithinBudget() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+        Arrays.sort(resources, Comparator.comparing((Resource r) -> String.valueOf(r.getFilename())));
+        assertThat(resources).as("transcripts under " + LOCATION).isNotEmpty();
+        return Arrays.stream(resources).map(resource -> {
+            Transcript transcript = read(resource);
+            return DynamicTest.dynamicTest(transcript.name(), () -> replayWithinBudget(transcript));
+        });
+    }
+
+    @AfterAll
+    static void logReport() {
+        if (!report.isEmpty()) {
+            log.info("Replayed {} transcripts, {} warm-up and {} measured runs each:\n{}\n{}", report.size(), WARMUP,
+                    REPETITIONS, String.format(REPORT_FORMAT, "transcript", "prompt tokens", "completion tok",
+                            "round trips", "server ms", "result"), String.join("\n", report));
+        }
+    }
+
+    private void replayWithinBudget(Transcript transcript) {
+        List<String> violations = new ArrayList<>();
+        Measurement worst = null;
+        long[] serverNanos = new long[REPETITIONS];
+        try {
+            for (int i = 0; i < WARMUP + REPETITIONS; i++) {
+                String householdId = "replay-" + transcript.name() + "-" + runs.getAndIncrement();
+                Measurement measured = HouseholdContext.callAs(householdId, () -> replay(transcript));
+                if (i >= WARMUP) {
+                    worst = worst == null ? measured : worst.max(measured);
+                    serverNanos[i - WARMUP] = measured.serverNanos();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Transcript {} failed to replay", transcript.name(), e);
+            violations.add("replay failed: " + e.getMessage());
+        }
+        if (worst != null) {
+            Arrays.sort(serverNanos);
+            long serverMillis = TimeUnit.NANOSECONDS.toMillis(serverNanos[REPETITIONS / 2]);
+            Transcript.Budget budget = transcript.budget();
+            check(violations, "prompt tokens", worst.promptTokens(), budget.promptTokens());
+            check(violations, "completion tokens", worst.completionTokens(), budget.completionTokens());
+            check(violations, "tool round trips", worst.toolRoundTrips(), budget.toolRoundTrips());
+            check(violations, "server ms", serverMillis, budget.serverMillis());
+            report.add(String.format(REPORT_FORMAT, transcript.name(),
+                    worst.promptTokens() + "/" + budget.promptTokens(),
+                    worst.completionTokens() + "/" + budget.completionTokens(),
+                    worst.toolRoundTrips() + "/" + budget.toolRoundTrips(),
+                    serverMillis + "/" + budget.serverMillis(),
+                    violations.isEmpty() ? "ok" : String.join("; ", violations)));
+        } else {
+            report.add(String.format(REPORT_FORMAT, transcript.name(), "-", "-", "-", "-",
+                    String.join("; ", violations)));
+        }
+        assertThat(violations).as(transcript.name()).isEmpty();
+    }
+
+    private Measurement replay(Transcript transcript) {
+        LocalDate today = LocalDate.now();
+        Map<String, Long> ids = new HashMap<>();
+        UnaryOperator<String> resolver = text -> resolve(text, today, ids);
+
+        if (transcript.users() != null) {
+            for (Transcript.SeedUser user : transcript.users()) {
+                UserDto created = userService.createUser(new UserDto(null, user.name(), user.color()));
+                ids.put("user:" + user.name(), created.getId());
+            }
+        }
+        if (transcript.chores() != null) {
+            for (Transcript.SeedChore chore : transcript.chores()) {
+                ChoreDto created = choreService.createChore(new ChoreDto(null, chore.description(),
+                        chore.time() != null ? LocalTime.parse(chore.time()) : null,
+                        LocalDate.parse(resolver.apply(chore.date())), ids.get("user:" + chore.user()),
+                        chore.durationMinutes(), null, null));
+                ids.put("chore:" + chore.description(), created.getId());
+            }
+        }
+
+        String sessionId = HouseholdContext.current();
+        long serverNanos = 0;
+        player.takeUsage();
+        player.takeProblems();
+        for (Transcript.Turn turn : transcript.turns()) {
+            player.play(turn.responses(), resolver);
+            long start = System.nanoTime();
+            String reply = assistant.step(sessionId, resolver.apply(turn.user()));
+            serverNanos += System.nanoTime() - start;
+            // The assistant answers failed turns with a fallback rather than an error
+            String recorded = turn.responses().get(turn.responses().size() - 1).content();
+            if (recorded != null && !resolver.apply(recorded).equals(reply)) {
+                throw new IllegalStateException("Turn \"" + turn.user() + "\" was answered with \"" + reply + "\"");
+            }
+            if (player.remaining() > 0) {
+                throw new IllegalStateException("Turn \"" + turn.user() + "\" left " + player.remaining()
+                        + " recorded responses unused");
+            }
+            List<String> problems = player.takeProblems();
+            if (!problems.isEmpty()) {
+                throw new IllegalStateException("Turn \"" + turn.user() + "\": " + String.join("; ", problems));
+            }
+        }
+        TranscriptPlayer.Usage usage = player.takeUsage();
+        return new Measurement(usage.promptTokens(), usage.completionTokens(), usage.toolRoundTrips(),
+                serverNanos - usage.modelNanos());
+    }
+
+    private static String resolve(String text, LocalDate today, Map<String, Long> ids) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String value;
+            if (matcher.group(1) != null) {
+                value = today.plusDays(matcher.group(2) != null ? Long.parseLong(matcher.group(2)) : 0).toString();
+            } else {
+                Long id = ids.get(matcher.group(3) + ":" + matcher.group(4));
+                if (id == null) {
+                    throw new IllegalArgumentException("Transcript does not seed " + matcher.group(0));
+                }
+                value = id.toString();
+            }
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    private static void check(List<String> violations, String what, long measured, Integer budget) {
+        if (budget != null && measured > budget) {
+            violations.add(what + " " + measured + " over budget " + budget);
+        }
+    }
+
+    private Transcript read(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return objectMapper.readValue(in, Transcript.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read transcript " + resource.getFilename(), e);
+        }
+    }
+
+    private record Measurement(long promptTokens, long completionTokens, int toolRoundTrips, long serverNanos) {
+
+        Measurement max(Measurement other) {
+            return new Measurement(Math.max(promptTokens, other.promptTokens),
+                    Math.max(completionTokens, other.completionTokens),
+                    Math.max(toolRoundTrips, other.toolRoundTrips), serverNanos);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.demo.cc.service;
+
+import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.dto.UserDto;
+import com.demo.cc.household.HouseholdContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Deadlines, hedging and the circuit breaker of {@link ChoreAssistantService}
+ * against a stub model whose latency and failures each test controls, and
+ * what each leaves in the conversation memory.
+ * Every test gets a fresh context, so the breaker and the latency history
+ * start empty.
+ */
+@SpringBootTest(properties = {
+        "spring.ai.azure.openai.chat.enabled=false",
+        "chore.assistant.resilience.timeout=3s",
+        "chore.assistant.resilience.hedge.enabled=true",
+        "chore.assistant.resilience.hedge.min-delay=200ms",
+        "chore.assistant.resilience.circuit-breaker.window-size=10",
+        "chore.assistant.resilience.circuit-breaker.minimum-calls=5",
+        "chore.assistant.resilience.circuit-breaker.failure-rate-threshold=50",
+        "chore.assistant.resilience.circuit-breaker.open-duration=1m"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AssistantResilienceTest {
+
+    private static final String HOUSEHOLD = "resilience";
+    private static final String STUB_REPLY = "Stub reply";
+
+    @Autowired
+    private ChoreAssistantService assistant;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ChoreService choreService;
+    @Autowired
+    private ChatMemory chatMemory;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TestConfiguration
+    static class StubModel {
+
+        @Bean
+        @Primary
+        ChatModel faultInjectingChatModel() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse call(Prompt prompt) {
+                    int call = calls.incrementAndGet();
+                    try {
+                        Thread.sleep(call <= slowCalls ? TimeUnit.SECONDS.toMillis(60) : 20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Stub model call interrupted", e);
+                    }
+                    if (failing) {
+                        throw new IllegalStateException("Injected model failure");
+                    }
+                    if (invalidInput) {
+                        // As a tool rejecting the model's arguments would
+                        throw new IllegalArgumentException("userId is required");
+                    }
+                    return new ChatResponse(List.of(new Generation(new AssistantMessage(STUB_REPLY))));
+                }
+
+                @Override
+                public ChatOptions getDefaultOptions() {
+                    return FunctionCallingOptions.builder().build();
+                }
+            };
+        }
+    }
+
+    // Stub behavior, set by each test before its first turn
+    private static final AtomicInteger calls = new AtomicInteger();
+    private static volatile int slowCalls;
+    private static volatile boolean failing;
+    private static volatile boolean invalidInput;
+
+    @BeforeEach
+    void resetModel() {
+        calls.set(0);
+        slowCalls = 0;
+        failing = false;
+        invalidInput = false;
+    }
+
+    @Test
+    void slowCallIsAnsweredByTheHedge() {
+        slowCalls = 1;
+        long start = System.nanoTime();
+        String reply = HouseholdContext.callAs(HOUSEHOLD, () -> assistant.step("hedge", "what is on today?"));
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(reply).isEqualTo(STUB_REPLY);
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(millis).isLessThan(1_000);
+        // Only the hedge's exchange is kept, not the abandoned first attempt's user message
+        assertThat(messageTypes("hedge")).containsExactly(MessageType.USER, MessageType.ASSISTANT);
+
+        HouseholdContext.callAs(HOUSEHOLD, () -> assistant.step("hedge", "and tomorrow?"));
+        assertThat(messageTypes("hedge")).containsExactly(MessageType.USER, MessageType.ASSISTANT,
+                MessageType.USER, MessageType.ASSISTANT);
+    }
+
+    @Test
+    void callsPastTheDeadlineGetTheFallback() {
+        slowCalls = Integer.MAX_VALUE;
+        HouseholdContext.runAs(HOUSEHOLD, () -> userService.createUser(new UserDto(null, "Alice", "#e74c3c")));
+
+        long start = System.nanoTime();
+        String reply = HouseholdContext.callAs(HOUSEHOLD,
+                () -> assistant.step("deadline", "list the family members"));
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(reply).startsWith("Family members:").contains("Alice");
+        assertThat(millis).isBetween(3_000L, 4_000L);
+        assertThat(messageTypes("deadline")).isEmpty();
+    }
+
+    @Test
+    void openBreakerStopsCallingTheModel() {
+        failing = true;
+        HouseholdContext.runAs(HOUSEHOLD, () -> {
+            long alice = userService.createUser(new UserDto(null, "Alice", "#e74c3c")).getId();
+            choreService.createChore(new ChoreDto(null, "Water the plants", null, LocalDate.now(), alice,
+                    null, null, null));
+        });
+
+        for (int i = 0; i < 5; i++) {
+            String reply = HouseholdContext.callAs(HOUSEHOLD,
+                    () -> assistant.step("breaker", "add a chore for tomorrow"));
+            assertThat(reply).doesNotContain(STUB_REPLY);
+        }
+        int callsBeforeOpen = calls.get();
+
+        String unrecognized = HouseholdContext.callAs(HOUSEHOLD,
+                () -> assistant.step("breaker", "add a chore for tomorrow"));
+        String familyMembers = HouseholdContext.callAs(HOUSEHOLD,
+                () -> assistant.step("breaker", "list the family members"));
+        // Reads the user's chore collection, which needs the guard's transaction
+        String choresOfAlice = HouseholdContext.callAs(HOUSEHOLD,
+                () -> assistant.step("breaker", "show the chores for alice"));
+
+        assertThat(calls.get()).isEqualTo(callsBeforeOpen);
+        assertThat(unrecognized).contains("not available right now");
+        assertThat(familyMembers).startsWith("Family members:").contains("Alice");
+        assertThat(choresOfAlice).startsWith("Chores for Alice:").contains("Water the plants");
+    }
+
+    @Test
+    void invalidToolInputIsABadRequest() throws Exception {
+        invalidInput = true;
+
+        mockMvc.perform(post("/api/v1/assistant/chat")
+                        .header(HouseholdContext.HEADER, HOUSEHOLD)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": \"invalid\", \"message\": \"add a chore for nobody\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.response").value("userId is required"));
+    }
+
+    private List<MessageType> messageTypes(String sessionId) {
+        return chatMemory.get(HOUSEHOLD + ":" + sessionId, Integer.MAX_VALUE).stream()
+                .map(Message::getMessageType)
+                .toList();
+    }
+}
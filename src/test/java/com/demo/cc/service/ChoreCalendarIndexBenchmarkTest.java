@@ -0,0 +1,72 @@
+package com.demo.cc.service;
+
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the retained heap per chore in {@link ChoreCalendarIndex}: loads
+ * one million chores spread over households, users and days and compares the
+ * used heap after a full GC before and after. Descriptions are shared
+ * strings, so the figure is the index's own overhead. Run with
+ * {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@Slf4j
+class ChoreCalendarIndexBenchmarkTest {
+
+    private static final int CHORES = Integer.getInteger("benchmark.calendar.chores", 1_000_000);
+    private static final int HOUSEHOLDS = 100;
+    private static final int USERS_PER_HOUSEHOLD = 5;
+    private static final int DAYS = 730;
+    private static final String[] DESCRIPTIONS = {"Take out the trash", "Vacuum the living room", "Water the plants",
+            "Clean the bathroom", "Walk the dog", "Do the dishes", "Laundry", "Mow the lawn"};
+
+    @Test
+    void bytesPerChore() {
+        LocalDate firstDay = LocalDate.now().minusDays(DAYS / 2);
+        String[] households = new String[HOUSEHOLDS];
+        for (int h = 0; h < HOUSEHOLDS; h++) {
+            households[h] = "household-" + h;
+        }
+
+        long before = usedHeap();
+        ChoreCalendarIndex index = new ChoreCalendarIndex(null);
+        long start = System.nanoTime();
+        for (int i = 0; i < CHORES; i++) {
+            int household = i % HOUSEHOLDS;
+            long userId = household * USERS_PER_HOUSEHOLD + (i / HOUSEHOLDS) % USERS_PER_HOUSEHOLD + 1;
+            index.onChoreChanged(new ChoreChangedEvent(ChangeType.UPSERTED, households[household], i + 1L,
+                    DESCRIPTIONS[i % DESCRIPTIONS.length], LocalTime.of(7 + i % 14, 0), 30,
+                    firstDay.plusDays((i / (HOUSEHOLDS * USERS_PER_HOUSEHOLD)) % DAYS), userId, 0L, null));
+        }
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+        long after = usedHeap();
+        double bytesPerChore = (double) (after - before) / CHORES;
+
+        log.info("Calendar index: {} chores loaded in {} ms, {} MB retained, {} bytes/chore", CHORES, loadMillis,
+                (after - before) >> 20, String.format("%.1f", bytesPerChore));
+        assertThat(index.size()).isEqualTo(CHORES);
+        assertThat(index.findByDate(households[0], firstDay)).isNotEmpty();
+        // Columns, the id map and the day slot arrays; a boxed, per-object layout is several times this
+        assertThat(bytesPerChore).isLessThan(160);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // Take the lowest of a few collections, so a late finalizer or TLAB does not skew one reading
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.cc.service;
+
+import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChoreCalendarIndexTest {
+
+    private static final String HOUSEHOLD = "default";
+    private static final LocalDate DATE = LocalDate.of(2025, 11, 2);
+
+    private final ChoreCalendarIndex index = new ChoreCalendarIndex(null);
+
+    @Test
+    void olderVersionDoesNotMoveTheChoreBack() {
+        index.onChoreChanged(upserted(1L, DATE.plusDays(1), 2L));
+        index.onChoreChanged(upserted(1L, DATE, 1L));
+
+        assertThat(index.findByDate(HOUSEHOLD, DATE)).isEmpty();
+        List<ChoreDto> moved = index.findByDate(HOUSEHOLD, DATE.plusDays(1));
+        assertThat(moved).extracting(ChoreDto::getVersion).containsExactly(2L);
+    }
+
+    @Test
+    void updateArrivingAfterItsDeleteIsDropped() {
+        index.onChoreChanged(upserted(1L, DATE, 0L));
+        index.onChoreChanged(ChoreChangedEvent.deleted(HOUSEHOLD, 1L));
+        index.onChoreChanged(upserted(1L, DATE, 1L));
+
+        assertThat(index.findByDate(HOUSEHOLD, DATE)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void archivedChoreLeavesItsDayWithoutCountingAsDeleted() {
+        index.onChoreChanged(upserted(1L, DATE, 0L));
+        index.onChoreChanged(ChoreChangedEvent.archived(HOUSEHOLD, 1L));
+        assertThat(index.findByDate(HOUSEHOLD, DATE)).isEmpty();
+
+        // Unlike a delete, archiving does not make the index drop later events of the chore
+        index.onChoreChanged(upserted(1L, DATE, 1L));
+        assertThat(index.findByDate(HOUSEHOLD, DATE)).extracting(ChoreDto::getId).containsExactly(1L);
+    }
+
+    @Test
+    void choresOfADayComeInTimeOrderWithUntimedLast() {
+        index.onChoreChanged(upserted(1L, 1L, null));
+        index.onChoreChanged(upserted(2L, 1L, LocalTime.of(18, 0)));
+        index.onChoreChanged(upserted(3L, 2L, LocalTime.of(9, 0)));
+        index.onChoreChanged(upserted(4L, 1L, LocalTime.of(9, 0)));
+        index.onChoreChanged(upserted(5L, 2L, null));
+
+        assertThat(index.findByDate(HOUSEHOLD, DATE)).extracting(ChoreDto::getId).containsExactly(3L, 4L, 2L, 1L, 5L);
+        assertThat(index.findByUserAndDate(HOUSEHOLD, 1L, DATE)).extracting(ChoreDto::getId)
+                .containsExactly(4L, 2L, 1L);
+    }
+
+    private static ChoreChangedEvent upserted(Long choreId, LocalDate date, Long version) {
+        return new ChoreChangedEvent(ChangeType.UPSERTED, HOUSEHOLD, choreId, "Dishes", null, 30, date, 1L,
+                version, null);
+    }
+
+    private static ChoreChangedEvent upserted(Long choreId, Long userId, LocalTime time) {
+        return new ChoreChangedEvent(ChangeType.UPSERTED, HOUSEHOLD, choreId, "Dishes", time, 30, DATE, userId,
+                0L, null);
+    }
+}
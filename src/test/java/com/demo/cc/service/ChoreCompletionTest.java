@@ -0,0 +1,101 @@
+package com.demo.cc.service;
+
+import com.demo.cc.domain.StatsPeriod;
+import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.dto.UserDto;
+import com.demo.cc.dto.UserStatsDto;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ChoreRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrent completions and deletes of one chore, and the rollup counters
+ * they leave behind.
+ */
+@SpringBootTest(properties = "spring.ai.azure.openai.chat.enabled=false")
+@ActiveProfiles("test")
+class ChoreCompletionTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ChoreService choreService;
+    @Autowired
+    private ChoreStatsService statsService;
+    @Autowired
+    private ChoreRepository choreRepository;
+
+    @Test
+    void concurrentCompletionsAllSucceedAndCountOnce() throws Exception {
+        String household = "completion-concurrent";
+        LocalDate today = LocalDate.now();
+        long[] ids = HouseholdContext.callAs(household, () -> {
+            long alice = userService.createUser(new UserDto(null, "Alice", "#e74c3c")).getId();
+            long chore = choreService.createChore(new ChoreDto(null, "Dishes", null, today, alice, null, null, null))
+                    .getId();
+            return new long[]{alice, chore};
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ChoreDto>> completions = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                completions.add(executor.submit(() -> {
+                    start.await();
+                    return HouseholdContext.callAs(household, () -> choreService.completeChore(ids[1]));
+                }));
+            }
+            start.countDown();
+            List<ChoreDto> completed = new ArrayList<>();
+            for (Future<ChoreDto> completion : completions) {
+                completed.add(completion.get());
+            }
+            assertThat(completed).extracting(ChoreDto::getCompletedAt).doesNotContainNull()
+                    .containsOnly(completed.get(0).getCompletedAt());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        UserStatsDto stats = HouseholdContext.callAs(household,
+                () -> statsService.getStats(StatsPeriod.WEEK, today, ids[0])).get(0);
+        assertThat(stats.getAssigned()).isEqualTo(1);
+        assertThat(stats.getCompleted()).isEqualTo(1);
+        assertThat(stats.getCurrentStreak()).isEqualTo(1);
+    }
+
+    @Test
+    void deleteOfAChangedChoreIsRejected() {
+        String household = "completion-delete";
+        HouseholdContext.runAs(household, () -> {
+            long alice = userService.createUser(new UserDto(null, "Alice", "#e74c3c")).getId();
+            ChoreDto chore = choreService.createChore(new ChoreDto(null, "Dishes", null, LocalDate.now(), alice,
+                    null, null, null));
+            ChoreDto completed = choreService.completeChore(chore.getId());
+
+            assertThat(choreRepository.deleteChore(chore.getId(), household, chore.getVersion())).isZero();
+            assertThat(choreRepository.existsById(chore.getId())).isTrue();
+            choreService.deleteChore(completed.getId());
+            assertThat(choreRepository.existsById(chore.getId())).isFalse();
+            assertThatThrownBy(() -> choreService.deleteChore(chore.getId())).isInstanceOf(RuntimeException.class)
+                    .isNotInstanceOf(ObjectOptimisticLockingFailureException.class);
+        });
+    }
+}
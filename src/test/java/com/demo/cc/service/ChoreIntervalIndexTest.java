@@ -0,0 +1,136 @@
+package com.demo.cc.service;
+
+import com.demo.cc.domain.Chore;
+import com.demo.cc.domain.User;
+import com.demo.cc.event.ChoreChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChoreIntervalIndexTest {
+
+    private static final String HOUSEHOLD = "default";
+    private static final LocalDate DATE = LocalDate.of(2025, 11, 2);
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+
+    private final ChoreIntervalIndex index = new ChoreIntervalIndex(null);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void heldSlotRejectsConcurrentWrite() {
+        List<TransactionSynchronization> first = inTransaction(() -> index.reserve(HOUSEHOLD, chore(null, 1L, NINE)));
+
+        assertThat(inOtherTransaction(chore(null, 1L, NINE.plusMinutes(15)))).isFalse();
+        // Other users and free slots are unaffected
+        assertThat(inOtherTransaction(chore(null, 2L, NINE))).isTrue();
+        assertThat(inOtherTransaction(chore(null, 1L, NINE.plusMinutes(30)))).isTrue();
+
+        complete(first, TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(inOtherTransaction(chore(null, 1L, NINE))).isTrue();
+    }
+
+    @Test
+    void committedHoldLastsUntilItsEventIsApplied() {
+        Chore chore = chore(null, 1L, NINE);
+        List<TransactionSynchronization> first = inTransaction(() -> index.reserve(HOUSEHOLD, chore));
+        chore.setId(10L);
+
+        complete(first, TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(inOtherTransaction(chore(null, 1L, NINE))).isFalse();
+
+        chore.setVersion(0L);
+        index.onChoreChanged(ChoreChangedEvent.upserted(chore));
+        assertThatThrownBy(() -> index.reserve(HOUSEHOLD, chore(null, 1L, NINE)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("chore 10");
+        // Moving the chore itself is not a conflict with its old slot
+        index.reserve(HOUSEHOLD, 1L, 10L, DATE, NINE.plusMinutes(10), 30);
+    }
+
+    @Test
+    void choresUpdatedTogetherCanSwapSlots() {
+        for (long id = 10; id <= 12; id++) {
+            Chore chore = chore(id, 1L, NINE.plusMinutes(30 * (id - 10)));
+            chore.setVersion(0L);
+            index.onChoreChanged(ChoreChangedEvent.upserted(chore));
+        }
+        LocalTime nineThirty = NINE.plusMinutes(30);
+
+        assertThatThrownBy(() -> index.reserve(HOUSEHOLD, 1L, 10L, DATE, nineThirty, 30))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("chore 11");
+        inTransaction(() -> {
+            index.reserve(HOUSEHOLD, 1L, 10L, Set.of(10L, 11L), DATE, nineThirty, 30);
+            index.reserve(HOUSEHOLD, 1L, 11L, Set.of(10L, 11L), DATE, NINE, 30);
+        });
+        // Chores outside the batch still conflict
+        assertThatThrownBy(() -> index.reserve(HOUSEHOLD, 1L, 10L, Set.of(10L), DATE, NINE.plusMinutes(60), 30))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("chore 12");
+    }
+
+    @Test
+    void untimedChoresNeverConflict() {
+        inTransaction(() -> index.reserve(HOUSEHOLD, chore(null, 1L, null)));
+        assertThat(inOtherTransaction(chore(null, 1L, null))).isTrue();
+    }
+
+    private List<TransactionSynchronization> inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        work.run();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        // Leave the resource bound; afterCompletion unbinds it
+        TransactionSynchronizationManager.clearSynchronization();
+        return synchronizations;
+    }
+
+    private static void complete(List<TransactionSynchronization> synchronizations, int status) {
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    /**
+     * Reserves on another thread, as a concurrent request would, and rolls back right away
+     */
+    private boolean inOtherTransaction(Chore chore) {
+        return CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                return index.tryReserve(HOUSEHOLD, chore);
+            } finally {
+                complete(TransactionSynchronizationManager.getSynchronizations(),
+                        TransactionSynchronization.STATUS_ROLLED_BACK);
+                TransactionSynchronizationManager.clear();
+            }
+        }).join();
+    }
+
+    private static Chore chore(Long id, Long userId, LocalTime time) {
+        User user = new User();
+        user.setId(userId);
+        Chore chore = new Chore();
+        chore.setId(id);
+        chore.setHouseholdId(HOUSEHOLD);
+        chore.setDescription("Dishes");
+        chore.setDate(DATE);
+        chore.setTime(time);
+        chore.setDurationMinutes(30);
+        chore.setUser(user);
+        return chore;
+    }
+}
@@ -0,0 +1,101 @@
+package com.demo.cc.service;
+
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures {@link ChoreSearchIndex} query latency with one million chores in
+ * a single household, the worst case since every query scans one
+ * household's postings. Each query runs {@value #RUNS} times after a warm-up
+ * and reports its median and p99, once on the freshly loaded index and
+ * again after a fifth of the chores were updated, which leaves dead
+ * documents in the postings. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@Slf4j
+class ChoreSearchIndexBenchmarkTest {
+
+    private static final int CHORES = Integer.getInteger("benchmark.search.chores", 1_000_000);
+    private static final int USERS = 5;
+    private static final int DAYS = 730;
+    private static final int RUNS = 200;
+    private static final String HOUSEHOLD = "search-benchmark";
+    private static final String[] VERBS = {"Clean", "Wash", "Vacuum", "Dust", "Tidy", "Scrub", "Empty", "Sort",
+            "Check", "Water"};
+    private static final String[] OBJECTS = {"bathroom", "kitchen", "gutters", "windows", "car", "garage",
+            "dishwasher", "fridge", "plants", "laundry", "recycling", "bookshelf", "stairs", "patio", "oven",
+            "closet", "hallway", "bedroom", "attic", "basement"};
+    private static final String[] QUERIES = {"gutters", "gutter", "clean bathroom", "vacuum stairs", "dishwash",
+            "water plants", "the"};
+
+    @Test
+    void searchLatencyOverOneMillionChores() {
+        LocalDate firstDay = LocalDate.now().minusDays(DAYS / 2);
+        ChoreSearchIndex index = new ChoreSearchIndex(null, null, new SimpleMeterRegistry());
+        long start = System.nanoTime();
+        for (int i = 0; i < CHORES; i++) {
+            index.onChoreChanged(upserted(i, firstDay, 0L));
+        }
+        log.info("Search index: {} chores loaded in {} ms", CHORES,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        StringBuilder table = new StringBuilder(String.format("%-16s %12s %12s %12s %12s", "query",
+                "p50 ms", "p99 ms", "p50 churned", "p99 churned"));
+        double[][] fresh = new double[QUERIES.length][];
+        for (int q = 0; q < QUERIES.length; q++) {
+            fresh[q] = measure(index, QUERIES[q], firstDay);
+        }
+
+        // Update every fifth chore, which adds a document and leaves the old one dead
+        for (int i = 0; i < CHORES; i += 5) {
+            index.onChoreChanged(upserted(i, firstDay, 1L));
+        }
+        for (int q = 0; q < QUERIES.length; q++) {
+            double[] churned = measure(index, QUERIES[q], firstDay);
+            table.append(String.format("%n%-16s %12.2f %12.2f %12.2f %12.2f", QUERIES[q], fresh[q][0], fresh[q][1],
+                    churned[0], churned[1]));
+            if (!QUERIES[q].equals("the")) {
+                // Selective terms only score their candidates; "the" is in every chore and scores them all
+                assertThat(churned[0]).isLessThan(50);
+            }
+        }
+        log.info("Search latency, {} chores in one household, limit 20:\n{}", CHORES, table);
+        assertThat(index.size()).isEqualTo(CHORES);
+    }
+
+    /**
+     * @return Median and p99 latency in milliseconds
+     */
+    private static double[] measure(ChoreSearchIndex index, String query, LocalDate firstDay) {
+        for (int i = 0; i < RUNS / 4; i++) {
+            index.search(HOUSEHOLD, query, null, null, null, 20);
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            // Alternate plain queries with user and date filters
+            Long userId = i % 2 == 0 ? null : (long) (i % USERS + 1);
+            LocalDate from = i % 3 == 0 ? firstDay.plusDays(DAYS / 2) : null;
+            long start = System.nanoTime();
+            index.search(HOUSEHOLD, query, userId, from, null, 20);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new double[]{nanos[RUNS / 2] / 1e6, nanos[(int) Math.ceil(RUNS * 0.99) - 1] / 1e6};
+    }
+
+    private static ChoreChangedEvent upserted(int i, LocalDate firstDay, Long version) {
+        String description = VERBS[i % VERBS.length] + " the " + OBJECTS[(i / VERBS.length) % OBJECTS.length];
+        return new ChoreChangedEvent(ChangeType.UPSERTED, HOUSEHOLD, i + 1L, description, null, 30,
+                firstDay.plusDays(i % DAYS), (long) (i % USERS + 1), version, null);
+    }
+}
@@ -0,0 +1,84 @@
+package com.demo.cc.service;
+
+import com.demo.cc.dto.ChoreSearchHit;
+import com.demo.cc.event.ChangeType;
+import com.demo.cc.event.ChoreChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChoreSearchIndexTest {
+
+    private static final String HOUSEHOLD = "default";
+    private static final LocalDate DATE = LocalDate.of(2025, 11, 2);
+
+    private final ChoreSearchIndex index = new ChoreSearchIndex(null, null, new SimpleMeterRegistry());
+
+    @Test
+    void findsWholeWordsAndSubstrings() {
+        index.onChoreChanged(upserted(1L, "Clean the gutters", 0L));
+        index.onChoreChanged(upserted(2L, "Clean the bathroom", 0L));
+
+        assertThat(ids(search("gutter"))).containsExactly(1L);
+        assertThat(ids(search("clean bath"))).containsExactly(2L);
+    }
+
+    @Test
+    void olderVersionDoesNotOverwriteNewer() {
+        index.onChoreChanged(upserted(1L, "Clean the gutters", 2L));
+        index.onChoreChanged(upserted(1L, "Wash the car", 1L));
+
+        assertThat(ids(search("gutters"))).containsExactly(1L);
+        assertThat(search("car")).isEmpty();
+    }
+
+    @Test
+    void updateArrivingAfterItsDeleteIsDropped() {
+        index.onChoreChanged(upserted(1L, "Clean the gutters", 0L));
+        index.onChoreChanged(ChoreChangedEvent.deleted(HOUSEHOLD, 1L));
+        index.onChoreChanged(upserted(1L, "Clean the gutters", 1L));
+
+        assertThat(search("gutters")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void archivedChoreStaysSearchable() {
+        index.onChoreChanged(upserted(1L, "Clean the gutters", 0L));
+        index.onChoreChanged(ChoreChangedEvent.archived(HOUSEHOLD, 1L));
+
+        assertThat(ids(search("gutters"))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void replacedVersionsDoNotLowerATermsWeight() {
+        index.onChoreChanged(upserted(1L, "Dishes", 0L));
+        index.onChoreChanged(upserted(2L, "Laundry", 0L));
+        // Each update leaves a dead document with the same words until the index is compacted
+        for (long version = 1; version <= 10; version++) {
+            index.onChoreChanged(upserted(2L, "Laundry", version));
+        }
+
+        double dishes = search("dishes").get(0).getScore();
+        double laundry = search("laundry").get(0).getScore();
+        assertThat(laundry).isEqualTo(dishes);
+    }
+
+    private List<ChoreSearchHit> search(String query) {
+        return index.search(HOUSEHOLD, query, null, null, null, 10);
+    }
+
+    private static List<Long> ids(List<ChoreSearchHit> hits) {
+        return hits.stream().map(ChoreSearchHit::getId).toList();
+    }
+
+    private static ChoreChangedEvent upserted(Long choreId, String description, Long version) {
+        return new ChoreChangedEvent(ChangeType.UPSERTED, HOUSEHOLD, choreId, description, null, 30, DATE, 1L,
+                version, null);
+    }
+}
@@ -0,0 +1,177 @@
+package com.demo.cc.service;
+
+import com.demo.cc.domain.Chore;
+import com.demo.cc.domain.User;
+import com.demo.cc.dto.ChoreDto;
+import com.demo.cc.dto.UserDto;
+import com.demo.cc.household.HouseholdContext;
+import com.demo.cc.repository.ChoreRepository;
+import com.demo.cc.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the single-statement write paths with the entity paths they
+ * replaced: deleting a user with 10k chores as one bulk DELETE against
+ * loading the collection for orphan removal, and PATCH as one conditional
+ * UPDATE against load-mutate-save. Reports time, SQL statements and entities
+ * loaded or deleted. Run with {@code mvn -Pbenchmark test}.
+ *
+ * The entity paths bypass the services' change events, so the context is
+ * discarded afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DirtiesContext
+@Slf4j
+class ChoreWritePathBenchmarkTest {
+
+    private static final int CHORES_PER_USER = 10_000;
+    private static final int UPDATES = 1_000;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ChoreService choreService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ChoreRepository choreRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void userDeleteIsOneBulkStatement() {
+        HouseholdContext.runAs("delete-benchmark", () -> {
+            long bulkUser = seedUser("Bulk");
+            long entityUser = seedUser("Entity");
+
+            Result bulk = measureOnce(() -> userService.deleteUser(bulkUser));
+            Result entity = measureOnce(() -> new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> userRepository.delete(userRepository.findById(entityUser).orElseThrow())));
+
+            log.info("Deleting a user with {} chores:\n{}\n{}\n{}", CHORES_PER_USER, Result.HEADER,
+                    bulk.format("bulk DELETE"), entity.format("orphan removal"));
+            assertThat(choreRepository.count()).isZero();
+            assertThat(bulk.statements()).isLessThanOrEqualTo(5);
+            assertThat(bulk.entitiesLoaded()).isZero();
+            assertThat(entity.entitiesDeleted()).isGreaterThanOrEqualTo(CHORES_PER_USER);
+        });
+    }
+
+    @Test
+    void patchIsOneConditionalUpdate() {
+        HouseholdContext.runAs("patch-benchmark", () -> {
+            long userId = seedUser("Patch");
+            Map<Long, LocalDate> dates = choreRepository.findAll().stream().limit(2L * UPDATES)
+                    .collect(Collectors.toMap(Chore::getId, Chore::getDate));
+            List<Long> ids = List.copyOf(dates.keySet());
+            List<Long> patched = ids.subList(0, UPDATES);
+            List<Long> saved = ids.subList(UPDATES, 2 * UPDATES);
+
+            Result patch = measureEach(patched, id -> {
+                ChoreDto changes = new ChoreDto();
+                changes.setDescription("Patched");
+                changes.setVersion(0L);
+                choreService.patchChore(id, changes);
+            });
+            // PUT sends the whole chore, which the client already has
+            Result save = measureEach(saved, id -> choreService.updateChore(id,
+                    new ChoreDto(id, "Saved", null, dates.get(id), userId, null, null, null)));
+
+            log.info("Changing one field of {} chores, per chore:\n{}\n{}\n{}", UPDATES, Result.HEADER,
+                    patch.format("PATCH"), save.format("load-mutate-save"));
+            // Both re-read the chore once; PATCH does it after the guarded UPDATE instead of before the save
+            assertThat(patch.statements()).isLessThanOrEqualTo(save.statements());
+            assertThat(patch.entitiesLoaded()).isLessThanOrEqualTo(save.entitiesLoaded());
+        });
+    }
+
+    private long seedUser(String name) {
+        long userId = userService.createUser(new UserDto(null, name, "#3498db")).getId();
+        User user = new User();
+        user.setId(userId);
+        String householdId = HouseholdContext.current();
+        LocalDate start = LocalDate.now();
+        List<Chore> batch = new ArrayList<>();
+        for (int i = 0; i < CHORES_PER_USER; i++) {
+            batch.add(new Chore(null, householdId, "Chore " + i, null, null, start.plusDays(i % 365), 0L, null,
+                    user));
+            if (batch.size() == 1000) {
+                choreRepository.insertAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            choreRepository.insertAll(batch);
+        }
+        return userId;
+    }
+
+    private Result measureOnce(Runnable write) {
+        statistics.clear();
+        long start = System.nanoTime();
+        write.run();
+        return new Result((System.nanoTime() - start) / 1e6, statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(), statistics.getEntityDeleteCount());
+    }
+
+    /**
+     * Median time of one write, and statements and entities per write
+     */
+    private Result measureEach(List<Long> ids, LongConsumer write) {
+        statistics.clear();
+        long[] nanos = new long[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            long start = System.nanoTime();
+            write.accept(ids.get(i));
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new Result(nanos[nanos.length / 2] / 1e6, statistics.getPrepareStatementCount() / ids.size(),
+                statistics.getEntityLoadCount() / ids.size(), statistics.getEntityDeleteCount() / ids.size());
+    }
+
+    private record Result(double millis, long statements, long entitiesLoaded, long entitiesDeleted) {
+
+        static final String HEADER = String.format("%-18s %10s %11s %9s %9s", "path", "ms", "statements",
+                "loaded", "deleted");
+
+        String format(String path) {
+            return String.format("%-18s %10.2f %11d %9d %9d", path, millis, statements, entitiesLoaded,
+                    entitiesDeleted);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.demo.cc.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Goodput under overload with and without the limiter, in virtual time.
+ *
+ * The simulated backend serves {@value #SERVERS} requests at once in
+ * {@value #BASE_MILLIS} ms; with more in flight each request is slowed in
+ * proportion, as a shared connection pool or CPU would. Requests arrive at a
+ * fixed rate and count as goodput when they finish within
+ * {@value #DEADLINE_MILLIS} ms, the point where a client has given up.
+ */
+@Slf4j
+class GradientConcurrencyLimiterTest {
+
+    private static final int SERVERS = 20;
+    private static final long BASE_MILLIS = 10;
+    private static final long DEADLINE_MILLIS = 80;
+    private static final int CAPACITY = (int) (SERVERS * 1000 / BASE_MILLIS);
+    private static final int SECONDS = 30;
+
+    @Test
+    void limiterHoldsGoodputUnderOverload() {
+        StringBuilder table = new StringBuilder(String.format("%-6s %12s %12s", "load", "no limit", "limiter"));
+        for (int overload : new int[]{1, 2, 4, 8}) {
+            int rate = CAPACITY * overload;
+            double unlimited = simulate(null, rate, BASE_MILLIS, BASE_MILLIS);
+            double limited = simulate(newLimiter(), rate, BASE_MILLIS, BASE_MILLIS);
+            table.append(String.format("%n%-6s %12.0f %12.0f", overload + "x", unlimited, limited));
+
+            assertThat(limited).isGreaterThanOrEqualTo(0.8 * CAPACITY);
+            if (overload > 1) {
+                assertThat(unlimited).isLessThan(0.5 * CAPACITY);
+            }
+        }
+        log.info("Goodput per second, capacity {}:\n{}", CAPACITY, table);
+    }
+
+    @Test
+    void baselineFollowsALastingSlowdown() {
+        // The backend takes twice as long from halfway on, which halves its capacity
+        double goodput = simulate(newLimiter(), CAPACITY * 2, BASE_MILLIS, 2 * BASE_MILLIS);
+
+        assertThat(goodput).isGreaterThanOrEqualTo(0.8 * CAPACITY / 2);
+    }
+
+    private static GradientConcurrencyLimiter newLimiter() {
+        // The CRUD defaults
+        return new GradientConcurrencyLimiter(50, 10, 200);
+    }
+
+    /**
+     * @param limiter The limiter, or null to admit every request
+     * @return Requests per second finished within the deadline, over the second half of the run
+     */
+    private static double simulate(GradientConcurrencyLimiter limiter, int rate, long firstHalfMillis,
+                                   long secondHalfMillis) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long end = TimeUnit.SECONDS.toNanos(SECONDS);
+        long deadline = TimeUnit.MILLISECONDS.toNanos(DEADLINE_MILLIS);
+        // Completion time and latency of each request in flight
+        PriorityQueue<long[]> inFlight = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        long good = 0;
+        for (long now = 0; now < end; now += interval) {
+            while (!inFlight.isEmpty() && inFlight.peek()[0] <= now) {
+                long latency = inFlight.poll()[1];
+                if (limiter != null) {
+                    limiter.release(latency, true);
+                }
+            }
+            if (limiter != null && !limiter.tryAcquire()) {
+                continue;
+            }
+            long base = TimeUnit.MILLISECONDS.toNanos(now < end / 2 ? firstHalfMillis : secondHalfMillis);
+            long latency = base * Math.max(SERVERS, inFlight.size() + 1) / SERVERS;
+            inFlight.add(new long[]{now + latency, latency});
+            if (now >= end / 2 && latency <= deadline) {
+                good++;
+            }
+        }
+        return good / (SECONDS / 2.0);
+    }
+}
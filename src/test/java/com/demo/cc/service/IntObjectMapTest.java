@@ -0,0 +1,50 @@
+package com.demo.cc.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntObjectMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        IntObjectMap<String> map = new IntObjectMap<>(2);
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            // Small key range around zero, so negative keys, key 0 and long probe runs all occur
+            int key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                String value = "v" + i;
+                map.put(key, value);
+                expected.put(key, value);
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+        for (int key = -1_000; key < 1_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+        List<String> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertThat(values).containsExactlyInAnyOrderElementsOf(expected.values());
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        IntObjectMap<String> map = new IntObjectMap<>(16);
+        map.put(0, "epoch");
+        map.put(-1, "before");
+        map.clear();
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(0)).isNull();
+        assertThat(map.get(-1)).isNull();
+    }
+}
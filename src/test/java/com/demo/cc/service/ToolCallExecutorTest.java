@@ -0,0 +1,76 @@
+package com.demo.cc.service;
+
+import com.demo.cc.config.ToolExecutionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage.ToolCall;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToolCallExecutorTest {
+
+    private final ToolCallExecutor executor = new ToolCallExecutor(null, new ToolExecutionProperties(),
+            new ObjectMapper(), new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void independentReadsRunInTheirOwnLanes() {
+        Map<String, List<Integer>> lanes = executor.lanes(List.of(
+                call("getChore", "{\"choreId\": 5}"),
+                call("getUser", "{\"userId\": 2}"),
+                call("listChoresByDate", "{\"date\": \"2025-11-02\"}")));
+
+        assertThat(lanes).hasSize(3);
+    }
+
+    @Test
+    void writesShareOneLaneWhateverTheyTouch() {
+        Map<String, List<Integer>> lanes = executor.lanes(List.of(
+                call("updateChore", "{\"choreId\": 5, \"userId\": 2}"),
+                call("createChore", "{\"description\": \"Dishes\", \"userId\": 2}"),
+                call("deleteChores", "{\"choreIds\": [7, 8], \"confirm\": true}")));
+
+        assertThat(lanes.values()).containsExactly(List.of(0, 1, 2));
+    }
+
+    @Test
+    void readBeforeAWriteOfTheSameEntityStaysAheadOfIt() {
+        Map<String, List<Integer>> lanes = executor.lanes(List.of(
+                call("getChore", "{\"choreId\": 5}"),
+                call("updateChores", "{\"chores\": [{\"choreId\": 4}, {\"choreId\": 5}]}"),
+                call("getChore", "{\"choreId\": 9}")));
+
+        assertThat(lanes.values()).containsExactlyInAnyOrder(List.of(0, 1), List.of(2));
+    }
+
+    @Test
+    void readsThatMaySeeAWriteJoinItsLane() {
+        List<Integer> ordered = laneOf(0, executor.lanes(List.of(
+                call("deleteUser", "{\"userId\": 2, \"confirm\": true}"),
+                // The chore may belong to the deleted user
+                call("getChore", "{\"choreId\": 5}"),
+                // Lists read across the household
+                call("listAllChores", "{}"),
+                call("getUser", "{\"userId\": 3}"))));
+
+        assertThat(ordered).containsExactly(0, 1, 2);
+    }
+
+    private static List<Integer> laneOf(int call, Map<String, List<Integer>> lanes) {
+        return lanes.values().stream().filter(lane -> lane.contains(call)).findFirst().orElseThrow();
+    }
+
+    private static ToolCall call(String name, String arguments) {
+        return new ToolCall(name + "-call", "function", name, arguments);
+    }
+}